@@ -0,0 +1,98 @@
+/* ===========================================================
+   Live complaint updates (shared by the student, staff and warden dashboards)
+   =========================================================== */
+
+// Listens to GET /api/complaints/events (Server-Sent Events) instead of polling the lists.
+// EventSource cannot send the JWT header, so the stream is read with fetch. On reconnect the
+// last event ID is sent back and the server replays what was missed; if it can't, it sends a
+// "reset" event and the page reloads its lists once.
+function subscribeComplaintEvents(apiUrl, token, onEvent, onReset) {
+  let lastEventId = null;
+  let retryMs = 1000;
+  let stopped = false;
+  let controller = null;
+
+  async function connect() {
+    controller = new AbortController();
+    const headers = { Authorization: `Bearer ${token}`, Accept: "text/event-stream" };
+    if (lastEventId) headers["Last-Event-ID"] = lastEventId;
+
+    try {
+      const res = await fetch(`${apiUrl}/complaints/events`, { headers, signal: controller.signal });
+      if (res.status === 401 || res.status === 403) {
+        stopped = true; // token expired or not allowed: don't hammer the server
+        return;
+      }
+      if (!res.ok || !res.body) throw new Error(`HTTP ${res.status}`);
+      retryMs = 1000;
+
+      const reader = res.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = "";
+      while (true) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, "\n");
+        let end;
+        while ((end = buffer.indexOf("\n\n")) >= 0) {
+          dispatch(buffer.slice(0, end));
+          buffer = buffer.slice(end + 2);
+        }
+      }
+    } catch (e) {
+      if (stopped) return;
+      console.warn("Live updates disconnected", e);
+    }
+
+    if (!stopped) {
+      setTimeout(connect, retryMs);
+      retryMs = Math.min(retryMs * 2, 30000);
+    }
+  }
+
+  function dispatch(block) {
+    let id = null;
+    let name = "message";
+    const data = [];
+    for (const line of block.split("\n")) {
+      if (!line || line.startsWith(":")) continue; // comments: "connected", "ping"
+      const colon = line.indexOf(":");
+      const field = colon < 0 ? line : line.slice(0, colon);
+      let value = colon < 0 ? "" : line.slice(colon + 1);
+      if (value.startsWith(" ")) value = value.slice(1);
+      if (field === "id") id = value;
+      else if (field === "event") name = value;
+      else if (field === "data") data.push(value);
+    }
+    if (id) lastEventId = id;
+    if (!data.length) return;
+
+    if (name === "reset") {
+      onReset();
+    } else if (name === "complaint") {
+      try {
+        onEvent(JSON.parse(data.join("\n")));
+      } catch (e) {
+        console.error("Bad complaint event", e);
+      }
+    }
+  }
+
+  connect();
+
+  return {
+    close() {
+      stopped = true;
+      if (controller) controller.abort();
+    },
+  };
+}
+
+// Several events in quick succession (e.g. an escalation run) trigger a single reload
+function debounceLiveRefresh(fn, ms) {
+  let timer = null;
+  return () => {
+    clearTimeout(timer);
+    timer = setTimeout(fn, ms);
+  };
+}
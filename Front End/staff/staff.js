@@ -71,13 +71,31 @@ async function loadProfile() {
   }
 }
 
-async function loadAssignedJobs() {
-  try {
-    const res = await fetch(`${API_URL}/complaints/my-assigned`, {
+// Assigned complaints, newest first, read page by page from the keyset-paged search
+// (every request is bounded on the server; the page keeps at most MAX_LOADED_JOBS)
+const MAX_LOADED_JOBS = 1000;
+
+async function fetchAssignedComplaints() {
+  const loaded = [];
+  let cursor = null;
+  do {
+    const params = new URLSearchParams({ size: "200" });
+    if (cursor) params.set("cursor", cursor);
+    const res = await fetch(`${API_URL}/complaints/my-assigned/search?${params}`, {
       headers: { Authorization: `Bearer ${token}` },
     });
-    if (res.ok) {
-      const data = await res.json();
+    if (!res.ok) return null;
+    const page = await res.json();
+    loaded.push(...page.items);
+    cursor = page.nextCursor;
+  } while (cursor && loaded.length < MAX_LOADED_JOBS);
+  return loaded;
+}
+
+async function loadAssignedJobs() {
+  try {
+    const data = await fetchAssignedComplaints();
+    if (data) {
       // Map Backend Data
       jobs = data.map((c) => ({
         id: String(c.id),
@@ -173,6 +191,13 @@ function updateHeader() {
 
 initDashboard();
 
+// ✅ Live updates: reload my jobs when one assigned to me changes (no polling)
+const refreshMyJobs = debounceLiveRefresh(async () => {
+  await loadAssignedJobs();
+  updateUI();
+}, 500);
+subscribeComplaintEvents(API_URL, token, refreshMyJobs, refreshMyJobs);
+
 /* =========================================================
    2. CALENDAR LOGIC
    ========================================================= */
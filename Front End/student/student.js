@@ -80,14 +80,26 @@ async function loadProfile() {
   }
 }
 
+// My complaints, newest first, read page by page from the keyset-paged search
+// (every request is bounded on the server; the page keeps at most MAX_LOADED_COMPLAINTS)
+const MAX_LOADED_COMPLAINTS = 1000;
+
 async function loadComplaints() {
   try {
-    const res = await fetch(`${API_URL}/complaints/my-complaints`, {
-      headers: { Authorization: `Bearer ${token}` },
-    });
-    if (res.ok) {
-      myComplaintsData = await res.json();
-    }
+    const loaded = [];
+    let cursor = null;
+    do {
+      const params = new URLSearchParams({ size: "200" });
+      if (cursor) params.set("cursor", cursor);
+      const res = await fetch(`${API_URL}/complaints/my-complaints/search?${params}`, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      if (!res.ok) return;
+      const page = await res.json();
+      loaded.push(...page.items);
+      cursor = page.nextCursor;
+    } while (cursor && loaded.length < MAX_LOADED_COMPLAINTS);
+    myComplaintsData = loaded;
   } catch (e) {
     console.error("Complaints Error", e);
   }
@@ -120,6 +132,15 @@ async function loadResaleItems() {
 
 initDashboard();
 
+// ✅ Live updates: reload my complaints when one of them changes (no polling)
+const refreshMyComplaints = debounceLiveRefresh(async () => {
+  await loadComplaints();
+  updateKPIs();
+  renderRecentActivity();
+  renderComplaintsTable(mcFilter.value || "all");
+}, 500);
+subscribeComplaintEvents(API_URL, token, refreshMyComplaints, refreshMyComplaints);
+
 /* ===================================================
    2. DASHBOARD RENDERING
    =================================================== */
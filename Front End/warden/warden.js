@@ -29,7 +29,15 @@ const userPayload = parseJwt(token);
 const currentUserId = userPayload ? userPayload.sub : null;
 
 // GLOBAL STATE
-let complaints = [];
+// Complaints come from the server a page at a time; nothing below holds the whole table
+let complaints = []; // rows loaded into the complaints table so far
+let tableCursor = null; // nextCursor of the last table page (null = no more pages)
+let pendingComplaints = [];
+let recentResolved = [];
+let escalatedComplaints = [];
+let statusCounts = {};
+let staffSummary = [];
+const complaintsById = new Map(); // every complaint seen on any list (assign / review dialogs)
 let staff = [];
 let notices = [];
 let resaleItems = [];
@@ -100,33 +108,95 @@ async function loadStaffList() {
   }
 }
 
-// FETCH COMPLAINTS
+// FETCH COMPLAINTS (dashboard lists, counters and the first table page)
 async function loadComplaints() {
   try {
-    const res = await fetch(`${API_URL}/complaints`, {
-      headers: { Authorization: `Bearer ${token}` },
-    });
-    if (res.ok) {
-      const data = await res.json();
-      complaints = data.map((c) => ({
-        id: String(c.id),
-        type: c.category,
-        title: c.description,
-        room: c.roomNumber,
-        slot: c.timeSlot || "Any Time",
-        status: mapStatus(c.status),
-        staff: c.staff ? `${c.staff.name}` : null,
-        date: c.createdAt,
-        proofUrl: c.proofImage || "",
-        rating: c.rating || 0,
-        priority: c.priority || "Medium", // ✅ Added: Capture Priority for Badges
-      }));
-    }
+    const [counts, pending, recent, escalated, perf] = await Promise.all([
+      fetchJson(`${API_URL}/complaints/stats/status`),
+      fetchComplaintPage({ status: ["RAISED", "ASSIGNED", "IN_PROGRESS", "ESCALATED"], size: 6 }),
+      fetchComplaintPage({ status: ["RESOLVED", "CLOSED"], size: 3 }),
+      fetchComplaintPage({ status: ["ESCALATED"], size: 50 }),
+      fetchJson(`${API_URL}/complaints/stats/staff`),
+      loadComplaintsTable(true),
+    ]);
+    statusCounts = counts || {};
+    pendingComplaints = pending.items;
+    recentResolved = recent.items;
+    escalatedComplaints = escalated.items;
+    staffSummary = perf || [];
   } catch (e) {
     console.error("Complaints error", e);
   }
 }
 
+// ✅ Complaints table: first page on reset, otherwise the page after the last one loaded
+async function loadComplaintsTable(reset) {
+  if (reset) {
+    complaints = [];
+    tableCursor = null;
+  }
+  // document.getElementById: this first runs before the $ helper below is defined
+  const statuses = UI_STATUS_FILTER[document.getElementById("filterStatus").value];
+  if (statuses && !statuses.length) {
+    return; // no backend status maps to this filter
+  }
+  const page = await fetchComplaintPage({
+    status: statuses || [],
+    priority: document.getElementById("filterPriority")?.value || "",
+    cursor: reset ? null : tableCursor,
+    size: 50,
+  });
+  complaints = complaints.concat(page.items);
+  tableCursor = page.nextCursor;
+}
+
+// UI filter -> backend statuses (undefined = no filter)
+const UI_STATUS_FILTER = {
+  new: ["RAISED"],
+  assigned: ["ASSIGNED"],
+  progress: ["IN_PROGRESS"],
+  pendingApproval: [],
+  resolved: ["RESOLVED", "CLOSED"],
+  escalated: ["ESCALATED"],
+};
+
+async function fetchJson(url) {
+  const res = await fetch(url, {
+    headers: { Authorization: `Bearer ${token}` },
+  });
+  return res.ok ? res.json() : null;
+}
+
+async function fetchComplaintPage({ status = [], priority = "", cursor = null, size = 50 }) {
+  const params = new URLSearchParams();
+  status.forEach((s) => params.append("status", s));
+  if (priority) params.set("priority", priority);
+  if (cursor) params.set("cursor", cursor);
+  params.set("size", size);
+
+  const data = await fetchJson(`${API_URL}/complaints/search?${params}`);
+  if (!data) return { items: [], nextCursor: null };
+  const items = data.items.map(toComplaintRow);
+  items.forEach((c) => complaintsById.set(c.id, c));
+  return { items, nextCursor: data.nextCursor };
+}
+
+function toComplaintRow(c) {
+  return {
+    id: String(c.id),
+    type: c.category,
+    title: c.description,
+    room: c.roomNumber,
+    slot: c.timeSlot || "Any Time",
+    status: mapStatus(c.status),
+    staff: c.staff ? `${c.staff.name}` : null,
+    date: c.createdAt,
+    proofUrl: c.proofImage || "",
+    rating: c.rating || 0,
+    priority: c.priority || "Medium", // ✅ Added: Capture Priority for Badges
+  };
+}
+
 function mapStatus(backendStatus) {
   if (backendStatus === "RAISED") return "new";
   if (backendStatus === "ASSIGNED") return "assigned"; // ✅ Added: Handles assigned state
@@ -181,6 +251,18 @@ async function loadResaleItems() {
 
 initDashboard();
 
+// ✅ Live updates: reload the lists and counters when any complaint changes (no polling)
+const refreshComplaints = debounceLiveRefresh(async () => {
+  await loadComplaints();
+  refreshKPIs();
+  renderPending();
+  renderRecent();
+  renderComplaintsTable();
+  renderProofGrid();
+  renderPerformance();
+}, 500);
+subscribeComplaintEvents(API_URL, token, refreshComplaints, refreshComplaints);
+
 /* =========================================================
    Helpers
    ========================================================= */
@@ -220,27 +302,19 @@ document.querySelectorAll(".nav-link").forEach((btn) => {
    KPIs
    ========================================================= */
 function refreshKPIs() {
-  $("kpiNew").textContent = complaints.filter((c) => c.status === "new").length;
-  $("kpiProgress").textContent = complaints.filter((c) =>
-    ["progress", "assigned"].includes(c.status)
-  ).length;
-  $("kpiResolved").textContent = complaints.filter(
-    (c) => c.status === "resolved"
-  ).length;
-  $("kpiEscalated").textContent = complaints.filter(
-    (c) => c.status === "escalated"
-  ).length;
+  const count = (...statuses) =>
+    statuses.reduce((sum, s) => sum + (statusCounts[s] || 0), 0);
+  $("kpiNew").textContent = count("RAISED");
+  $("kpiProgress").textContent = count("ASSIGNED", "IN_PROGRESS");
+  $("kpiResolved").textContent = count("RESOLVED", "CLOSED");
+  $("kpiEscalated").textContent = count("ESCALATED");
 }
 
 /* =========================================================
    Pending & Recent Lists
    ========================================================= */
 function renderPending() {
-  const list = complaints
-    .filter((c) =>
-      ["new", "assigned", "progress", "escalated"].includes(c.status)
-    )
-    .slice(0, 6);
+  const list = pendingComplaints;
 
   $("pendingList").innerHTML = list
     .map((c) => {
@@ -275,7 +349,7 @@ function renderPending() {
 }
 
 function renderRecent() {
-  const recent = complaints.filter((c) => c.status === "resolved").slice(0, 3);
+  const recent = recentResolved;
   $("recentList").innerHTML = recent
     .map(
       (c) =>
@@ -299,13 +373,22 @@ function renderNotices() {
 /* =========================================================
    Complaints Table
    ========================================================= */
-$("filterStatus").addEventListener("change", renderComplaintsTable);
+// ✅ Filters run on the server; changing one reloads the first page
+async function reloadComplaintsTable() {
+  await loadComplaintsTable(true);
+  renderComplaintsTable();
+}
+$("filterStatus").addEventListener("change", reloadComplaintsTable);
+$("filterPriority")?.addEventListener("change", reloadComplaintsTable);
+$("loadMoreBtn")?.addEventListener("click", async () => {
+  await loadComplaintsTable(false);
+  renderComplaintsTable();
+});
 
 function renderComplaintsTable() {
-  const filter = $("filterStatus").value;
-  const list = complaints.filter((c) =>
-    filter === "all" ? true : c.status === filter
-  );
+  const list = complaints;
+  const loadMore = $("loadMoreBtn");
+  if (loadMore) loadMore.style.display = tableCursor ? "" : "none";
 
   $("complaintsBody").innerHTML = list
     .map((c) => {
@@ -356,7 +439,7 @@ window.openAssign = (id) => {
   assignComplaintId.value = id;
 
   // 1. Get the Complaint Category (Safely)
-  const currentComplaint = complaints.find((c) => String(c.id) === String(id));
+  const currentComplaint = complaintsById.get(String(id));
   const category =
     currentComplaint && currentComplaint.type
       ? currentComplaint.type.toLowerCase()
@@ -449,7 +532,10 @@ if (assignForm) {
         await loadComplaints();
         refreshKPIs();
         renderPending();
+        renderRecent();
         renderComplaintsTable();
+        renderProofGrid();
+        renderPerformance();
       } else {
         const errText = await res.text();
         alert("Failed to assign: " + errText);
@@ -471,7 +557,7 @@ const approveBtn = $("approveBtn");
 const approveClose = $("approveClose");
 
 window.reviewEscalation = (id) => {
-  const c = complaints.find((x) => x.id === id);
+  const c = complaintsById.get(String(id));
   if (!c) return;
 
   if (approveSummary && approvePreview) {
@@ -517,6 +603,9 @@ window.revertComplaint = async (id) => {
       renderComplaintsTable();
       refreshKPIs();
       renderPending();
+      renderRecent();
+      renderProofGrid();
+      renderPerformance();
     } else {
       alert("Failed to revert: " + (await res.text()));
     }
@@ -597,44 +686,16 @@ function computeStaffStats() {
 
   // 1. Initialize Staff Map
   staff.forEach((s) => {
-    stats[s.name] = {
-      name: s.name,
-      assigned: 0,
-      resolved: 0,
-      totalStars: 0, // Sum of all ratings
-      ratedCount: 0, // How many jobs were rated
-      avg: 0,
-    };
+    stats[s.id] = { name: s.name, assigned: 0, resolved: 0, avg: "-" };
   });
 
-  // 2. Aggregate Data
-  complaints.forEach((c) => {
-    const staffName = c.staff;
-    if (!staffName) return;
-
-    // Find staff entry (matches name string)
-    const key = Object.keys(stats).find((k) => k.includes(staffName));
-    if (key) {
-      if (c.status !== "new") stats[key].assigned++;
-
-      if (c.status === "resolved") {
-        stats[key].resolved++;
-        // ✅ Sum Ratings
-        if (c.rating > 0) {
-          stats[key].totalStars += c.rating;
-          stats[key].ratedCount++;
-        }
-      }
-    }
-  });
-
-  // 3. Calculate Averages
-  Object.values(stats).forEach((s) => {
-    if (s.ratedCount > 0) {
-      s.avg = (s.totalStars / s.ratedCount).toFixed(1);
-    } else {
-      s.avg = "-";
-    }
+  // 2. Totals aggregated by the server (/complaints/stats/staff)
+  staffSummary.forEach((row) => {
+    const entry = stats[row.staffId];
+    if (!entry) return;
+    entry.assigned = row.assigned;
+    entry.resolved = row.resolved;
+    if (row.averageRating != null) entry.avg = row.averageRating.toFixed(1);
   });
 
   return stats;
@@ -673,7 +734,7 @@ function renderPerformance() {
    ========================================================= */
 function renderProofGrid() {
   const container = document.getElementById("proofGrid");
-  const items = complaints.filter((c) => c.status === "escalated");
+  const items = escalatedComplaints;
 
   if (!items.length) {
     container.innerHTML = `<p class="muted" style="margin:6px 0">No proofs awaiting review.</p>`;
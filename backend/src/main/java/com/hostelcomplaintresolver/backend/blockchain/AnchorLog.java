@@ -0,0 +1,272 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ Append-only file of the global anchor chain ({@code <ledger.dir>/anchors/anchors.log}).
+ *
+ * Record layout: [int bodyLength][int crc32(body)][body], same framing as the ledger segments.
+ * Body layout:   epoch, createdAt, previousHash, merkleRoot, hash, leafCount, leaves (complaintId, blockIndex, blockHash)
+ *
+ * Anchor headers and the last anchored tip of every chain are kept in memory; leaves are read
+ * back from the file on demand. Every append is fsynced. A torn record at the end (crash during
+ * an append) is cut off on open.
+ *
+ * A read-only log (API processes of a {@link LedgerDaemon}, which owns and writes the file) never
+ * writes or truncates; it picks up the anchors appended since its last read before every read.
+ */
+public class AnchorLog implements Closeable {
+
+    private final Path file;
+    private final boolean readOnly;
+    private FileChannel channel; // opened on first use when read-only and the owner has not created it yet
+    private long loadedBytes;
+    private final List<ChainAnchor> anchors = new ArrayList<>();
+    private final List<Long> positions = new ArrayList<>();
+    private final Map<String, AnchoredTip> lastAnchored = new HashMap<>();
+
+    public AnchorLog(Path file) {
+        this(file, false);
+    }
+
+    public AnchorLog(Path file, boolean readOnly) {
+        this.file = file;
+        this.readOnly = readOnly;
+        try {
+            if (readOnly) {
+                refresh();
+                return;
+            }
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+            if (loadedBytes < channel.size()) {
+                System.err.println("⚠️ Truncating torn tail of anchor log " + file + " at " + loadedBytes + " bytes");
+                channel.truncate(loadedBytes);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening anchor log " + file, e);
+        }
+    }
+
+    /**
+     * ✅ Anchor headers, oldest first (leaves not loaded).
+     */
+    public synchronized List<ChainAnchor> headers() {
+        refreshQuietly();
+        return Collections.unmodifiableList(new ArrayList<>(anchors));
+    }
+
+    public synchronized ChainAnchor latest() {
+        refreshQuietly();
+        return anchors.isEmpty() ? null : anchors.get(anchors.size() - 1);
+    }
+
+    /**
+     * ✅ Reads one anchor including its leaves, or null if the epoch does not exist.
+     */
+    public synchronized ChainAnchor read(long epoch) {
+        refreshQuietly();
+        if (epoch < 1 || epoch > anchors.size()) {
+            return null;
+        }
+        try {
+            return decode(readBody(positions.get((int) (epoch - 1))));
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading anchor " + epoch, e);
+        }
+    }
+
+    /**
+     * ✅ The epoch and leaf under which a chain was last anchored, or null if it never was.
+     */
+    public synchronized AnchoredTip lastAnchored(String complaintId) {
+        refreshQuietly();
+        return lastAnchored.get(complaintId);
+    }
+
+    public synchronized Map<String, AnchoredTip> lastAnchoredTips() {
+        refreshQuietly();
+        return new HashMap<>(lastAnchored);
+    }
+
+    /**
+     * ✅ Appends (and fsyncs) a new anchor; its epoch must follow the latest one.
+     */
+    public synchronized void append(ChainAnchor anchor) {
+        if (readOnly) {
+            throw new IllegalStateException("Anchor log " + file + " is read-only here; the ledger owner appends to it");
+        }
+        if (anchor.getEpoch() != anchors.size() + 1) {
+            throw new IllegalStateException("Anchor epoch " + anchor.getEpoch() + " does not follow " + anchors.size());
+        }
+        try {
+            byte[] body = encode(anchor);
+            ByteBuffer record = ByteBuffer.allocate(LedgerRecordCodec.HEADER_SIZE + body.length);
+            record.putInt(body.length).putInt(LedgerRecordCodec.crc(body)).put(body).flip();
+            long position = channel.size();
+            while (record.hasRemaining()) {
+                channel.write(record, position + record.position());
+            }
+            channel.force(false);
+            remember(anchor, position);
+            loadedBytes = position + LedgerRecordCodec.HEADER_SIZE + body.length;
+        } catch (IOException e) {
+            throw new RuntimeException("Error appending anchor " + anchor.getEpoch(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error closing anchor log: " + e.getMessage());
+        }
+    }
+
+    // Read-only: picks up records the owner appended since the last read (a partly written one waits for the next read)
+    private void refresh() throws IOException {
+        if (!readOnly) return;
+        if (channel == null) {
+            if (!Files.exists(file)) return;
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+        if (channel.size() > loadedBytes) {
+            load();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading anchor log " + file, e);
+        }
+    }
+
+    // Reads the intact records after loadedBytes; stops at the first torn or partly written one
+    private void load() throws IOException {
+        long size = channel.size();
+        long position = loadedBytes;
+        while (position + LedgerRecordCodec.HEADER_SIZE <= size) {
+            ByteBuffer header = ByteBuffer.allocate(LedgerRecordCodec.HEADER_SIZE);
+            readFully(header, position);
+            int length = header.getInt(0);
+            int crc = header.getInt(4);
+            if (length <= 0 || position + LedgerRecordCodec.HEADER_SIZE + length > size) break;
+            byte[] body = readBody(position);
+            if (LedgerRecordCodec.crc(body) != crc) break;
+            ChainAnchor anchor = decode(body);
+            if (anchor.getEpoch() != anchors.size() + 1) break;
+            remember(anchor, position);
+            position += LedgerRecordCodec.HEADER_SIZE + length;
+        }
+        loadedBytes = position;
+    }
+
+    private void remember(ChainAnchor anchor, long position) {
+        for (ChainAnchor.Leaf leaf : anchor.getLeaves()) {
+            lastAnchored.put(leaf.getComplaintId(), new AnchoredTip(anchor.getEpoch(), leaf));
+        }
+        ChainAnchor header = new ChainAnchor();
+        header.setEpoch(anchor.getEpoch());
+        header.setCreatedAt(anchor.getCreatedAt());
+        header.setPreviousHash(anchor.getPreviousHash());
+        header.setMerkleRoot(anchor.getMerkleRoot());
+        header.setHash(anchor.getHash());
+        header.setLeafCount(anchor.getLeafCount());
+        anchors.add(header);
+        positions.add(position);
+    }
+
+    private byte[] readBody(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LedgerRecordCodec.HEADER_SIZE);
+        readFully(header, position);
+        ByteBuffer body = ByteBuffer.allocate(header.getInt(0));
+        readFully(body, position + LedgerRecordCodec.HEADER_SIZE);
+        return body.array();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of anchor log " + file);
+            }
+        }
+    }
+
+    private static byte[] encode(ChainAnchor anchor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + anchor.getLeafCount() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(anchor.getEpoch());
+        out.writeLong(anchor.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(anchor.getCreatedAt().getNano());
+        out.writeUTF(anchor.getPreviousHash());
+        out.writeUTF(anchor.getMerkleRoot());
+        out.writeUTF(anchor.getHash());
+        out.writeInt(anchor.getLeaves().size());
+        for (ChainAnchor.Leaf leaf : anchor.getLeaves()) {
+            out.writeUTF(leaf.getComplaintId());
+            out.writeInt(leaf.getBlockIndex());
+            out.writeUTF(leaf.getBlockHash());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ChainAnchor decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        ChainAnchor anchor = new ChainAnchor();
+        anchor.setEpoch(in.readLong());
+        long seconds = in.readLong();
+        anchor.setCreatedAt(LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC));
+        anchor.setPreviousHash(in.readUTF());
+        anchor.setMerkleRoot(in.readUTF());
+        anchor.setHash(in.readUTF());
+        int count = in.readInt();
+        anchor.setLeafCount(count);
+        List<ChainAnchor.Leaf> leaves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leaves.add(new ChainAnchor.Leaf(in.readUTF(), in.readInt(), in.readUTF()));
+        }
+        anchor.setLeaves(leaves);
+        return anchor;
+    }
+
+    /**
+     * ✅ Where a chain was last anchored: the epoch and the tip recorded in it.
+     */
+    public static final class AnchoredTip {
+        private final long epoch;
+        private final ChainAnchor.Leaf leaf;
+
+        AnchoredTip(long epoch, ChainAnchor.Leaf leaf) {
+            this.epoch = epoch;
+            this.leaf = leaf;
+        }
+
+        public long getEpoch() { return epoch; }
+        public ChainAnchor.Leaf getLeaf() { return leaf; }
+    }
+}
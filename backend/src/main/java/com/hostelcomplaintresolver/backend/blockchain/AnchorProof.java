@@ -0,0 +1,48 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * ✅ Proof that a chain tip is covered by an anchor: the anchored leaf, its Merkle path to the
+ * anchor's root, and the anchor hash that commits to that root.
+ */
+public class AnchorProof {
+    private String complaintId;
+    private long epoch;
+    private String anchorHash;
+    private ChainAnchor.Leaf leaf;
+    private MerkleProof merkleProof;
+
+    public AnchorProof() {}
+
+    public AnchorProof(String complaintId, long epoch, String anchorHash, ChainAnchor.Leaf leaf, MerkleProof merkleProof) {
+        this.complaintId = complaintId;
+        this.epoch = epoch;
+        this.anchorHash = anchorHash;
+        this.leaf = leaf;
+        this.merkleProof = merkleProof;
+    }
+
+    /**
+     * ✅ The leaf must hash to the proof's leaf hash, and the path must lead to the proof's root.
+     */
+    public boolean verify() {
+        return leaf != null && merkleProof != null
+                && leaf.leafHash().equals(merkleProof.getLeafHash())
+                && merkleProof.verify();
+    }
+
+    // Getters and Setters
+    public String getComplaintId() { return complaintId; }
+    public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+    public long getEpoch() { return epoch; }
+    public void setEpoch(long epoch) { this.epoch = epoch; }
+
+    public String getAnchorHash() { return anchorHash; }
+    public void setAnchorHash(String anchorHash) { this.anchorHash = anchorHash; }
+
+    public ChainAnchor.Leaf getLeaf() { return leaf; }
+    public void setLeaf(ChainAnchor.Leaf leaf) { this.leaf = leaf; }
+
+    public MerkleProof getMerkleProof() { return merkleProof; }
+    public void setMerkleProof(MerkleProof merkleProof) { this.merkleProof = merkleProof; }
+}
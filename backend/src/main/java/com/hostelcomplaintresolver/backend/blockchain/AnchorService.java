@@ -0,0 +1,197 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * ✅ Global anchoring: periodically rolls the chain tips that changed since the last anchor into one
+ * Merkle root and appends it to a hash-linked anchor chain.
+ *
+ * An anchor commits to "chain X had block N with hash H" for every chain it covers, so checking one
+ * anchor proves a whole epoch of ledger state, and rewriting or deleting a chain is caught even if
+ * the chain itself is internally consistent again. Whole-ledger checks scale with the number of
+ * anchors: {@link #verifyAnchorChain()} only re-hashes anchors, {@link #verifyAnchor(long)} only
+ * reads the anchored tip blocks.
+ */
+@Service
+public class AnchorService {
+
+    private static final String GENESIS_HASH = "0";
+
+    private final BlockchainService blockchainService;
+    private final AnchorLog anchorLog;
+    private final boolean owner;
+    private final boolean enabled;
+
+    @Autowired
+    public AnchorService(BlockchainService blockchainService,
+                         @Value("${ledger.anchor.file:${ledger.dir:blockchain_ledger}/anchors/anchors.log}") String anchorFile,
+                         @Value("${ledger.anchor.enabled:true}") boolean enabled) {
+        this(blockchainService, Paths.get(anchorFile), enabled);
+    }
+
+    /**
+     * Anchors are only written where the ledger is owned (embedded mode, or inside the {@link LedgerDaemon});
+     * an API process talking to the daemon reads the daemon's anchor log and never anchors itself.
+     */
+    public AnchorService(BlockchainService blockchainService, Path anchorFile, boolean enabled) {
+        this.blockchainService = blockchainService;
+        this.owner = !blockchainService.isDaemonClient();
+        this.anchorLog = new AnchorLog(anchorFile, !owner);
+        this.enabled = enabled && owner;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        anchorLog.close();
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.anchor.interval-ms:900000}",
+               initialDelayString = "${ledger.anchor.interval-ms:900000}")
+    public void scheduledAnchor() {
+        if (!enabled) return;
+        try {
+            anchorNow();
+        } catch (Exception e) {
+            System.err.println("❌ Ledger anchoring failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Anchors every chain whose tip moved since it was last anchored.
+     * @return the new anchor, or null if nothing changed
+     * @throws IllegalStateException in an API process that uses the ledger daemon
+     */
+    public synchronized ChainAnchor anchorNow() {
+        if (!owner) {
+            throw new IllegalStateException("Anchoring runs in the ledger daemon, which owns the ledger.");
+        }
+        Map<String, AnchorLog.AnchoredTip> anchored = anchorLog.lastAnchoredTips();
+        List<ChainAnchor.Leaf> leaves = new ArrayList<>();
+
+        // Sorted so the leaf order (and thus the root) is reproducible
+        for (String complaintId : new TreeSet<>(blockchainService.getChainIds())) {
+            ChainTip tip = blockchainService.getChainTip(complaintId);
+            if (tip == null) continue;
+            AnchorLog.AnchoredTip last = anchored.remove(complaintId);
+            if (last != null && last.getLeaf().getBlockIndex() == tip.getLastIndex()
+                    && last.getLeaf().getBlockHash().equals(tip.getLastHash())) {
+                continue;
+            }
+            leaves.add(new ChainAnchor.Leaf(complaintId, tip.getLastIndex(), tip.getLastHash()));
+        }
+        for (String missing : anchored.keySet()) {
+            System.err.println("⚠️ Anchored chain of complaint " + missing + " is no longer in the ledger.");
+        }
+        if (leaves.isEmpty()) {
+            return null;
+        }
+
+        ChainAnchor previous = anchorLog.latest();
+        ChainAnchor anchor = new ChainAnchor(
+                previous == null ? 1 : previous.getEpoch() + 1,
+                LocalDateTime.now(),
+                previous == null ? GENESIS_HASH : previous.getHash(),
+                leaves);
+        anchorLog.append(anchor);
+        System.out.println("⚓ Anchor #" + anchor.getEpoch() + " covers " + leaves.size()
+                + " chain tips | Root: " + anchor.getMerkleRoot());
+        return anchor;
+    }
+
+    /**
+     * ✅ Anchor headers, oldest first.
+     */
+    public List<ChainAnchor> listAnchors() {
+        return anchorLog.headers();
+    }
+
+    /**
+     * ✅ Checks one anchor against the ledger: its hash and root, and that every anchored tip block
+     * is still in its chain with the same, valid hash.
+     */
+    public AnchorVerificationResult verifyAnchor(long epoch) {
+        AnchorVerificationResult result = new AnchorVerificationResult(epoch);
+        ChainAnchor anchor = anchorLog.read(epoch);
+        if (anchor == null) {
+            result.addFailure("Anchor " + epoch + " does not exist");
+            return result;
+        }
+        result.setAnchorsChecked(1);
+        checkAnchor(anchor, result);
+
+        for (ChainAnchor.Leaf leaf : anchor.getLeaves()) {
+            result.setLeavesChecked(result.getLeavesChecked() + 1);
+            Block block = blockchainService.getBlock(leaf.getComplaintId(), leaf.getBlockIndex());
+            if (block == null) {
+                result.addFailure("Complaint " + leaf.getComplaintId() + ": block " + leaf.getBlockIndex() + " is missing");
+            } else if (!leaf.getBlockHash().equals(block.getHash())) {
+                result.addFailure("Complaint " + leaf.getComplaintId() + ": block " + leaf.getBlockIndex()
+                        + " no longer has the anchored hash");
+            } else if (!block.getHash().equals(block.calculateHash()) || !MerkleTree.rootMatches(block)) {
+                result.addFailure("Complaint " + leaf.getComplaintId() + ": block " + leaf.getBlockIndex()
+                        + " content does not match its hash");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ✅ Checks the anchor chain itself: every anchor's root and hash, and the links between them.
+     */
+    public AnchorVerificationResult verifyAnchorChain() {
+        AnchorVerificationResult result = new AnchorVerificationResult(null);
+        String previousHash = GENESIS_HASH;
+        for (ChainAnchor header : anchorLog.headers()) {
+            ChainAnchor anchor = anchorLog.read(header.getEpoch());
+            result.setAnchorsChecked(result.getAnchorsChecked() + 1);
+            result.setLeavesChecked(result.getLeavesChecked() + anchor.getLeafCount());
+            if (!previousHash.equals(anchor.getPreviousHash())) {
+                result.addFailure("Anchor " + anchor.getEpoch() + ": previous hash does not link to anchor " + (anchor.getEpoch() - 1));
+            }
+            checkAnchor(anchor, result);
+            previousHash = anchor.getHash();
+        }
+        return result;
+    }
+
+    /**
+     * ✅ Inclusion proof of a chain's last anchored tip, or null if the chain was never anchored.
+     */
+    public AnchorProof proof(String complaintId) {
+        AnchorLog.AnchoredTip tip = anchorLog.lastAnchored(complaintId);
+        if (tip == null) {
+            return null;
+        }
+        ChainAnchor anchor = anchorLog.read(tip.getEpoch());
+        List<ChainAnchor.Leaf> leaves = anchor.getLeaves();
+        for (int i = 0; i < leaves.size(); i++) {
+            if (leaves.get(i).getComplaintId().equals(complaintId)) {
+                MerkleProof merkleProof = MerkleTree.proofOfLeaf(ChainAnchor.leafHashes(leaves), i);
+                return new AnchorProof(complaintId, anchor.getEpoch(), anchor.getHash(), leaves.get(i), merkleProof);
+            }
+        }
+        return null;
+    }
+
+    private static void checkAnchor(ChainAnchor anchor, AnchorVerificationResult result) {
+        if (!anchor.getMerkleRoot().equals(MerkleTree.rootOfLeaves(ChainAnchor.leafHashes(anchor.getLeaves())))) {
+            result.addFailure("Anchor " + anchor.getEpoch() + ": Merkle root does not match its leaves");
+        }
+        if (!anchor.getHash().equals(anchor.calculateHash())) {
+            result.addFailure("Anchor " + anchor.getEpoch() + ": hash does not match its contents");
+        }
+    }
+}
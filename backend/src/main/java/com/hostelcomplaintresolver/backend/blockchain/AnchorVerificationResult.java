@@ -0,0 +1,50 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Outcome of checking one anchor (or the whole anchor chain).
+ */
+public class AnchorVerificationResult {
+    private static final int MAX_FAILURES = 100;
+
+    private Long epoch; // null for a whole-chain check
+    private int anchorsChecked;
+    private long leavesChecked;
+    private long failureCount;
+    private List<String> failures = new ArrayList<>();
+
+    public AnchorVerificationResult() {}
+
+    public AnchorVerificationResult(Long epoch) {
+        this.epoch = epoch;
+    }
+
+    public void addFailure(String failure) {
+        failureCount++;
+        if (failures.size() < MAX_FAILURES) { // keep the response bounded
+            failures.add(failure);
+        }
+    }
+
+    public boolean isValid() {
+        return failureCount == 0;
+    }
+
+    // Getters and Setters
+    public Long getEpoch() { return epoch; }
+    public void setEpoch(Long epoch) { this.epoch = epoch; }
+
+    public int getAnchorsChecked() { return anchorsChecked; }
+    public void setAnchorsChecked(int anchorsChecked) { this.anchorsChecked = anchorsChecked; }
+
+    public long getLeavesChecked() { return leavesChecked; }
+    public void setLeavesChecked(long leavesChecked) { this.leavesChecked = leavesChecked; }
+
+    public long getFailureCount() { return failureCount; }
+    public void setFailureCount(long failureCount) { this.failureCount = failureCount; }
+
+    public List<String> getFailures() { return failures; }
+    public void setFailures(List<String> failures) { this.failures = failures; }
+}
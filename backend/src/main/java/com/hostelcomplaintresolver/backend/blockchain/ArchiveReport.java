@@ -0,0 +1,40 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * ✅ Outcome of one archiving run: what moved into packs and the resulting ledger footprint.
+ */
+public class ArchiveReport {
+
+    private int chainsArchived;
+    private int blocksArchived;
+    private long segmentBytesBefore;
+    private long segmentBytesAfter;
+    private long archiveBytes;
+
+    public ArchiveReport() {}
+
+    public ArchiveReport(int chainsArchived, int blocksArchived, long segmentBytesBefore,
+                         long segmentBytesAfter, long archiveBytes) {
+        this.chainsArchived = chainsArchived;
+        this.blocksArchived = blocksArchived;
+        this.segmentBytesBefore = segmentBytesBefore;
+        this.segmentBytesAfter = segmentBytesAfter;
+        this.archiveBytes = archiveBytes;
+    }
+
+    // Getters and Setters
+    public int getChainsArchived() { return chainsArchived; }
+    public void setChainsArchived(int chainsArchived) { this.chainsArchived = chainsArchived; }
+
+    public int getBlocksArchived() { return blocksArchived; }
+    public void setBlocksArchived(int blocksArchived) { this.blocksArchived = blocksArchived; }
+
+    public long getSegmentBytesBefore() { return segmentBytesBefore; }
+    public void setSegmentBytesBefore(long segmentBytesBefore) { this.segmentBytesBefore = segmentBytesBefore; }
+
+    public long getSegmentBytesAfter() { return segmentBytesAfter; }
+    public void setSegmentBytesAfter(long segmentBytesAfter) { this.segmentBytesAfter = segmentBytesAfter; }
+
+    public long getArchiveBytes() { return archiveBytes; }
+    public void setArchiveBytes(long archiveBytes) { this.archiveBytes = archiveBytes; }
+}
@@ -1,24 +1,29 @@
 package com.hostelcomplaintresolver.backend.blockchain;
 
 import java.time.LocalDateTime;
-import java.security.MessageDigest;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Block {
 
+    // Block format versions (stored with every block, so old hashes stay verifiable)
+    public static final int FORMAT_LEGACY = 1;  // single transaction, hash over the raw transaction fields
+    public static final int FORMAT_MERKLE = 2;  // many transactions, hash over their Merkle root
+    public static final int FORMAT_BINARY = 3;  // single transaction, hash over the canonical binary encoding
+
+    private int version = FORMAT_LEGACY;
     private int index;
     private LocalDateTime timestamp;
     private List<Transaction> transactions;
     private String previousHash;
     private String hash;
+    private String merkleRoot;
 
     public Block() {}
 
     // ✅ Constructor for single transaction
     public Block(int index, String previousHash, Transaction transaction) {
+        this.version = FORMAT_BINARY;
         this.index = index;
         this.timestamp = LocalDateTime.now();
         this.transactions = Collections.singletonList(transaction);
@@ -26,29 +31,27 @@ public class Block {
         this.hash = calculateHash();
     }
 
-    // ✅ SHA-256 Hash Calculation
+    // ✅ Constructor for a batch of transactions under one Merkle root
+    public Block(int index, String previousHash, List<Transaction> transactions) {
+        this.version = FORMAT_MERKLE;
+        this.index = index;
+        this.timestamp = LocalDateTime.now();
+        this.transactions = transactions;
+        this.previousHash = previousHash;
+        this.merkleRoot = MerkleTree.root(transactions);
+        this.hash = calculateHash();
+    }
+
+    // ✅ SHA-256 Hash Calculation (encoding depends on the format version, see BlockHasher)
     public String calculateHash() {
-        try {
-            String dataToHash = index + previousHash +
-                    transactions.stream()
-                            .map(t -> t.getTransactionId() + t.getAction() + t.getDescription())
-                            .collect(Collectors.joining()) +
-                    timestamp.toString(); // consistent ISO format
-
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(dataToHash.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                hexString.append(String.format("%02x", b));
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating hash", e);
-        }
+        return BlockHasher.hash(this);
     }
 
 
     // ✅ Getters & Setters
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
     public int getIndex() { return index; }
     public void setIndex(int index) { this.index = index; }
 
@@ -64,13 +67,18 @@ public class Block {
     public String getHash() { return hash; }
     public void setHash(String hash) { this.hash = hash; }
 
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+
     @Override
     public String toString() {
         return "Block{" +
-                "index=" + index +
+                "version=" + version +
+                ", index=" + index +
                 ", timestamp=" + timestamp +
                 ", previousHash='" + previousHash + '\'' +
                 ", hash='" + hash + '\'' +
+                ", merkleRoot='" + merkleRoot + '\'' +
                 ", transactions=" + transactions +
                 '}';
     }
@@ -0,0 +1,336 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ✅ Block hashing engine.
+ *
+ * Block fields are encoded straight into a per-thread scratch buffer and fed to a per-thread
+ * SHA-256 digest, so hashing a block allocates nothing but the resulting hex String.
+ *
+ * - {@link Block#FORMAT_LEGACY} / {@link Block#FORMAT_MERKLE}: the exact bytes of the original
+ *   string concatenations, so every stored hash still verifies.
+ * - {@link Block#FORMAT_BINARY}: canonical binary encoding, length-prefixed and unambiguous:
+ *   [byte version][int index][hash previousHash][time timestamp][int txCount]
+ *   then per transaction [str id][str complaintId][str userId][str action][str description][time]
+ *   str  = [int utf8Length | -1 for null][utf8 bytes]
+ *   hash = [byte 0][32 raw bytes] for 64-char lowercase hex, otherwise [byte 1][str]
+ *   time = [byte 0] for null, otherwise [byte 1][long epochSecond UTC][int nano]
+ */
+public final class BlockHasher {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int DIGEST_LENGTH = 32;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private BlockHasher() {}
+
+    /**
+     * ✅ Hash of a block in the encoding of its format version.
+     */
+    public static String hash(Block block) {
+        switch (block.getVersion()) {
+            case Block.FORMAT_BINARY:
+                return hashBinary(block);
+            case Block.FORMAT_MERKLE:
+                return hashMerkle(block);
+            default:
+                return hashLegacy(block);
+        }
+    }
+
+    /**
+     * ✅ The calling thread's SHA-256 digest, reset and ready for use.
+     */
+    static MessageDigest digest() {
+        MessageDigest digest = SCRATCH.get().digest;
+        digest.reset();
+        return digest;
+    }
+
+    public static String toHex(byte[] bytes) {
+        return toHex(bytes, 0, bytes.length);
+    }
+
+    public static String toHex(byte[] bytes, int offset, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            chars[2 * i] = HEX[b >>> 4];
+            chars[2 * i + 1] = HEX[b & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    // index + previousHash + (id + action + description)* + timestamp.toString()
+    private static String hashLegacy(Block block) {
+        Scratch s = SCRATCH.get().begin();
+        s.putDecimal(block.getIndex());
+        s.putText(block.getPreviousHash());
+        List<Transaction> transactions = block.getTransactions();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction t = transactions.get(i);
+            s.putText(t.getTransactionId());
+            s.putText(t.getAction());
+            s.putText(t.getDescription());
+        }
+        s.putIsoTime(block.getTimestamp());
+        return s.finish();
+    }
+
+    // version|index|previousHash|merkleRoot|timestamp over the stored root: the hash binds the header,
+    // the root binds the transactions (checked separately by verification), so a header alone is hashable
+    private static String hashMerkle(Block block) {
+        Scratch s = SCRATCH.get().begin();
+        s.putDecimal(block.getVersion());
+        s.putByte('|');
+        s.putDecimal(block.getIndex());
+        s.putByte('|');
+        s.putText(block.getPreviousHash());
+        s.putByte('|');
+        s.putText(block.getMerkleRoot());
+        s.putByte('|');
+        s.putIsoTime(block.getTimestamp());
+        return s.finish();
+    }
+
+    private static String hashBinary(Block block) {
+        Scratch s = SCRATCH.get().begin();
+        s.putByte(Block.FORMAT_BINARY);
+        s.putInt(block.getIndex());
+        s.putHash(block.getPreviousHash());
+        s.putTime(block.getTimestamp());
+        List<Transaction> transactions = block.getTransactions();
+        s.putInt(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction t = transactions.get(i);
+            s.putString(t.getTransactionId());
+            s.putString(t.getComplaintId());
+            s.putString(t.getUserId());
+            s.putString(t.getAction());
+            s.putString(t.getDescription());
+            s.putTime(t.getTimestamp());
+        }
+        return s.finish();
+    }
+
+    /**
+     * Per-thread digest plus a growable byte buffer that is flushed into the digest when full.
+     */
+    private static final class Scratch {
+        final MessageDigest digest;
+        final byte[] out = new byte[DIGEST_LENGTH];
+        byte[] buf = new byte[1024];
+        int len;
+
+        Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Error generating hash", e);
+            }
+        }
+
+        Scratch begin() {
+            digest.reset();
+            len = 0;
+            return this;
+        }
+
+        String finish() {
+            digest.update(buf, 0, len);
+            len = 0;
+            if (buf.length > MAX_RETAINED_BUFFER) {
+                buf = new byte[1024]; // don't pin a huge buffer on the thread after one big block
+            }
+            try {
+                digest.digest(out, 0, DIGEST_LENGTH);
+            } catch (Exception e) {
+                throw new RuntimeException("Error generating hash", e);
+            }
+            return toHex(out, 0, DIGEST_LENGTH);
+        }
+
+        void ensure(int extra) {
+            if (len + extra <= buf.length) return;
+            if (extra <= buf.length) {
+                digest.update(buf, 0, len); // plain appends can simply be flushed
+                len = 0;
+            } else {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+
+        void putByte(int b) {
+            ensure(1);
+            buf[len++] = (byte) b;
+        }
+
+        void putInt(int v) {
+            ensure(4);
+            buf[len++] = (byte) (v >>> 24);
+            buf[len++] = (byte) (v >>> 16);
+            buf[len++] = (byte) (v >>> 8);
+            buf[len++] = (byte) v;
+        }
+
+        void putLong(long v) {
+            putInt((int) (v >>> 32));
+            putInt((int) v);
+        }
+
+        // Same bytes as String.valueOf(s).getBytes(UTF_8): null becomes "null" like string concatenation
+        void putText(String s) {
+            if (s == null) {
+                s = "null";
+            }
+            for (int i = 0; i < s.length(); i++) {
+                putChar(s, i);
+                if (Character.isHighSurrogate(s.charAt(i)) && i + 1 < s.length()
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+
+        // Length-prefixed UTF-8; the length is patched in after encoding, so it must stay in the buffer
+        void putString(String s) {
+            if (s == null) {
+                putInt(-1);
+                return;
+            }
+            ensure(4 + s.length() * 3);
+            int lengthAt = len;
+            len += 4;
+            putText(s);
+            int length = len - lengthAt - 4;
+            buf[lengthAt] = (byte) (length >>> 24);
+            buf[lengthAt + 1] = (byte) (length >>> 16);
+            buf[lengthAt + 2] = (byte) (length >>> 8);
+            buf[lengthAt + 3] = (byte) length;
+        }
+
+        void putHash(String hash) {
+            if (hash != null && hash.length() == 2 * DIGEST_LENGTH && isLowerHex(hash)) {
+                ensure(1 + DIGEST_LENGTH);
+                buf[len++] = 0;
+                for (int i = 0; i < DIGEST_LENGTH; i++) {
+                    buf[len++] = (byte) ((Character.digit(hash.charAt(2 * i), 16) << 4)
+                            | Character.digit(hash.charAt(2 * i + 1), 16));
+                }
+            } else {
+                putByte(1);
+                putString(hash);
+            }
+        }
+
+        void putTime(LocalDateTime time) {
+            if (time == null) {
+                putByte(0);
+                return;
+            }
+            putByte(1);
+            putLong(time.toEpochSecond(ZoneOffset.UTC));
+            putInt(time.getNano());
+        }
+
+        void putDecimal(int v) {
+            if (v < 0) {
+                putByte('-');
+                if (v == Integer.MIN_VALUE) {
+                    putText("2147483648");
+                    return;
+                }
+                v = -v;
+            }
+            int width = 1;
+            for (int rest = v / 10; rest > 0; rest /= 10) {
+                width++;
+            }
+            putDigits(v, width);
+        }
+
+        void putDigits(int v, int width) {
+            ensure(width);
+            for (int i = width - 1; i >= 0; i--) {
+                buf[len + i] = (byte) ('0' + v % 10);
+                v /= 10;
+            }
+            len += width;
+        }
+
+        // Same bytes as LocalDateTime.toString() (ISO-8601, seconds / fraction only when non-zero)
+        void putIsoTime(LocalDateTime t) {
+            int year = t.getYear();
+            if (year < 0 || year > 9999) {
+                putText(t.toString()); // extended years are never produced by the ledger
+                return;
+            }
+            putDigits(year, 4);
+            putByte('-');
+            putDigits(t.getMonthValue(), 2);
+            putByte('-');
+            putDigits(t.getDayOfMonth(), 2);
+            putByte('T');
+            putDigits(t.getHour(), 2);
+            putByte(':');
+            putDigits(t.getMinute(), 2);
+            int second = t.getSecond();
+            int nano = t.getNano();
+            if (second > 0 || nano > 0) {
+                putByte(':');
+                putDigits(second, 2);
+                if (nano > 0) {
+                    putByte('.');
+                    if (nano % 1_000_000 == 0) {
+                        putDigits(nano / 1_000_000, 3);
+                    } else if (nano % 1000 == 0) {
+                        putDigits(nano / 1000, 6);
+                    } else {
+                        putDigits(nano, 9);
+                    }
+                }
+            }
+        }
+
+        private void putChar(String s, int i) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                putByte(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buf[len++] = (byte) (0xc0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(i + 1));
+                ensure(4);
+                buf[len++] = (byte) (0xf0 | (cp >> 18));
+                buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                buf[len++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                putByte('?'); // unpaired surrogate, as String.getBytes(UTF_8) replaces it
+            } else {
+                ensure(3);
+                buf[len++] = (byte) (0xe0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[len++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        private static boolean isLowerHex(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -3,37 +3,206 @@ package com.hostelcomplaintresolver.backend.blockchain;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+
+import javax.sql.DataSource;
 import java.io.File;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
+/**
+ * ✅ The complaint ledger.
+ *
+ * {@code ledger.mode=EMBEDDED} (default): this process owns the ledger files.
+ * {@code ledger.mode=DAEMON}: a thin client of a {@link LedgerDaemon} on a Unix socket, so several
+ * API processes on one machine can share one ledger.
+ *
+ * {@code ledger.store=SEGMENT} (default) keeps the blocks in local segment files,
+ * {@code ledger.store=JDBC} in the {@code ledger_block} table of the application database.
+ */
 @Service
 public class BlockchainService {
 
-    private static final String LEDGER_FOLDER = "blockchain_ledger";
+    private static final String SEGMENTS_FOLDER = "segments";
+    private static final String CHECKPOINTS_FILE = "checkpoints.idx";
+    private static final int VERIFY_WINDOW = 256;
+    private static final int PARALLEL_REHASH_THRESHOLD = 64;
     private final ObjectMapper objectMapper;
+    private final LedgerStore ledgerStore;
+    private final LedgerWriter ledgerWriter;
+    private final VerificationCheckpoints checkpoints;
+    private final LedgerDurability durability;
+    private final LedgerClient daemon; // null when the ledger is embedded
+    private volatile boolean logAppends = true;
+
+    @Autowired
+    public BlockchainService(@Value("${ledger.mode:EMBEDDED}") String mode,
+                             @Value("${ledger.dir:blockchain_ledger}") String ledgerFolder,
+                             @Value("${ledger.daemon.socket:${ledger.dir:blockchain_ledger}/ledger.sock}") String daemonSocket,
+                             @Value("${ledger.daemon.timeout-ms:30000}") long daemonTimeoutMillis,
+                             @Value("${ledger.writer.durability:ASYNC}") LedgerDurability durability,
+                             @Value("${ledger.writer.queue-capacity:10000}") int queueCapacity,
+                             @Value("${ledger.writer.max-batch:256}") int maxBatch,
+                             @Value("${ledger.block.merkle-batching:false}") boolean merkleBatching,
+                             @Value("${ledger.writer.linger-ms:0}") long lingerMillis,
+                             @Value("${ledger.writer.fsync-policy:NONE}") LedgerFsyncPolicy fsyncPolicy,
+                             @Value("${ledger.writer.fsync-interval-ms:1000}") long fsyncIntervalMillis,
+                             @Value("${ledger.store:SEGMENT}") String store,
+                             ObjectProvider<DataSource> dataSource) {
+        this(ledgerFolder, durability, fsyncPolicy, fsyncIntervalMillis, queueCapacity, maxBatch, merkleBatching, lingerMillis,
+                "DAEMON".equalsIgnoreCase(mode) ? new LedgerClient(Paths.get(daemonSocket), daemonTimeoutMillis) : null,
+                "JDBC".equalsIgnoreCase(store) && !"DAEMON".equalsIgnoreCase(mode) ? new JdbcLedgerStore(dataSource.getObject()) : null);
+    }
+
+    BlockchainService(String ledgerFolder, LedgerDurability durability, int queueCapacity, int maxBatch,
+                      boolean merkleBatching, long lingerMillis) {
+        this(ledgerFolder, durability, LedgerFsyncPolicy.NONE, 0, queueCapacity, maxBatch, merkleBatching, lingerMillis);
+    }
+
+    BlockchainService(String ledgerFolder, LedgerDurability durability, LedgerFsyncPolicy fsyncPolicy,
+                      long fsyncIntervalMillis, int queueCapacity, int maxBatch, boolean merkleBatching, long lingerMillis) {
+        this(ledgerFolder, durability, fsyncPolicy, fsyncIntervalMillis, queueCapacity, maxBatch, merkleBatching, lingerMillis, null);
+    }
+
+    BlockchainService(String ledgerFolder, LedgerDurability durability, LedgerFsyncPolicy fsyncPolicy,
+                      long fsyncIntervalMillis, int queueCapacity, int maxBatch, boolean merkleBatching, long lingerMillis,
+                      LedgerClient daemon) {
+        this(ledgerFolder, durability, fsyncPolicy, fsyncIntervalMillis, queueCapacity, maxBatch, merkleBatching, lingerMillis,
+                daemon, null);
+    }
 
-    public BlockchainService() {
+    /**
+     * @param store ledger store to use, or null for a segment store under {@code ledgerFolder}
+     */
+    BlockchainService(String ledgerFolder, LedgerDurability durability, LedgerFsyncPolicy fsyncPolicy,
+                      long fsyncIntervalMillis, int queueCapacity, int maxBatch, boolean merkleBatching, long lingerMillis,
+                      LedgerClient daemon, LedgerStore store) {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule()); // Support LocalDateTime
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        File folder = new File(LEDGER_FOLDER);
+        this.durability = durability;
+        this.daemon = daemon;
+        if (daemon != null) {
+            // 🔌 The ledger daemon owns the files; nothing is opened locally
+            this.ledgerStore = null;
+            this.checkpoints = null;
+            this.ledgerWriter = null;
+            System.out.println("🔌 Using the ledger daemon.");
+            return;
+        }
+
+        File folder = new File(ledgerFolder);
         if (!folder.exists()) {
             folder.mkdirs();
-            System.out.println("📁 Created blockchain ledger folder: " + LEDGER_FOLDER);
+            System.out.println("📁 Created blockchain ledger folder: " + ledgerFolder);
+        }
+
+        // 📦 Append-only segment store (replaces one rewritten JSON file per complaint), unless a database store was given
+        this.ledgerStore = store != null ? store : new LedgerSegmentStore(Paths.get(ledgerFolder, SEGMENTS_FOLDER));
+        if (store != null) {
+            System.out.println("🗃️ Using the database ledger store.");
         }
+        LedgerMigration.importJsonChains(folder, ledgerStore);
+
+        // 🔖 Verified-up-to checkpoints: re-verification only re-hashes newly appended blocks
+        //    (kept locally next to the segments, or in the ledger folder with a database store)
+        this.checkpoints = new VerificationCheckpoints(store != null ? Paths.get(ledgerFolder, CHECKPOINTS_FILE)
+                : Paths.get(ledgerFolder, SEGMENTS_FOLDER, CHECKPOINTS_FILE));
+
+        // ✍️ Group-commit writer: ledger I/O and hashing happen off the request thread
+        this.ledgerWriter = new LedgerWriter(ledgerStore, durability, fsyncPolicy, fsyncIntervalMillis,
+                queueCapacity, maxBatch, merkleBatching, lingerMillis);
     }
 
-    public synchronized void logTransaction(String complaintId, String userId, String action, String description) {
-        try {
+    @PreDestroy
+    public void shutdown() {
+        if (daemon != null) {
+            daemon.close();
+            return;
+        }
+        ledgerWriter.close(); // drains queued transactions first
+        ledgerStore.close();
+        checkpoints.close();
+    }
+
+    /**
+     * Turns the console line per logged transaction off (tests and benchmarks append thousands).
+     */
+    void setLogAppends(boolean logAppends) {
+        this.logAppends = logAppends;
+    }
+
+    /**
+     * ✅ True when this process only talks to the ledger daemon and does not own the ledger files.
+     */
+    public boolean isDaemonClient() {
+        return daemon != null;
+    }
+
+    /**
+     * ✅ Claims (or renews) a named background job for {@code ttl}, so that only one of the API
+     * processes sharing a ledger daemon runs it. Always granted when this process owns the ledger.
+     */
+    public boolean tryAcquireLease(String job, Duration ttl) {
+        return daemon == null || daemon.lease(job, ttl);
+    }
+
+    /**
+     * ✅ True when other processes append to the same store directly ({@code ledger.store=JDBC}),
+     * so this process does not see every commit.
+     */
+    public boolean isSharedStore() {
+        return ledgerStore instanceof JdbcLedgerStore;
+    }
+
+    /**
+     * ✅ Records a complaint event on its chain.
+     *
+     * In ASYNC mode this only enqueues the transaction; in COMMIT/FSYNC mode it waits for the
+     * group commit. Either way the returned future carries the receipt with the block hash.
+     */
+    public CompletableFuture<LedgerReceipt> logTransaction(String complaintId, String userId, String action, String description) {
+        CompletableFuture<LedgerReceipt> receipt = append(complaintId, userId, action, description,
+                durability == LedgerDurability.FSYNC);
+        if (durability != LedgerDurability.ASYNC) {
+            try {
+                receipt.join(); // from the daemon, bounded by ledger.daemon.timeout-ms
+            } catch (CompletionException e) {
+                // already reported; ledger failures never fail the business operation
+            }
+        }
+        return receipt;
+    }
+
+    /**
+     * ✅ Records a complaint event without waiting for it. With {@code forceToDisk} the receipt only
+     * completes once the block is forced to disk, whatever the fsync policy.
+     */
+    CompletableFuture<LedgerReceipt> append(String complaintId, String userId, String action, String description,
+                                            boolean forceToDisk) {
+        CompletableFuture<LedgerReceipt> receipt;
+        if (daemon != null) {
+            receipt = daemon.append(complaintId, userId, action, description, forceToDisk); // the daemon builds the transaction
+        } else {
             // 1. Transaction object
             Transaction transaction = new Transaction(
-                    UUID.randomUUID().toString(),
+                    TransactionIds.next(),
                     complaintId,
                     userId,
                     action,
@@ -41,89 +210,333 @@ public class BlockchainService {
                     LocalDateTime.now()
             );
 
-            // 2. Get/Create File
-            File complaintFile = new File(LEDGER_FOLDER + "/" + complaintId + ".json");
-            List<Block> chain;
+            // 2. Hand over to the ledger writer (builds the block and appends it in a batch)
+            receipt = ledgerWriter.submit(transaction, forceToDisk);
+        }
+        receipt.whenComplete((r, e) -> {
+            if (e != null) {
+                System.err.println("❌ Error creating blockchain log for complaint " + complaintId + ": " + e.getMessage());
+            } else if (logAppends) {
+                System.out.println("✅ Logged blockchain entry for complaint " + complaintId +
+                        " | Action: " + action + " | Block #" + r.getBlockIndex());
+            }
+        });
+        return receipt;
+    }
 
-            if (complaintFile.exists()) {
-                chain = BlockchainUtils.loadComplaintChain(complaintFile);
+    /**
+     * ✅ Records the same action on many chains at once (one transaction per complaint).
+     *
+     * Everything is queued before anything is awaited, so the writer commits the entries in as few
+     * batches as its batch size allows; in COMMIT/FSYNC mode the caller waits once for all of them.
+     * Failures are counted and reported once instead of per entry.
+     */
+    public List<CompletableFuture<LedgerReceipt>> logTransactions(String userId, String action,
+                                                                  Map<String, String> descriptionsByComplaint) {
+        List<CompletableFuture<LedgerReceipt>> receipts = new ArrayList<>(descriptionsByComplaint.size());
+        for (Map.Entry<String, String> entry : descriptionsByComplaint.entrySet()) {
+            if (daemon != null) {
+                receipts.add(daemon.append(entry.getKey(), userId, action, entry.getValue(),
+                        durability == LedgerDurability.FSYNC));
             } else {
-                chain = new ArrayList<>();
+                receipts.add(ledgerWriter.submit(new Transaction(TransactionIds.next(), entry.getKey(), userId, action,
+                        entry.getValue(), LocalDateTime.now()), durability == LedgerDurability.FSYNC));
             }
+        }
 
-            // 3. Determine Previous Hash
-            // If chain is empty, prevHash is "0", otherwise get hash of last block
-            String previousHash = chain.isEmpty() ? "0" : chain.get(chain.size() - 1).getHash();
-            int newIndex = chain.size() + 1;
+        CompletableFuture<Void> all = CompletableFuture.allOf(receipts.toArray(new CompletableFuture<?>[0]));
+        all.whenComplete((r, e) -> {
+            long failed = receipts.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+            if (failed > 0) {
+                System.err.println("❌ " + failed + " of " + receipts.size() + " blockchain logs failed | Action: " + action);
+            } else if (logAppends) {
+                System.out.println("✅ Logged " + receipts.size() + " blockchain entries | Action: " + action);
+            }
+        });
 
-            // 4. Create New Block
-            Block newBlock = new Block(newIndex, previousHash, transaction);
+        if (durability != LedgerDurability.ASYNC) {
+            try {
+                all.join();
+            } catch (CompletionException e) {
+                // already reported above; ledger failures never fail the business operation
+            }
+        }
+        return receipts;
+    }
 
-            // 5. Add & Save
-            chain.add(newBlock);
-            BlockchainUtils.saveComplaintChain(complaintFile, chain);
+    /**
+     * ✅ Latest block index and hash of a complaint chain (null if the complaint has no chain).
+     */
+    public ChainTip getChainTip(String complaintId) {
+        if (daemon != null) {
+            return daemon.tip(complaintId);
+        }
+        return ledgerStore.tip(complaintId);
+    }
 
-            System.out.println("✅ Logged blockchain entry for complaint " + complaintId +
-                    " | Action: " + action + " | Block #" + newBlock.getIndex());
+    /**
+     * ✅ One block of a chain by its (1-based) index, or null if the chain has no such block.
+     */
+    public Block getBlock(String complaintId, int blockIndex) {
+        if (daemon != null) {
+            return daemon.block(complaintId, blockIndex);
+        }
+        return ledgerStore.readBlock(complaintId, blockIndex);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ Error creating blockchain log: " + e.getMessage());
+    /**
+     * ✅ Header of one block (hashes, version, Merkle root) without its transactions, or null.
+     */
+    public Block getBlockHeader(String complaintId, int blockIndex) {
+        if (daemon != null) {
+            return daemon.blockHeader(complaintId, blockIndex);
+        }
+        return ledgerStore.readBlockHeader(complaintId, blockIndex);
+    }
+
+    /**
+     * ✅ Receipt for one transaction: its block, and the Merkle inclusion proof for batched blocks.
+     * Returns null if the transaction is not on the complaint's chain.
+     */
+    public LedgerReceipt getTransactionReceipt(String complaintId, String transactionId) {
+        if (daemon != null) {
+            return daemon.receipt(complaintId, transactionId);
         }
+        // Streamed: stops at the block that holds the transaction
+        for (Iterator<Block> blocks = ledgerStore.iterateBlocks(complaintId, 1); blocks.hasNext(); ) {
+            Block block = blocks.next();
+            List<Transaction> transactions = block.getTransactions();
+            for (int i = 0; i < transactions.size(); i++) {
+                Transaction t = transactions.get(i);
+                if (!transactionId.equals(t.getTransactionId())) continue;
+
+                LedgerReceipt receipt = new LedgerReceipt(
+                        complaintId, transactionId, block.getIndex(), block.getHash(), block.getTimestamp());
+                receipt.setTransaction(t);
+                if (block.getVersion() == Block.FORMAT_MERKLE) {
+                    receipt.setMerkleProof(MerkleTree.proof(transactions, i));
+                }
+                return receipt;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ✅ Checks a receipt against the ledger: the block it names must still carry the same hash, and
+     * the transaction must be included in it.
+     *
+     * Batched blocks are checked from their header alone: the hash covers the stored Merkle root,
+     * and the proof path leads from the transaction to that root, so the check is O(log n) and the
+     * block's transactions are never loaded.
+     */
+    public boolean verifyReceipt(LedgerReceipt receipt) {
+        if (receipt == null || receipt.getComplaintId() == null || receipt.getTransaction() == null) {
+            return false;
+        }
+        Block header = getBlockHeader(receipt.getComplaintId(), receipt.getBlockIndex());
+        if (header == null || !header.getHash().equals(receipt.getBlockHash())) {
+            return false;
+        }
+
+        String leafHash = MerkleTree.leafHash(receipt.getTransaction());
+        if (header.getVersion() == Block.FORMAT_MERKLE) {
+            MerkleProof proof = receipt.getMerkleProof();
+            return header.getHash().equals(header.calculateHash())
+                    && proof != null
+                    && leafHash.equals(proof.getLeafHash())
+                    && header.getMerkleRoot().equals(proof.getMerkleRoot())
+                    && proof.verify();
+        }
+        // Single-transaction block: the block hash covers the transaction directly, so load it (one transaction)
+        Block block = getBlock(receipt.getComplaintId(), receipt.getBlockIndex());
+        return block != null
+                && block.getHash().equals(block.calculateHash())
+                && block.getTransactions().size() == 1
+                && leafHash.equals(MerkleTree.leafHash(block.getTransactions().get(0)));
     }
 
-    // ✅ VERIFY INTEGRITY (The core logic)
+    // ✅ VERIFY INTEGRITY (kept for the single-complaint endpoint)
     public boolean verifyBlockchain(String complaintId) {
+        ChainVerificationResult result = verifyChain(complaintId);
+        if (result.isValid()) {
+            System.out.println("✅ Blockchain Integrity Verified for complaint " + complaintId + ": No tampering detected.");
+        } else {
+            System.err.println("❌ Blockchain check failed for complaint " + complaintId + ": " + result.getMessage());
+        }
+        return result.isValid();
+    }
+
+    /**
+     * ✅ Verifies one chain and reports where it failed (thread-safe, no console output).
+     *
+     * Incremental: only blocks after the chain's verified-up-to checkpoint are re-hashed, after
+     * confirming the checkpoint block itself still carries the checkpointed hash.
+     */
+    public ChainVerificationResult verifyChain(String complaintId) {
+        return verifyChain(complaintId, false);
+    }
+
+    /**
+     * ✅ Verifies one chain; {@code full} ignores the checkpoint and re-hashes every block.
+     *
+     * An in-place edit of a block before the checkpoint that leaves its stored hash alone is only
+     * caught by a full pass, which is why the background scrubber always verifies in full.
+     */
+    public ChainVerificationResult verifyChain(String complaintId, boolean full) {
+        if (daemon != null) {
+            return daemon.verify(complaintId, full); // checkpoints live with the daemon
+        }
         try {
-            File complaintFile = new File(LEDGER_FOLDER + "/" + complaintId + ".json");
-            if (!complaintFile.exists()) {
-                System.err.println("❌ No blockchain file found for complaint: " + complaintId);
-                return false;
+            int length = ledgerStore.chainLength(complaintId);
+            if (length == 0) {
+                return new ChainVerificationResult(complaintId, VerificationStatus.MISSING, 0, null,
+                        "No blockchain found for complaint");
             }
 
-            // 1. Load the chain from the JSON file
-            List<Block> chain = BlockchainUtils.loadComplaintChain(complaintFile);
+            // 1. Anchor at the checkpoint (if any) and load only the blocks after it
+            ChainTip checkpoint = full ? null : checkpoints.get(complaintId);
+            Block anchor = null;
+            if (checkpoint != null) {
+                if (checkpoint.getLastIndex() > length) {
+                    return new ChainVerificationResult(complaintId, VerificationStatus.BROKEN_LINK, 0, null,
+                            "Chain has " + length + " blocks but was verified up to Block #" + checkpoint.getLastIndex());
+                }
+                anchor = ledgerStore.readBlock(complaintId, checkpoint.getLastIndex());
+                if (anchor == null || !anchor.getHash().equals(checkpoint.getLastHash())
+                        || !anchor.getHash().equals(anchor.calculateHash()) || !MerkleTree.rootMatches(anchor)) {
+                    return new ChainVerificationResult(complaintId, VerificationStatus.TAMPERED, 1, checkpoint.getLastIndex(),
+                            "Block #" + checkpoint.getLastIndex() + " no longer matches its verified checkpoint");
+                }
+            }
+            // 2. Stream the remaining blocks in fixed windows: re-hash a window (in parallel when it is
+            //    large), check it in order, then drop it. Memory stays bounded and the first failure stops the scan.
+            Iterator<Block> blocks = ledgerStore.iterateBlocks(complaintId, anchor == null ? 1 : anchor.getIndex() + 1);
+            List<Block> window = new ArrayList<>(VERIFY_WINDOW);
+            Block previousBlock = anchor;
+            int checked = anchor == null ? 0 : 1;
 
-            System.out.println("🔍 Verifying chain for Complaint " + complaintId + " (" + chain.size() + " blocks)...");
+            while (blocks.hasNext()) {
+                window.clear();
+                while (blocks.hasNext() && window.size() < VERIFY_WINDOW) {
+                    window.add(blocks.next());
+                }
+                String[] recalculated = recalculateHashes(window);
 
-            // 2. Loop through every block to check integrity
-            for (int i = 0; i < chain.size(); i++) {
-                Block currentBlock = chain.get(i);
+                // 3. Sequential checks in chain order
+                for (int i = 0; i < window.size(); i++) {
+                    Block currentBlock = window.get(i);
+                    checked++;
 
-                // --- CHECK A: DATA TAMPERING ---
-                // We recalculate the hash based on the *current* data in the object.
-                // If the file was edited, 'currentBlock' has the new data, so calculateHash() returns a NEW hash.
-                // We compare it to the 'hash' field loaded from the file (which is the OLD hash).
-                String recalculatedHash = currentBlock.calculateHash();
+                    // --- CHECK A: DATA TAMPERING ---
+                    // We recalculate the hash based on the *current* data in the object.
+                    // If the ledger was edited, 'currentBlock' has the new data, so calculateHash() returns a NEW hash.
+                    // We compare it to the stored 'hash' field (which is the OLD hash).
+                    if (!currentBlock.getHash().equals(recalculated[i])) {
+                        return new ChainVerificationResult(complaintId, VerificationStatus.TAMPERED, checked, currentBlock.getIndex(),
+                                "Data tampering detected. Stored hash " + currentBlock.getHash() + ", calculated " + recalculated[i]);
+                    }
 
-                if (!currentBlock.getHash().equals(recalculatedHash)) {
-                    System.err.println("❌ SECURITY ALERT: Data tampering detected at Block #" + currentBlock.getIndex());
-                    System.err.println("   Stored Hash:      " + currentBlock.getHash());
-                    System.err.println("   Calculated Hash:  " + recalculatedHash);
-                    return false;
-                }
+                    // --- CHECK A2: MERKLE ROOT (batched blocks) ---
+                    // The hash of a batched block covers its stored root; this binds the transactions to it.
+                    if (!MerkleTree.rootMatches(currentBlock)) {
+                        return new ChainVerificationResult(complaintId, VerificationStatus.MERKLE_MISMATCH, checked, currentBlock.getIndex(),
+                                "Merkle root does not match the block's transactions");
+                    }
 
-                // --- CHECK B: CHAIN LINKAGE ---
-                // Check if this block points to the correct previous block
-                if (i > 0) {
-                    Block previousBlock = chain.get(i - 1);
-                    if (!currentBlock.getPreviousHash().equals(previousBlock.getHash())) {
-                        System.err.println("❌ CHAIN BROKEN: Block #" + currentBlock.getIndex() +
-                                " does not point to Block #" + previousBlock.getIndex());
-                        System.err.println("   Current.PreviousHash: " + currentBlock.getPreviousHash());
-                        System.err.println("   Previous.Hash:        " + previousBlock.getHash());
-                        return false;
+                    // --- CHECK B: CHAIN LINKAGE ---
+                    // Check if this block points to the correct previous block (the anchor for the first new block)
+                    if (previousBlock != null && !currentBlock.getPreviousHash().equals(previousBlock.getHash())) {
+                        return new ChainVerificationResult(complaintId, VerificationStatus.BROKEN_LINK, checked, currentBlock.getIndex(),
+                                "Block #" + currentBlock.getIndex() + " does not point to Block #" + previousBlock.getIndex());
                     }
+                    previousBlock = currentBlock;
                 }
             }
 
-            System.out.println("✅ Blockchain Integrity Verified: No tampering detected.");
-            return true;
+            // 4. Move the checkpoint forward to the last verified block
+            if (previousBlock != anchor) {
+                checkpoints.update(complaintId, previousBlock);
+            }
+            return ChainVerificationResult.valid(complaintId, checked);
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ Error verifying blockchain: " + e.getMessage());
-            return false;
+            return new ChainVerificationResult(complaintId, VerificationStatus.ERROR, 0, null,
+                    "Error verifying blockchain: " + e.getMessage());
+        }
+    }
+
+    private static String[] recalculateHashes(List<Block> blocks) {
+        String[] hashes = new String[blocks.size()];
+        IntStream range = IntStream.range(0, blocks.size());
+        if (blocks.size() >= PARALLEL_REHASH_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> hashes[i] = blocks.get(i).calculateHash());
+        return hashes;
+    }
+
+    /**
+     * ✅ Moves the given chains into a compressed archive pack if their last block is older than
+     * {@code minIdle}. Reads and verification keep working on archived chains.
+     */
+    public ArchiveReport archiveChains(Collection<String> complaintIds, Duration minIdle) {
+        if (daemon != null) {
+            return daemon.archive(complaintIds, minIdle);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(minIdle);
+        List<String> eligible = new ArrayList<>();
+        for (String complaintId : complaintIds) {
+            if (ledgerStore.unarchivedBlockCount(complaintId) == 0) continue;
+            Block last = ledgerStore.readLastBlock(complaintId);
+            if (last != null && last.getTimestamp() != null && last.getTimestamp().isBefore(cutoff)) {
+                eligible.add(complaintId);
+            }
+        }
+        ArchiveReport report = ledgerStore.archiveChains(eligible);
+        if (report.getChainsArchived() > 0) {
+            System.out.println("🗄️ Archived " + report.getChainsArchived() + " chains (" + report.getBlocksArchived()
+                    + " blocks). Segments: " + report.getSegmentBytesBefore() + " -> " + report.getSegmentBytesAfter()
+                    + " bytes, archive: " + report.getArchiveBytes() + " bytes");
+        }
+        return report;
+    }
+
+    /**
+     * ✅ Registers a callback for every committed batch of blocks (e.g. secondary indexes).
+     */
+    public void addCommitListener(LedgerCommitListener listener) {
+        if (daemon != null) {
+            daemon.addCommitListener(listener);
+            return;
+        }
+        ledgerWriter.addCommitListener(listener);
+    }
+
+    /**
+     * ✅ Streams the blocks of a chain in order, one block in memory at a time.
+     */
+    public Iterator<Block> iterateChain(String complaintId) {
+        return iterateChain(complaintId, 1);
+    }
+
+    /**
+     * ✅ Streams the blocks of a chain from a (1-based) block index.
+     */
+    public Iterator<Block> iterateChain(String complaintId, int fromIndex) {
+        if (daemon != null) {
+            return daemon.iterate(complaintId, fromIndex);
+        }
+        return ledgerStore.iterateBlocks(complaintId, fromIndex);
+    }
+
+    /**
+     * ✅ IDs of every complaint that has a chain.
+     */
+    public Set<String> getChainIds() {
+        if (daemon != null) {
+            return daemon.chainIds();
         }
+        return ledgerStore.chainIds();
     }
-}
\ No newline at end of file
+}
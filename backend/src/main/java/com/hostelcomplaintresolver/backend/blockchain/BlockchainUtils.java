@@ -1,43 +1,44 @@
 package com.hostelcomplaintresolver.backend.blockchain;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-
-import java.io.File;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 
 public class BlockchainUtils {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
-
     /**
-     * ✅ Loads the blockchain (list of blocks) from a JSON file for a complaint.
+     * ✅ Makes a rename inside {@code directory} durable (no-op where directories cannot be opened, e.g. Windows).
      */
-    public static synchronized List<Block> loadComplaintChain(File complaintFile) {
-        try {
-            if (!complaintFile.exists()) {
-                return new ArrayList<>();
-            }
-            Block[] blocks = objectMapper.readValue(complaintFile, Block[].class);
-            return new ArrayList<>(Arrays.asList(blocks));
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Error reading complaint blockchain file: " + complaintFile.getName(), e);
+    public static void forceDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // best effort
         }
     }
 
     /**
-     * ✅ Saves the updated blockchain (list of blocks) to the JSON file.
+     * ✅ SHA-256 over the concatenation of the given byte arrays.
      */
-    public static synchronized void saveComplaintChain(File complaintFile, List<Block> chain) {
-        try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(complaintFile, chain);
-            System.out.println("🧾 Blockchain file updated: " + complaintFile.getName());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Error saving blockchain file: " + complaintFile.getName(), e);
+    public static byte[] sha256(byte[]... parts) {
+        MessageDigest digest = BlockHasher.digest(); // per-thread instance, no provider lookup
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+
+    public static String toHex(byte[] bytes) {
+        return BlockHasher.toHex(bytes);
+    }
+
+    public static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ((Character.digit(hex.charAt(2 * i), 16) << 4) | Character.digit(hex.charAt(2 * i + 1), 16));
         }
+        return bytes;
     }
 }
@@ -0,0 +1,72 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ Verifies many complaint chains at once on a dedicated fork-join pool.
+ *
+ * The pool is separate from the common pool, so a full-ledger audit never competes with
+ * parallel streams used elsewhere in the application.
+ */
+@Service
+public class BulkVerificationService {
+
+    private final BlockchainService blockchainService;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public BulkVerificationService(BlockchainService blockchainService,
+                                   @Value("${ledger.verify.parallelism:0}") int parallelism) {
+        this.blockchainService = blockchainService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * ✅ Verifies every chain in the ledger.
+     */
+    public VerificationReport verifyAll() {
+        return verify(new ArrayList<>(blockchainService.getChainIds()));
+    }
+
+    /**
+     * ✅ Verifies the given chains in parallel; unknown IDs are reported as MISSING.
+     */
+    public VerificationReport verify(Collection<String> complaintIds) {
+        long start = System.currentTimeMillis();
+        VerificationReport report = new VerificationReport(LocalDateTime.now());
+
+        List<ChainVerificationResult> results;
+        try {
+            results = pool.submit(() -> complaintIds.parallelStream()
+                    .distinct()
+                    .map(blockchainService::verifyChain)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Bulk verification failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        results.forEach(report::add);
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ One entry of the global anchor chain: a Merkle root over the chain tips that changed in one epoch.
+ *
+ * hash = SHA-256(epoch|previousHash|merkleRoot|leafCount|createdAt), and every anchor links to the
+ * previous one, so the anchor chain itself is tamper-evident. {@code leaves} is only loaded when an
+ * anchor is read in full (verification, proofs).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChainAnchor {
+    private long epoch;
+    private LocalDateTime createdAt;
+    private String previousHash;
+    private String merkleRoot;
+    private String hash;
+    private int leafCount;
+    private List<Leaf> leaves;
+
+    public ChainAnchor() {}
+
+    public ChainAnchor(long epoch, LocalDateTime createdAt, String previousHash, List<Leaf> leaves) {
+        this.epoch = epoch;
+        this.createdAt = createdAt;
+        this.previousHash = previousHash;
+        this.leaves = leaves;
+        this.leafCount = leaves.size();
+        this.merkleRoot = MerkleTree.rootOfLeaves(leafHashes(leaves));
+        this.hash = calculateHash();
+    }
+
+    public String calculateHash() {
+        String header = epoch + "|" + previousHash + "|" + merkleRoot + "|" + leafCount + "|" + createdAt;
+        return BlockchainUtils.toHex(BlockchainUtils.sha256(header.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static List<String> leafHashes(List<Leaf> leaves) {
+        List<String> hashes = new ArrayList<>(leaves.size());
+        for (Leaf leaf : leaves) {
+            hashes.add(leaf.leafHash());
+        }
+        return hashes;
+    }
+
+    // Getters and Setters
+    public long getEpoch() { return epoch; }
+    public void setEpoch(long epoch) { this.epoch = epoch; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public String getPreviousHash() { return previousHash; }
+    public void setPreviousHash(String previousHash) { this.previousHash = previousHash; }
+
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public int getLeafCount() { return leafCount; }
+    public void setLeafCount(int leafCount) { this.leafCount = leafCount; }
+
+    public List<Leaf> getLeaves() { return leaves; }
+    public void setLeaves(List<Leaf> leaves) { this.leaves = leaves; }
+
+    /**
+     * A chain tip as anchored: the chain had block {@code blockIndex} with hash {@code blockHash}.
+     */
+    public static class Leaf {
+        private static final byte[] TIP_PREFIX = {0x02};
+
+        private String complaintId;
+        private int blockIndex;
+        private String blockHash;
+
+        public Leaf() {}
+
+        public Leaf(String complaintId, int blockIndex, String blockHash) {
+            this.complaintId = complaintId;
+            this.blockIndex = blockIndex;
+            this.blockHash = blockHash;
+        }
+
+        public String leafHash() {
+            String fields = complaintId + "\u001f" + blockIndex + "\u001f" + blockHash;
+            return BlockchainUtils.toHex(BlockchainUtils.sha256(TIP_PREFIX, fields.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        public String getComplaintId() { return complaintId; }
+        public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+        public int getBlockIndex() { return blockIndex; }
+        public void setBlockIndex(int blockIndex) { this.blockIndex = blockIndex; }
+
+        public String getBlockHash() { return blockHash; }
+        public void setBlockHash(String blockHash) { this.blockHash = blockHash; }
+    }
+}
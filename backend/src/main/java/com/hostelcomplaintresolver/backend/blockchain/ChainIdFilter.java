@@ -0,0 +1,81 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ✅ Bloom filter over the complaint IDs that have a chain.
+ *
+ * {@link #mightContain} never says "no" for an ID that was added, and says "yes" for an unknown ID
+ * with probability {@code falsePositiveRate} (while at most {@code capacity} IDs are in it).
+ * Lookups are lock-free; bits are set with CAS, so a concurrent lookup never misses a finished add.
+ */
+public class ChainIdFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int size;
+
+    public ChainIdFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long m = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    public static ChainIdFilter of(Collection<String> complaintIds, int minCapacity, double falsePositiveRate) {
+        ChainIdFilter filter = new ChainIdFilter(Math.max(minCapacity, complaintIds.size() * 2), falsePositiveRate);
+        complaintIds.forEach(filter::add);
+        return filter;
+    }
+
+    public boolean mightContain(String complaintId) {
+        long hash = hash64(complaintId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void add(String complaintId) {
+        long hash = hash64(complaintId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (current, m) -> current | m);
+        }
+        size++;
+    }
+
+    /**
+     * ✅ True once more IDs were added than the filter was sized for (the false-positive rate is rising).
+     */
+    public synchronized boolean isSaturated() {
+        return size > capacity;
+    }
+
+    // FNV-1a over the UTF-16 chars, then a murmur3 finalizer to spread the bits
+    private static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
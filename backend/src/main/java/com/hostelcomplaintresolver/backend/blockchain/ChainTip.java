@@ -0,0 +1,23 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * ✅ Newest block of a complaint chain: what an append needs to link the next block.
+ */
+public class ChainTip {
+    private final String complaintId;
+    private final int lastIndex;
+    private final String lastHash;
+    private final long lastPosition;
+
+    public ChainTip(String complaintId, int lastIndex, String lastHash, long lastPosition) {
+        this.complaintId = complaintId;
+        this.lastIndex = lastIndex;
+        this.lastHash = lastHash;
+        this.lastPosition = lastPosition;
+    }
+
+    public String getComplaintId() { return complaintId; }
+    public int getLastIndex() { return lastIndex; }
+    public String getLastHash() { return lastHash; }
+    public long getLastPosition() { return lastPosition; }
+}
@@ -0,0 +1,211 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * ✅ Persistent chain-tip index: complaintId -> last block index, hash and record position.
+ *
+ * Lives in a memory-mapped file of fixed 128-byte records, so it survives restarts without
+ * scanning any chain. Each record carries a CRC32; a record torn by a crash is detected on load
+ * and rebuilt by the segment store. Lookups are served from an in-memory map of immutable
+ * {@link ChainTip}s, so a reader never sees a half-updated tip.
+ *
+ * Record layout: [int used][short idLen][40 bytes id][int lastIndex][long lastPosition]
+ *                [byte hashLen][64 bytes hash][int crc32] (padded to 128)
+ */
+public class ChainTipIndex implements Closeable {
+
+    private static final int MAGIC = 0x54495053; // "TIPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 128;
+    private static final int MAX_ID_BYTES = 40;
+    private static final int MAX_HASH_BYTES = 64;
+    private static final int CRC_OFFSET = 4 + 2 + MAX_ID_BYTES + 4 + 8 + 1 + MAX_HASH_BYTES;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final FileChannel channel;
+    private final Map<String, ChainTip> tips = new ConcurrentHashMap<>();
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int usedSlots;
+
+    public ChainTipIndex(Path file) {
+        try {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() < HEADER_SIZE) {
+                map(INITIAL_CAPACITY);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putInt(12, 0);
+            } else {
+                map((int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE));
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(8) != RECORD_SIZE) {
+                    throw new IOException("Not a chain-tip index file: " + file);
+                }
+                load();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening chain-tip index: " + file, e);
+        }
+    }
+
+    public ChainTip get(String complaintId) {
+        return tips.get(complaintId);
+    }
+
+    public Collection<ChainTip> all() {
+        return Collections.unmodifiableCollection(tips.values());
+    }
+
+    /**
+     * ✅ Throws if a tip with this complaint ID and hash could not be stored (checked before the block is written).
+     */
+    public static void checkFits(String complaintId, String hash) {
+        if (complaintId.getBytes(StandardCharsets.UTF_8).length > MAX_ID_BYTES
+                || hash.getBytes(StandardCharsets.US_ASCII).length > MAX_HASH_BYTES) {
+            throw new IllegalArgumentException("Chain tip does not fit an index record: " + complaintId);
+        }
+    }
+
+    /**
+     * ✅ Replaces the tip of a chain (in memory and in its mapped record).
+     */
+    public synchronized void update(ChainTip tip) {
+        checkFits(tip.getComplaintId(), tip.getLastHash());
+        byte[] id = tip.getComplaintId().getBytes(StandardCharsets.UTF_8);
+        byte[] hash = tip.getLastHash().getBytes(StandardCharsets.US_ASCII);
+
+        Integer slot = slots.get(tip.getComplaintId());
+        if (slot == null) {
+            slot = allocateSlot();
+            slots.put(tip.getComplaintId(), slot);
+        }
+
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer r = ByteBuffer.wrap(record);
+        r.putInt(1);
+        r.putShort((short) id.length);
+        r.put(id);
+        r.position(4 + 2 + MAX_ID_BYTES);
+        r.putInt(tip.getLastIndex());
+        r.putLong(tip.getLastPosition());
+        r.put((byte) hash.length);
+        r.put(hash);
+        r.putInt(CRC_OFFSET, crc(record));
+
+        buffer.put(recordOffset(slot), record);
+        tips.put(tip.getComplaintId(), tip);
+    }
+
+    /**
+     * ✅ Forgets the tip of a chain and frees its record slot.
+     */
+    public synchronized void remove(String complaintId) {
+        Integer slot = slots.remove(complaintId);
+        if (slot != null) {
+            buffer.put(recordOffset(slot), new byte[RECORD_SIZE]);
+            freeSlots.add(slot);
+        }
+        tips.remove(complaintId);
+    }
+
+    /**
+     * ✅ Flushes dirty pages of the mapped file to disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    private void load() {
+        usedSlots = buffer.getInt(12);
+        int torn = 0;
+        for (int slot = 0; slot < usedSlots; slot++) {
+            byte[] record = new byte[RECORD_SIZE];
+            buffer.get(recordOffset(slot), record);
+            ByteBuffer r = ByteBuffer.wrap(record);
+
+            if (r.getInt(0) == 0) {
+                freeSlots.add(slot); // removed tip
+                continue;
+            }
+            if (r.getInt(0) != 1 || r.getInt(CRC_OFFSET) != crc(record)) {
+                freeSlots.add(slot); // torn / never completed -> the store re-derives the tip
+                torn++;
+                continue;
+            }
+            int idLength = r.getShort(4);
+            String complaintId = new String(record, 6, idLength, StandardCharsets.UTF_8);
+            int lastIndex = r.getInt(6 + MAX_ID_BYTES);
+            long lastPosition = r.getLong(10 + MAX_ID_BYTES);
+            int hashLength = record[18 + MAX_ID_BYTES];
+            String lastHash = new String(record, 19 + MAX_ID_BYTES, hashLength, StandardCharsets.US_ASCII);
+
+            tips.put(complaintId, new ChainTip(complaintId, lastIndex, lastHash, lastPosition));
+            slots.put(complaintId, slot);
+        }
+        if (torn > 0) {
+            System.err.println("⚠️ Ignored " + torn + " torn chain-tip records.");
+        }
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        if (usedSlots == capacity) {
+            try {
+                map(capacity * 2);
+            } catch (IOException e) {
+                throw new RuntimeException("Error growing chain-tip index", e);
+            }
+        }
+        int slot = usedSlots++;
+        buffer.putInt(12, usedSlots);
+        return slot;
+    }
+
+    private void map(int newCapacity) throws IOException {
+        capacity = Math.max(newCapacity, INITIAL_CAPACITY);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+
+    private static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private static int crc(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CRC_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("❌ Error closing chain-tip index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * ✅ Outcome of verifying one complaint chain.
+ */
+public class ChainVerificationResult {
+    private String complaintId;
+    private VerificationStatus status;
+    private int blocksChecked;
+    private Integer failedBlockIndex; // null when the chain is valid
+    private String message;
+
+    public ChainVerificationResult() {}
+
+    public ChainVerificationResult(String complaintId, VerificationStatus status, int blocksChecked,
+                                   Integer failedBlockIndex, String message) {
+        this.complaintId = complaintId;
+        this.status = status;
+        this.blocksChecked = blocksChecked;
+        this.failedBlockIndex = failedBlockIndex;
+        this.message = message;
+    }
+
+    public static ChainVerificationResult valid(String complaintId, int blocksChecked) {
+        return new ChainVerificationResult(complaintId, VerificationStatus.VALID, blocksChecked, null, null);
+    }
+
+    public boolean isValid() {
+        return status == VerificationStatus.VALID;
+    }
+
+    // Getters and Setters
+    public String getComplaintId() { return complaintId; }
+    public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+    public VerificationStatus getStatus() { return status; }
+    public void setStatus(VerificationStatus status) { this.status = status; }
+
+    public int getBlocksChecked() { return blocksChecked; }
+    public void setBlocksChecked(int blocksChecked) { this.blocksChecked = blocksChecked; }
+
+    public Integer getFailedBlockIndex() { return failedBlockIndex; }
+    public void setFailedBlockIndex(Integer failedBlockIndex) { this.failedBlockIndex = failedBlockIndex; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,288 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ Ledger store backed by the application database (table {@code ledger_block}).
+ *
+ * One row per block, keyed by {@code (complaint_id, block_index)}, with the hash chain
+ * ({@code previous_hash}, {@code hash}, {@code merkle_root}) in columns and the full block as a
+ * {@link LedgerRecordCodec} body, so reads and verification decode exactly what the segment store
+ * would. A batch is one transaction of batched inserts, which lets the ledger share the database's
+ * backups and replication instead of a local folder.
+ *
+ * The table is created by the Flyway migrations ({@code db/migration}), like the rest of the schema.
+ *
+ * Tips are cached per process. If another process appended to the same chain, the stale tip makes
+ * the insert collide on the primary key and the batch's transaction rolls back. The tips of its
+ * chains are then re-read: chains that still link are inserted again, and only the appends of the
+ * chains that moved fail ({@link LedgerConflictException}). Their next append links to the real tip.
+ */
+public class JdbcLedgerStore implements LedgerStore {
+
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    private static final String INSERT_BLOCK = "INSERT INTO ledger_block"
+            + " (complaint_id, block_index, format_version, previous_hash, hash, merkle_root, created_at, body)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_TIP = "SELECT complaint_id, block_index, hash FROM ledger_block"
+            + " WHERE complaint_id = ? ORDER BY block_index DESC LIMIT 1";
+
+    private static final String SELECT_BLOCK = "SELECT body FROM ledger_block WHERE complaint_id = ? AND block_index = ?";
+
+    private static final String SELECT_PAGE = "SELECT body FROM ledger_block"
+            + " WHERE complaint_id = ? AND block_index BETWEEN ? AND ? ORDER BY block_index LIMIT " + PAGE_SIZE;
+
+    private static final RowMapper<Block> BLOCK_MAPPER = (rs, row) -> LedgerRecordCodec.decodeBody(rs.getBytes("body"));
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final Map<String, ChainTip> tips = new ConcurrentHashMap<>();
+
+    public JdbcLedgerStore(DataSource dataSource) {
+        this(new JdbcTemplate(dataSource), new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    JdbcLedgerStore(JdbcTemplate jdbc, TransactionTemplate transactions) {
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+    }
+
+    // ---------------- WRITE PATH ----------------
+
+    /**
+     * ✅ Inserts the batch with one JDBC batch in one transaction. Durability on commit is the
+     * database's (InnoDB flushes its redo log per commit by default), so {@code sync} changes nothing.
+     *
+     * @throws LedgerConflictException if chains were extended by another process; every other
+     *         chain of the batch has been written
+     */
+    @Override
+    public void appendAll(List<Append> appends, boolean sync) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        Set<String> conflicting = new LinkedHashSet<>();
+        List<Append> remaining = appends;
+        for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+            try {
+                insertBatch(remaining);
+                break;
+            } catch (DuplicateKeyException e) {
+                // Another process extended some of these chains: keep the ones that still link and retry
+                Set<String> moved = attempt < MAX_CONFLICT_RETRIES ? findConflicts(remaining) : Set.of();
+                if (moved.isEmpty()) {
+                    moved = chainsOf(remaining); // the collision could not be pinned down (or keeps recurring)
+                    moved.forEach(tips::remove);
+                }
+                conflicting.addAll(moved);
+                List<Append> retry = new ArrayList<>(remaining.size());
+                for (Append append : remaining) {
+                    if (!conflicting.contains(append.getComplaintId())) {
+                        retry.add(append);
+                    }
+                }
+                remaining = retry;
+            }
+        }
+
+        for (Append append : appends) {
+            if (conflicting.contains(append.getComplaintId())) continue;
+            Block block = append.getBlock();
+            tips.put(append.getComplaintId(), new ChainTip(append.getComplaintId(), block.getIndex(), block.getHash(), -1));
+        }
+        if (!conflicting.isEmpty()) {
+            throw new LedgerConflictException(conflicting);
+        }
+    }
+
+    // One JDBC batch in one transaction: all rows or none
+    private void insertBatch(List<Append> appends) {
+        byte[][] bodies = new byte[appends.size()][];
+        for (int i = 0; i < bodies.length; i++) {
+            byte[] record = LedgerRecordCodec.encode(appends.get(i).getComplaintId(), appends.get(i).getBlock());
+            bodies[i] = Arrays.copyOfRange(record, LedgerRecordCodec.HEADER_SIZE, record.length);
+        }
+
+        transactions.executeWithoutResult(status -> jdbc.batchUpdate(INSERT_BLOCK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Append append = appends.get(i);
+                Block block = append.getBlock();
+                ps.setString(1, append.getComplaintId());
+                ps.setInt(2, block.getIndex());
+                ps.setInt(3, block.getVersion());
+                ps.setString(4, block.getPreviousHash());
+                ps.setString(5, block.getHash());
+                if (block.getMerkleRoot() == null) {
+                    ps.setNull(6, Types.VARCHAR);
+                } else {
+                    ps.setString(6, block.getMerkleRoot());
+                }
+                ps.setTimestamp(7, Timestamp.valueOf(block.getTimestamp()));
+                ps.setBytes(8, bodies[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return bodies.length;
+            }
+        }));
+    }
+
+    // Chains whose first block in the batch no longer links to their tip in the database
+    private Set<String> findConflicts(List<Append> appends) {
+        Set<String> conflicts = new LinkedHashSet<>();
+        Set<String> checked = new HashSet<>();
+        for (Append append : appends) {
+            String complaintId = append.getComplaintId();
+            if (!checked.add(complaintId)) continue;
+            tips.remove(complaintId); // the cached tip may be stale; tip() re-reads and caches the real one
+            ChainTip actual = tip(complaintId);
+            Block first = append.getBlock();
+            boolean links = actual == null
+                    ? first.getIndex() == 1
+                    : actual.getLastIndex() == first.getIndex() - 1 && actual.getLastHash().equals(first.getPreviousHash());
+            if (!links) {
+                conflicts.add(complaintId);
+            }
+        }
+        return conflicts;
+    }
+
+    private static Set<String> chainsOf(List<Append> appends) {
+        Set<String> chains = new LinkedHashSet<>();
+        for (Append append : appends) {
+            chains.add(append.getComplaintId());
+        }
+        return chains;
+    }
+
+    @Override
+    public void force() {
+        // every batch is committed when appendAll returns
+    }
+
+    // ---------------- READ PATH ----------------
+
+    @Override
+    public ChainTip tip(String complaintId) {
+        ChainTip cached = tips.get(complaintId);
+        if (cached != null) {
+            return cached;
+        }
+        List<ChainTip> rows = jdbc.query(SELECT_TIP, (rs, row) ->
+                new ChainTip(rs.getString("complaint_id"), rs.getInt("block_index"), rs.getString("hash"), -1), complaintId);
+        if (rows.isEmpty()) {
+            return null; // not cached: the chain may be created by another process
+        }
+        tips.putIfAbsent(complaintId, rows.get(0));
+        return rows.get(0);
+    }
+
+    @Override
+    public int chainLength(String complaintId) {
+        ChainTip tip = tip(complaintId);
+        return tip == null ? 0 : tip.getLastIndex();
+    }
+
+    @Override
+    public Set<String> chainIds() {
+        // DISTINCT over the leading primary key column: an index scan, no table rows are read
+        return Collections.unmodifiableSet(new HashSet<>(
+                jdbc.queryForList("SELECT DISTINCT complaint_id FROM ledger_block", String.class)));
+    }
+
+    @Override
+    public Block readBlock(String complaintId, int blockIndex) {
+        List<Block> rows = jdbc.query(SELECT_BLOCK, BLOCK_MAPPER, complaintId, blockIndex);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public Block readBlockHeader(String complaintId, int blockIndex) {
+        List<Block> rows = jdbc.query(SELECT_BLOCK, (rs, row) -> LedgerRecordCodec.decodeHeader(rs.getBytes("body")),
+                complaintId, blockIndex);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * ✅ Keyset-paged scan: one query per {@value #PAGE_SIZE} blocks, bounded by the tip at call time.
+     */
+    @Override
+    public Iterator<Block> iterateBlocks(String complaintId, int fromIndex) {
+        int lastIndex = chainLength(complaintId);
+
+        return new Iterator<>() {
+            private Iterator<Block> page = Collections.emptyIterator();
+            private int nextIndex = Math.max(1, fromIndex);
+
+            @Override
+            public boolean hasNext() {
+                if (!page.hasNext() && nextIndex <= lastIndex) {
+                    List<Block> blocks = jdbc.query(SELECT_PAGE, BLOCK_MAPPER, complaintId, nextIndex, lastIndex);
+                    if (blocks.isEmpty()) {
+                        nextIndex = lastIndex + 1;
+                    } else {
+                        nextIndex = blocks.get(blocks.size() - 1).getIndex() + 1;
+                    }
+                    page = blocks.iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public Block next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+
+    // ---------------- ARCHIVING ----------------
+
+    /**
+     * Cold storage is the database's business here: nothing is ever archivable.
+     */
+    @Override
+    public int unarchivedBlockCount(String complaintId) {
+        return 0;
+    }
+
+    @Override
+    public ArchiveReport archiveChains(Collection<String> complaintIds) {
+        return new ArchiveReport();
+    }
+
+    @Override
+    public void close() {
+        tips.clear(); // the connection pool belongs to the application
+    }
+}
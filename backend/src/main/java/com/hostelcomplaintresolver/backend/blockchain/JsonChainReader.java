@@ -0,0 +1,130 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ✅ Streaming reader for a legacy {@code <complaintId>.json} chain.
+ *
+ * Walks the top-level array with the Jackson token stream and binds one block at a time, so a
+ * chain is never held in memory as a whole. Every block is capped at {@link #MAX_BLOCK_BYTES}
+ * (the same cap as a segment record) and strings / nesting are bounded by stream constraints,
+ * so a huge or malicious file fails fast instead of exhausting the heap.
+ */
+public class JsonChainReader implements Iterator<Block>, Closeable {
+
+    public static final int MAX_BLOCK_BYTES = 16 * 1024 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper(JsonFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder()
+                    .maxStringLength(MAX_BLOCK_BYTES)
+                    .maxNestingDepth(16)
+                    .build())
+            .build())
+            .registerModule(new JavaTimeModule());
+
+    private final String name;
+    private final BoundedInputStream input;
+    private final JsonParser parser;
+    private Block next;
+    private boolean done;
+
+    public JsonChainReader(File file) throws IOException {
+        this.name = file.getName();
+        this.input = new BoundedInputStream(new FileInputStream(file));
+        this.parser = objectMapper.getFactory().createParser(input);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            close();
+            throw new IOException("Ledger file is not a JSON array of blocks: " + name);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        if (done) return false;
+        try {
+            input.startBlock();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                done = true;
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected " + token + " in ledger file " + name);
+            }
+            next = objectMapper.readValue(parser, Block.class);
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading complaint blockchain file: " + name, e);
+        }
+    }
+
+    @Override
+    public Block next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Block block = next;
+        next = null;
+        return block;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        parser.close();
+        input.close();
+    }
+
+    /**
+     * Fails once more than MAX_BLOCK_BYTES are read for one block (plus the parser's read-ahead).
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private static final int READ_AHEAD = 64 * 1024;
+        private long remaining = MAX_BLOCK_BYTES + READ_AHEAD;
+
+        BoundedInputStream(InputStream in) {
+            super(in);
+        }
+
+        void startBlock() {
+            remaining = MAX_BLOCK_BYTES + READ_AHEAD;
+        }
+
+        @Override
+        public int read() throws IOException {
+            check(1);
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            check(len);
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        private void check(int wanted) throws IOException {
+            if (remaining <= 0 && wanted > 0) {
+                throw new IOException("Ledger block exceeds " + MAX_BLOCK_BYTES + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * ✅ Read-only archive of cold chains, stored as compressed pack files.
+ *
+ * A pack holds one deflated run of ledger records per chain, followed by a footer index
+ * (complaintId, block range, last hash, offset, sizes, CRC32 of the compressed bytes). Packs are
+ * written to a temp file, fsynced and atomically renamed, so a crash leaves either a complete pack or
+ * none; they are never modified afterwards. On startup only the footers are read.
+ *
+ * A chain can have several archived runs (e.g. it was reopened and archived again); runs are
+ * contiguous and ordered by block index.
+ *
+ * Pack layout: [int MAGIC][int VERSION] [deflated records]... [footer] [long footerOffset][int footerCrc][int MAGIC]
+ */
+public class LedgerArchive implements Closeable {
+
+    private static final int MAGIC = 0x4c50414b; // "LPAK"
+    private static final int VERSION = 1;
+    private static final int TRAILER_SIZE = 16;
+    private static final String PACK_PREFIX = "pack-";
+    private static final String PACK_SUFFIX = ".pack";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final Map<String, List<PackEntry>> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> packs = new ConcurrentHashMap<>();
+    private int nextPackNo = 1;
+
+    public LedgerArchive(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        Files.delete(file); // pack that was never committed
+                    } else if (name.startsWith(PACK_PREFIX) && name.endsWith(PACK_SUFFIX)) {
+                        int packNo = Integer.parseInt(name.substring(PACK_PREFIX.length(), name.length() - PACK_SUFFIX.length()));
+                        nextPackNo = Math.max(nextPackNo, packNo + 1);
+                        loadFooter(packNo);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening ledger archive: " + directory, e);
+        }
+    }
+
+    public boolean contains(String complaintId) {
+        return entries.containsKey(complaintId);
+    }
+
+    public Set<String> chainIds() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * ✅ Number of archived blocks of a chain (archived runs always start at block 1).
+     */
+    public int archivedLength(String complaintId) {
+        List<PackEntry> runs = entries.get(complaintId);
+        return runs == null ? 0 : runs.get(runs.size() - 1).lastIndex;
+    }
+
+    /**
+     * ✅ Last archived block index / hash of a chain, or null.
+     */
+    public ChainTip tip(String complaintId) {
+        List<PackEntry> runs = entries.get(complaintId);
+        if (runs == null) {
+            return null;
+        }
+        PackEntry last = runs.get(runs.size() - 1);
+        return new ChainTip(complaintId, last.lastIndex, last.lastHash, -1);
+    }
+
+    /**
+     * ✅ Streams archived blocks of a chain with index in [fromIndex, toIndex], inflating one run at a time.
+     * The CRC of each run is checked once the run has been read to its end.
+     */
+    public Iterator<Block> iterateBlocks(String complaintId, int fromIndex, int toIndex) {
+        List<PackEntry> runs = entries.getOrDefault(complaintId, List.of());
+        return new Iterator<>() {
+            private final Iterator<PackEntry> pending = runs.iterator();
+            private RunReader current;
+            private Block next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null) {
+                        if (current != null) {
+                            byte[] body = current.nextBody();
+                            if (body != null) {
+                                Block block = LedgerRecordCodec.decodeBody(body);
+                                if (block.getIndex() > toIndex) {
+                                    current = null;
+                                    return false;
+                                }
+                                if (block.getIndex() >= fromIndex) {
+                                    next = block;
+                                }
+                                continue;
+                            }
+                            current = null;
+                        }
+                        if (!pending.hasNext()) {
+                            return false;
+                        }
+                        PackEntry entry = pending.next();
+                        if (entry.lastIndex >= fromIndex && entry.firstIndex <= toIndex) {
+                            current = new RunReader(entry);
+                        }
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new RuntimeException("Error reading archived chain " + complaintId, e);
+                }
+            }
+
+            @Override
+            public Block next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Block block = next;
+                next = null;
+                return block;
+            }
+        };
+    }
+
+    /**
+     * ✅ Starts a new pack. Nothing becomes visible until {@link PackWriter#commit()}.
+     */
+    public PackWriter newPack() throws IOException {
+        return new PackWriter();
+    }
+
+    public long diskBytes() {
+        long total = 0;
+        for (FileChannel pack : packs.values()) {
+            try {
+                total += pack.size();
+            } catch (IOException ignored) {
+                // closed concurrently
+            }
+        }
+        return total;
+    }
+
+    public int packCount() {
+        return packs.size();
+    }
+
+    private void loadFooter(int packNo) throws IOException {
+        FileChannel channel = FileChannel.open(packPath(packNo), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 8 + TRAILER_SIZE) {
+                throw new IOException("truncated pack");
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            readFully(channel, trailer, size - TRAILER_SIZE);
+            long footerOffset = trailer.getLong(0);
+            int footerCrc = trailer.getInt(8);
+            if (trailer.getInt(12) != MAGIC || footerOffset < 8 || footerOffset > size - TRAILER_SIZE) {
+                throw new IOException("bad trailer");
+            }
+            ByteBuffer footer = ByteBuffer.allocate((int) (size - TRAILER_SIZE - footerOffset));
+            readFully(channel, footer, footerOffset);
+            CRC32 crc = new CRC32();
+            crc.update(footer.array());
+            if ((int) crc.getValue() != footerCrc) {
+                throw new IOException("footer checksum mismatch");
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[in.readUnsignedShort()];
+                in.readFully(id);
+                byte[] hash = new byte[in.readUnsignedShort()];
+                in.readFully(hash);
+                PackEntry entry = new PackEntry(packNo, new String(id, StandardCharsets.UTF_8),
+                        in.readInt(), in.readInt(), new String(hash, StandardCharsets.US_ASCII),
+                        in.readLong(), in.readLong(), in.readLong(), in.readInt());
+                register(entry);
+            }
+            packs.put(packNo, channel);
+        } catch (IOException e) {
+            channel.close();
+            // never delete: a damaged pack still holds the only copy of its chains
+            System.err.println("❌ Skipping unreadable ledger pack " + packPath(packNo).getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private void register(PackEntry entry) {
+        entries.compute(entry.complaintId, (id, runs) -> {
+            List<PackEntry> updated = runs == null ? new ArrayList<>() : new ArrayList<>(runs);
+            updated.add(entry);
+            updated.sort((a, b) -> Integer.compare(a.firstIndex, b.firstIndex));
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private Path packPath(int packNo) {
+        return directory.resolve(String.format("%s%06d%s", PACK_PREFIX, packNo, PACK_SUFFIX));
+    }
+
+    @Override
+    public void close() {
+        for (FileChannel pack : packs.values()) {
+            try {
+                pack.close();
+            } catch (IOException e) {
+                System.err.println("❌ Error closing ledger pack: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, offset);
+            if (n < 0) throw new EOFException("Unexpected end of ledger pack");
+            offset += n;
+        }
+    }
+
+    /**
+     * ✅ Writes one pack: call {@link #addChain} per chain, then {@link #commit()} (or {@link #abort()}).
+     */
+    public class PackWriter implements Closeable {
+        private final int packNo;
+        private final Path tempPath;
+        private final FileChannel channel;
+        private final CountingOutputStream file;
+        private final List<PackEntry> written = new ArrayList<>();
+        private boolean finished;
+
+        private PackWriter() throws IOException {
+            synchronized (LedgerArchive.this) {
+                this.packNo = nextPackNo++;
+            }
+            this.tempPath = directory.resolve(packPath(packNo).getFileName() + TEMP_SUFFIX);
+            this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.file = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.flush();
+        }
+
+        /**
+         * ✅ Appends one contiguous run of a chain, given as record bodies in block order.
+         */
+        public void addChain(String complaintId, Iterator<byte[]> bodies) throws IOException {
+            if (!bodies.hasNext()) return;
+            long offset = file.count;
+            CRC32 crc = new CRC32();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            long rawLength = 0;
+            byte[] first = null;
+            byte[] last = null;
+            try {
+                DeflaterOutputStream deflated = new DeflaterOutputStream(
+                        new CheckedOutputStream(new NonClosingOutputStream(file), crc), deflater, 64 * 1024);
+                DataOutputStream out = new DataOutputStream(deflated);
+                while (bodies.hasNext()) {
+                    byte[] body = bodies.next();
+                    out.writeInt(body.length);
+                    out.writeInt(LedgerRecordCodec.crc(body));
+                    out.write(body);
+                    rawLength += LedgerRecordCodec.HEADER_SIZE + body.length;
+                    if (first == null) first = body;
+                    last = body;
+                }
+                deflated.finish();
+                out.flush();
+            } finally {
+                deflater.end();
+            }
+            Block lastBlock = LedgerRecordCodec.decodeBody(last);
+            written.add(new PackEntry(packNo, complaintId, LedgerRecordCodec.decodeBody(first).getIndex(),
+                    lastBlock.getIndex(), lastBlock.getHash(), offset, file.count - offset, rawLength, (int) crc.getValue()));
+        }
+
+        public boolean isEmpty() {
+            return written.isEmpty();
+        }
+
+        /**
+         * ✅ Writes the footer, fsyncs, renames the pack into place and makes its chains visible.
+         */
+        public void commit() throws IOException {
+            ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+            DataOutputStream footer = new DataOutputStream(footerBytes);
+            footer.writeInt(written.size());
+            for (PackEntry entry : written) {
+                byte[] id = entry.complaintId.getBytes(StandardCharsets.UTF_8);
+                byte[] hash = entry.lastHash.getBytes(StandardCharsets.US_ASCII);
+                footer.writeShort(id.length);
+                footer.write(id);
+                footer.writeShort(hash.length);
+                footer.write(hash);
+                footer.writeInt(entry.firstIndex);
+                footer.writeInt(entry.lastIndex);
+                footer.writeLong(entry.offset);
+                footer.writeLong(entry.compressedLength);
+                footer.writeLong(entry.rawLength);
+                footer.writeInt(entry.crc);
+            }
+            footer.flush();
+            CRC32 crc = new CRC32();
+            crc.update(footerBytes.toByteArray());
+
+            long footerOffset = file.count;
+            DataOutputStream out = new DataOutputStream(file);
+            out.write(footerBytes.toByteArray());
+            out.writeLong(footerOffset);
+            out.writeInt((int) crc.getValue());
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+            channel.close();
+            finished = true;
+
+            Files.move(tempPath, packPath(packNo), StandardCopyOption.ATOMIC_MOVE);
+            BlockchainUtils.forceDirectory(directory);
+            packs.put(packNo, FileChannel.open(packPath(packNo), StandardOpenOption.READ));
+            for (PackEntry entry : written) {
+                register(entry);
+            }
+        }
+
+        public void abort() {
+            if (finished) return;
+            finished = true;
+            try {
+                channel.close();
+                Files.deleteIfExists(tempPath);
+            } catch (IOException e) {
+                System.err.println("❌ Error discarding ledger pack " + tempPath.getFileName() + ": " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            abort();
+        }
+    }
+
+    /**
+     * Inflates the records of one archived run, record by record.
+     */
+    private final class RunReader {
+        private final PackEntry entry;
+        private final CRC32 crc = new CRC32();
+        private final DataInputStream in;
+
+        RunReader(PackEntry entry) throws IOException {
+            this.entry = entry;
+            FileChannel channel = packs.get(entry.packNo);
+            if (channel == null) {
+                throw new IOException("Ledger pack " + entry.packNo + " is not open");
+            }
+            InputStream compressed = new CheckedInputStream(
+                    new ChannelRangeInputStream(channel, entry.offset, entry.compressedLength), crc);
+            this.in = new DataInputStream(new InflaterInputStream(compressed));
+        }
+
+        // null at the end of the run (after the run checksum was verified)
+        byte[] nextBody() throws IOException {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException end) {
+                in.close();
+                if ((int) crc.getValue() != entry.crc) {
+                    throw new IOException("Checksum mismatch in ledger pack " + entry.packNo + " for chain " + entry.complaintId);
+                }
+                return null;
+            }
+            int recordCrc = in.readInt();
+            if (length < 0 || length > MAX_RECORD_BYTES) {
+                throw new IOException("Invalid record length " + length + " in ledger pack " + entry.packNo);
+            }
+            byte[] body = new byte[length];
+            in.readFully(body);
+            if (LedgerRecordCodec.crc(body) != recordCrc) {
+                throw new IOException("Record checksum mismatch in ledger pack " + entry.packNo);
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Location of one archived run of a chain inside a pack.
+     */
+    private static final class PackEntry {
+        final int packNo;
+        final String complaintId;
+        final int firstIndex;
+        final int lastIndex;
+        final String lastHash;
+        final long offset;
+        final long compressedLength;
+        final long rawLength;
+        final int crc;
+
+        PackEntry(int packNo, String complaintId, int firstIndex, int lastIndex, String lastHash,
+                  long offset, long compressedLength, long rawLength, int crc) {
+            this.packNo = packNo;
+            this.complaintId = complaintId;
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+            this.lastHash = lastHash;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Positional (thread-safe) reads of a byte range of a shared channel.
+     */
+    private static final class ChannelRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        ChannelRangeInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) return -1;
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n < 0) throw new EOFException("Unexpected end of ledger pack");
+            position += n;
+            return n;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    // Lets a per-run compressor finish without closing the pack file underneath it
+    private static final class NonClosingOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // intentionally keep the pack open
+        }
+    }
+}
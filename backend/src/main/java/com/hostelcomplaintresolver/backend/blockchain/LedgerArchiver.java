@@ -0,0 +1,84 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.hostelcomplaintresolver.backend.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Archival stage: moves the chains of CLOSED complaints out of the hot segments into compressed packs.
+ *
+ * Runs nightly; a chain is archived once its last block is older than {@code minIdleDays}, in packs
+ * of at most {@code batchSize} chains. Each run ends with a segment compaction. With the ledger daemon
+ * only the API process that claims the nightly lease runs it.
+ */
+@Component
+public class LedgerArchiver {
+
+    private static final String CLOSED = "CLOSED";
+    private static final String LEASE = "ledger-archive";
+    private static final Duration LEASE_TTL = Duration.ofHours(12); // outlasts the run; the next night claims it anew
+
+    private final BlockchainService blockchainService;
+    private final ComplaintRepository complaintRepository;
+    private final boolean enabled;
+    private final Duration minIdle;
+    private final int batchSize;
+
+    @Autowired
+    public LedgerArchiver(BlockchainService blockchainService,
+                          ComplaintRepository complaintRepository,
+                          @Value("${ledger.archive.enabled:true}") boolean enabled,
+                          @Value("${ledger.archive.min-idle-days:30}") int minIdleDays,
+                          @Value("${ledger.archive.batch-size:1000}") int batchSize) {
+        this.blockchainService = blockchainService;
+        this.complaintRepository = complaintRepository;
+        this.enabled = enabled;
+        this.minIdle = Duration.ofDays(minIdleDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(cron = "${ledger.archive.cron:0 30 3 * * *}") // nightly
+    public void scheduledArchive() {
+        if (!enabled) return;
+        try {
+            if (!blockchainService.tryAcquireLease(LEASE, LEASE_TTL)) {
+                return; // another API process archives tonight
+            }
+            archiveClosedComplaints();
+        } catch (Exception e) {
+            System.err.println("❌ Ledger archiving failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Archives every eligible CLOSED complaint chain now and returns the totals.
+     */
+    public ArchiveReport archiveClosedComplaints() {
+        List<Long> closedIds = complaintRepository.findIdsByStatus(CLOSED);
+        ArchiveReport total = new ArchiveReport();
+        long segmentBytesBefore = -1;
+
+        for (int from = 0; from < closedIds.size(); from += batchSize) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (Long id : closedIds.subList(from, Math.min(closedIds.size(), from + batchSize))) {
+                batch.add(String.valueOf(id));
+            }
+            ArchiveReport report = blockchainService.archiveChains(batch, minIdle);
+            if (segmentBytesBefore < 0) {
+                segmentBytesBefore = report.getSegmentBytesBefore();
+            }
+            total.setChainsArchived(total.getChainsArchived() + report.getChainsArchived());
+            total.setBlocksArchived(total.getBlocksArchived() + report.getBlocksArchived());
+            total.setSegmentBytesAfter(report.getSegmentBytesAfter());
+            total.setArchiveBytes(report.getArchiveBytes());
+        }
+        total.setSegmentBytesBefore(Math.max(0, segmentBytesBefore));
+        return total;
+    }
+}
@@ -0,0 +1,249 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.hostelcomplaintresolver.backend.model.LedgerAuditEntry;
+import com.hostelcomplaintresolver.backend.repository.LedgerAuditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Keeps the {@code ledger_audit} table (userId / action / time index over all chains) in sync with the ledger.
+ *
+ * The ledger writer hands every committed batch to this indexer, which queues the rows and inserts
+ * them in batches on its own thread, so the ledger append path never waits on the database. Rows
+ * are written with one JDBC batch of {@code INSERT IGNORE} (no per-row lookup as JPA's merge of an
+ * assigned ID would do); a row that is already there (replayed commit) is skipped. The
+ * index is derived data: {@link #rebuild()} recreates it from the ledger (also done on startup when
+ * the table is empty, e.g. right after this feature is deployed, and after the connection to the
+ * ledger daemon was re-opened, since the commits made meanwhile were never delivered).
+ *
+ * With the ledger daemon every API process receives every commit, but only the one holding the
+ * indexing lease writes the index. A process that takes the lease over rebuilds, since it cannot
+ * know which commits the previous holder had not indexed when it stopped.
+ */
+@Service
+public class LedgerAuditIndexer {
+
+    private static final int QUEUE_CAPACITY = 100_000;
+    private static final int BATCH_SIZE = 500;
+    private static final String LEASE = "ledger-audit-index";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5); // long enough for a rebuild, which does not renew it
+    private static final long LEASE_RENEW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String INSERT_ENTRY = "INSERT IGNORE INTO ledger_audit"
+            + " (transaction_id, complaint_id, block_index, user_id, action, description, event_time)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final BlockchainService blockchainService;
+    private final LedgerAuditRepository auditRepository;
+    private final JdbcTemplate jdbc;
+    private final BlockingQueue<LedgerAuditEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Object indexLock = new Object();
+    private volatile boolean running;
+    private volatile boolean stale;
+    private volatile boolean rebuildRequested;
+    private volatile boolean indexing; // holds the indexing lease
+    private long leaseRenewedAt; // indexer thread only
+    private Thread indexerThread;
+
+    @Autowired
+    public LedgerAuditIndexer(BlockchainService blockchainService, LedgerAuditRepository auditRepository,
+                              JdbcTemplate jdbc) {
+        this.blockchainService = blockchainService;
+        this.auditRepository = auditRepository;
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void start() {
+        indexing = !blockchainService.isDaemonClient(); // the owner of the ledger always indexes
+        blockchainService.addCommitListener(new LedgerCommitListener() {
+            @Override
+            public void onCommit(List<LedgerStore.Append> committed) {
+                LedgerAuditIndexer.this.onCommit(committed);
+            }
+
+            @Override
+            public void onEventsMissed() {
+                stale = true;
+                rebuildRequested = true; // on the indexer thread, never the daemon connection's reader
+            }
+        });
+        running = true;
+        indexerThread = new Thread(this::runLoop, "ledger-audit-indexer");
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            indexerThread.join(TimeUnit.SECONDS.toMillis(10)); // flush what is queued
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * ✅ Paginated audit query, newest first. Any filter may be null.
+     */
+    public Page<LedgerAuditEntry> search(String userId, String action, LocalDateTime from, LocalDateTime to,
+                                         int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
+        if (userId != null && action != null) {
+            return auditRepository.findByUserIdAndActionAndTimestampBetween(userId, action, from, to, pageable);
+        }
+        if (userId != null) {
+            return auditRepository.findByUserIdAndTimestampBetween(userId, from, to, pageable);
+        }
+        if (action != null) {
+            return auditRepository.findByActionAndTimestampBetween(action, from, to, pageable);
+        }
+        return auditRepository.findByTimestampBetween(from, to, pageable);
+    }
+
+    /**
+     * ✅ Recreates the whole index from the ledger (streams every chain, batched inserts).
+     * @return number of indexed transactions
+     */
+    public long rebuild() {
+        synchronized (indexLock) {
+            auditRepository.deleteAllInBatch();
+            stale = false;
+            long indexed = 0;
+            List<LedgerAuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+            for (String complaintId : blockchainService.getChainIds()) {
+                for (Iterator<Block> blocks = blockchainService.iterateChain(complaintId); blocks.hasNext(); ) {
+                    Block block = blocks.next();
+                    for (Transaction t : block.getTransactions()) {
+                        if (t.getTransactionId() == null) continue;
+                        batch.add(toEntry(complaintId, block.getIndex(), t));
+                        if (batch.size() == BATCH_SIZE) {
+                            insertAll(batch);
+                            indexed += batch.size();
+                            batch.clear();
+                        }
+                    }
+                }
+            }
+            insertAll(batch);
+            indexed += batch.size();
+            System.out.println("📇 Rebuilt ledger audit index: " + indexed + " transactions.");
+            return indexed;
+        }
+    }
+
+    /**
+     * ✅ True if rows may be missing: the queue overflowed, or commit events were missed while the
+     * ledger daemon was unreachable (a rebuild fixes it; the latter schedules one itself).
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    private void onCommit(List<LedgerStore.Append> committed) {
+        if (!indexing) return; // another API process indexes
+        for (LedgerStore.Append append : committed) {
+            Block block = append.getBlock();
+            for (Transaction t : block.getTransactions()) {
+                if (t.getTransactionId() == null) continue;
+                if (!queue.offer(toEntry(append.getComplaintId(), block.getIndex(), t))) {
+                    stale = true; // never block the ledger writer on the database
+                }
+            }
+        }
+    }
+
+    private void renewLease() {
+        leaseRenewedAt = System.nanoTime();
+        boolean held;
+        try {
+            held = blockchainService.tryAcquireLease(LEASE, LEASE_TTL);
+        } catch (RuntimeException e) {
+            return; // daemon unreachable: keep the current role, the reconnect triggers a rebuild anyway
+        }
+        if (held && !indexing) {
+            System.out.println("📇 Took over the ledger audit index; rebuilding it.");
+            rebuildRequested = true;
+        }
+        indexing = held;
+    }
+
+    private void runLoop() {
+        renewLease();
+        try {
+            if (indexing && !rebuildRequested && auditRepository.count() == 0 && !blockchainService.getChainIds().isEmpty()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Could not build the ledger audit index: " + e.getMessage());
+        }
+
+        List<LedgerAuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (System.nanoTime() - leaseRenewedAt >= LEASE_RENEW_NANOS) {
+                    renewLease();
+                }
+                if (rebuildRequested && running && indexing) {
+                    rebuildRequested = false;
+                    try {
+                        rebuild(); // queued rows are inserted afterwards; INSERT IGNORE skips the ones it covered
+                    } catch (RuntimeException e) {
+                        stale = true;
+                        System.err.println("❌ Could not rebuild the ledger audit index (it stays stale): " + e.getMessage());
+                    }
+                }
+                LedgerAuditEntry first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                synchronized (indexLock) {
+                    insertAll(batch); // rows carry the transaction ID as key, so replays are harmless
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                stale = true;
+                System.err.println("❌ Ledger audit index write failed: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insertAll(List<LedgerAuditEntry> batch) {
+        if (batch.isEmpty()) return;
+        jdbc.batchUpdate(INSERT_ENTRY, batch, batch.size(), (ps, e) -> {
+            ps.setString(1, e.getTransactionId());
+            ps.setString(2, e.getComplaintId());
+            ps.setInt(3, e.getBlockIndex());
+            ps.setString(4, e.getUserId());
+            ps.setString(5, e.getAction());
+            ps.setString(6, e.getDescription());
+            ps.setTimestamp(7, e.getTimestamp() == null ? null : Timestamp.valueOf(e.getTimestamp()));
+        });
+    }
+
+    private static LedgerAuditEntry toEntry(String complaintId, int blockIndex, Transaction t) {
+        return new LedgerAuditEntry(t.getTransactionId(), complaintId, blockIndex, t.getUserId(),
+                t.getAction(), t.getDescription(), t.getTimestamp());
+    }
+}
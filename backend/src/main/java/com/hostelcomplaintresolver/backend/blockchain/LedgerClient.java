@@ -0,0 +1,385 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ Client side of the {@link LedgerDaemon}: one pipelined Unix-socket connection per API process.
+ *
+ * Any number of threads can have requests in flight at once; a reader thread matches responses to
+ * requests by ID. A broken connection fails the requests in flight and is re-opened by the next call,
+ * or right away (retrying while the daemon is down) when commit listeners are registered, so they
+ * keep hearing about commits. Commit events are delivered to local {@link LedgerCommitListener}s
+ * (events missed while the connection was down are not replayed; listeners are told through
+ * {@link LedgerCommitListener#onEventsMissed()}).
+ */
+public class LedgerClient implements Closeable {
+
+    private static final int READ_PAGE = 256;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final Path socketPath;
+    private final long timeoutMillis;
+    private final String holderId = UUID.randomUUID().toString(); // this process, as a lease holder
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final List<LedgerCommitListener> listeners = new CopyOnWriteArrayList<>();
+    private Connection connection; // guarded by this
+    private volatile boolean closed;
+
+    public LedgerClient(Path socketPath, long timeoutMillis) {
+        this.socketPath = socketPath;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // ---------------- OPERATIONS ----------------
+
+    /**
+     * ✅ Appends a transaction. With {@code forceToDisk} the daemon answers only once the block is
+     * forced to disk. The future fails if no answer arrives within the request timeout.
+     */
+    public CompletableFuture<LedgerReceipt> append(String complaintId, String userId, String action, String description,
+                                                   boolean forceToDisk) {
+        byte[] payload = LedgerProtocol.payload(out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            LedgerProtocol.writeString(out, userId);
+            LedgerProtocol.writeString(out, action);
+            LedgerProtocol.writeString(out, description);
+            out.writeBoolean(forceToDisk);
+        });
+        return send(LedgerProtocol.OP_APPEND, payload)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(frame -> decode(frame, LedgerProtocol::readReceipt));
+    }
+
+    public ChainTip tip(String complaintId) {
+        return call(LedgerProtocol.OP_TIP, out -> LedgerProtocol.writeString(out, complaintId),
+                in -> in.readBoolean() ? new ChainTip(complaintId, in.readInt(), LedgerProtocol.readString(in), -1) : null);
+    }
+
+    public Block block(String complaintId, int blockIndex) {
+        return call(LedgerProtocol.OP_BLOCK, out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            out.writeInt(blockIndex);
+        }, in -> in.readBoolean() ? LedgerProtocol.readBlock(in) : null);
+    }
+
+    public Block blockHeader(String complaintId, int blockIndex) {
+        return call(LedgerProtocol.OP_BLOCK_HEADER, out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            out.writeInt(blockIndex);
+        }, in -> in.readBoolean() ? LedgerProtocol.readBlock(in) : null);
+    }
+
+    /**
+     * ✅ Up to {@code maxBlocks} blocks of a chain starting at {@code fromIndex}.
+     */
+    public List<Block> read(String complaintId, int fromIndex, int maxBlocks) {
+        return call(LedgerProtocol.OP_READ, out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            out.writeInt(fromIndex);
+            out.writeInt(maxBlocks);
+        }, in -> {
+            int count = in.readInt();
+            List<Block> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                blocks.add(LedgerProtocol.readBlock(in));
+            }
+            return blocks;
+        });
+    }
+
+    /**
+     * ✅ Streams a chain page by page ({@value #READ_PAGE} blocks per round trip).
+     */
+    public Iterator<Block> iterate(String complaintId, int fromIndex) {
+        return new Iterator<>() {
+            private List<Block> page = List.of();
+            private int position;
+            private int nextIndex = fromIndex;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (position < page.size()) return true;
+                if (exhausted) return false;
+                page = read(complaintId, nextIndex, READ_PAGE);
+                position = 0;
+                exhausted = page.size() < READ_PAGE;
+                if (!page.isEmpty()) {
+                    nextIndex = page.get(page.size() - 1).getIndex() + 1;
+                }
+                return !page.isEmpty();
+            }
+
+            @Override
+            public Block next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(position++);
+            }
+        };
+    }
+
+    public Set<String> chainIds() {
+        return call(LedgerProtocol.OP_CHAIN_IDS, out -> {}, in -> {
+            int count = in.readInt();
+            Set<String> ids = new HashSet<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                ids.add(LedgerProtocol.readString(in));
+            }
+            return ids;
+        });
+    }
+
+    public ChainVerificationResult verify(String complaintId, boolean full) {
+        return call(LedgerProtocol.OP_VERIFY, out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            out.writeBoolean(full);
+        }, LedgerProtocol::readVerification);
+    }
+
+    public LedgerReceipt receipt(String complaintId, String transactionId) {
+        return call(LedgerProtocol.OP_RECEIPT, out -> {
+            LedgerProtocol.writeString(out, complaintId);
+            LedgerProtocol.writeString(out, transactionId);
+        }, in -> in.readBoolean() ? LedgerProtocol.readReceipt(in) : null);
+    }
+
+    public ArchiveReport archive(Collection<String> complaintIds, Duration minIdle) {
+        return call(LedgerProtocol.OP_ARCHIVE, out -> {
+            out.writeLong(minIdle.toMillis());
+            out.writeInt(complaintIds.size());
+            for (String complaintId : complaintIds) {
+                LedgerProtocol.writeString(out, complaintId);
+            }
+        }, in -> new ArchiveReport(in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readLong()));
+    }
+
+    /**
+     * ✅ Claims (or renews) the named job for {@code ttl}; false while another process holds it.
+     */
+    public boolean lease(String job, Duration ttl) {
+        return call(LedgerProtocol.OP_LEASE, out -> {
+            LedgerProtocol.writeString(out, job);
+            LedgerProtocol.writeString(out, holderId);
+            out.writeLong(ttl.toMillis());
+        }, DataInputStream::readBoolean);
+    }
+
+    public void addCommitListener(LedgerCommitListener listener) {
+        boolean first = listeners.isEmpty();
+        listeners.add(listener);
+        if (first) {
+            call(LedgerProtocol.OP_SUBSCRIBE, out -> {}, in -> null);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (connection != null) {
+            connection.close(new IOException("Ledger client closed"));
+        }
+    }
+
+    // ---------------- PLUMBING ----------------
+
+    private interface PayloadReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private <T> T call(byte op, LedgerProtocol.PayloadWriter request, PayloadReader<T> response) {
+        CompletableFuture<LedgerProtocol.Frame> future = send(op, LedgerProtocol.payload(request));
+        try {
+            return decode(future.get(timeoutMillis, TimeUnit.MILLISECONDS), response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the ledger daemon", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ledger daemon request failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Ledger daemon did not answer within " + timeoutMillis + " ms", e);
+        }
+    }
+
+    private static <T> T decode(LedgerProtocol.Frame frame, PayloadReader<T> reader) {
+        try {
+            DataInputStream in = frame.in();
+            if (frame.code == LedgerProtocol.STATUS_ERROR) {
+                throw new RuntimeException("Ledger daemon error: " + LedgerProtocol.readString(in));
+            }
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Malformed ledger daemon response", e);
+        }
+    }
+
+    private CompletableFuture<LedgerProtocol.Frame> send(byte op, byte[] payload) {
+        CompletableFuture<LedgerProtocol.Frame> future = new CompletableFuture<>();
+        int requestId;
+        do {
+            requestId = nextRequestId.incrementAndGet();
+        } while (requestId == LedgerProtocol.EVENT_REQUEST_ID);
+
+        synchronized (this) {
+            Connection target = null;
+            try {
+                target = connection();
+                target.pending.put(requestId, future);
+                LedgerProtocol.writeFrame(target.channel, requestId, op, payload);
+            } catch (IOException e) {
+                if (target != null) {
+                    target.close(e);
+                }
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    private Connection connection() throws IOException {
+        if (closed) {
+            throw new IOException("Ledger client closed");
+        }
+        if (connection == null || !connection.channel.isOpen()) {
+            boolean reconnect = connection != null;
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(UnixDomainSocketAddress.of(socketPath));
+            } catch (IOException e) {
+                channel.close();
+                throw new IOException("Cannot reach the ledger daemon at " + socketPath + ": " + e.getMessage(), e);
+            }
+            connection = new Connection(channel);
+            if (reconnect && !listeners.isEmpty()) {
+                // re-subscribe after a reconnect; commits made while disconnected were missed
+                System.err.println("⚠️ Reconnected to the ledger daemon; commit events may have been missed.");
+                LedgerProtocol.writeFrame(channel, nextRequestId.incrementAndGet(), LedgerProtocol.OP_SUBSCRIBE, new byte[0]);
+                for (LedgerCommitListener listener : listeners) {
+                    try {
+                        listener.onEventsMissed();
+                    } catch (RuntimeException e) {
+                        System.err.println("❌ Ledger commit listener failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return connection;
+    }
+
+    // On the broken connection's reader thread, which ends once a new connection (and reader) exists
+    private void reconnectForListeners(Connection broken) {
+        long delayMillis = 100;
+        while (!closed && !listeners.isEmpty()) {
+            synchronized (this) {
+                if (connection != broken && connection != null && connection.channel.isOpen()) {
+                    return; // a request re-opened it already
+                }
+                try {
+                    connection(); // re-subscribes and tells the listeners that events were missed
+                    return;
+                } catch (IOException e) {
+                    // daemon still down (or restarting)
+                }
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMillis = Math.min(delayMillis * 2, MAX_RECONNECT_DELAY_MILLIS);
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel channel;
+        final Map<Integer, CompletableFuture<LedgerProtocol.Frame>> pending = new ConcurrentHashMap<>();
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            Thread reader = new Thread(this::readLoop, "ledger-client-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void readLoop() {
+            try {
+                LedgerProtocol.Frame frame;
+                while ((frame = LedgerProtocol.readFrame(channel)) != null) {
+                    if (frame.requestId == LedgerProtocol.EVENT_REQUEST_ID && frame.code == LedgerProtocol.EVENT_COMMIT) {
+                        dispatch(frame);
+                        continue;
+                    }
+                    CompletableFuture<LedgerProtocol.Frame> future = pending.remove(frame.requestId);
+                    if (future != null) {
+                        future.complete(frame);
+                    }
+                }
+                close(new IOException("Ledger daemon closed the connection"));
+            } catch (IOException e) {
+                close(e);
+            }
+            reconnectForListeners(this);
+        }
+
+        private void dispatch(LedgerProtocol.Frame frame) {
+            List<LedgerStore.Append> committed;
+            try {
+                DataInputStream in = frame.in();
+                int count = in.readInt();
+                committed = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    committed.add(new LedgerStore.Append(LedgerProtocol.readString(in), LedgerProtocol.readBlock(in)));
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Malformed ledger commit event: " + e.getMessage());
+                return;
+            }
+            for (LedgerCommitListener listener : listeners) {
+                try {
+                    listener.onCommit(committed);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Ledger commit listener failed: " + e.getMessage());
+                }
+            }
+        }
+
+        void close(IOException cause) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // already broken
+            }
+            for (Integer requestId : new ArrayList<>(pending.keySet())) {
+                CompletableFuture<LedgerProtocol.Frame> future = pending.remove(requestId);
+                if (future != null) {
+                    future.completeExceptionally(cause);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.List;
+
+/**
+ * ✅ Callback for blocks that were just committed to the ledger.
+ *
+ * Runs on the ledger writer thread after the batch is written: implementations must be quick
+ * (hand the work off) and must not call back into the writer.
+ */
+@FunctionalInterface
+public interface LedgerCommitListener {
+
+    void onCommit(List<LedgerStore.Append> committed);
+
+    /**
+     * ✅ Commit events may have been lost (the connection to the ledger daemon was re-opened).
+     * Runs on the reconnecting thread: only mark derived state stale and hand off any reloading.
+     */
+    default void onEventsMissed() {}
+}
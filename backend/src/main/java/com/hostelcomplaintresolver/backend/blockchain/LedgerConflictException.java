@@ -0,0 +1,28 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * ✅ Some chains of a batch were extended by another process, so their blocks no longer link to
+ * the real tip. The appends of every other chain in the batch were written.
+ */
+public class LedgerConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> conflictingChains;
+
+    public LedgerConflictException(Set<String> conflictingChains) {
+        super("Blocks of " + conflictingChains.size() + " chain(s) conflict with blocks written by another process: "
+                + conflictingChains);
+        this.conflictingChains = Collections.unmodifiableSet(conflictingChains);
+    }
+
+    /**
+     * Complaint IDs whose appends were not written.
+     */
+    public Set<String> getConflictingChains() {
+        return conflictingChains;
+    }
+}
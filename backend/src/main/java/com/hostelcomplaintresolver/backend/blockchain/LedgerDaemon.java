@@ -0,0 +1,446 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ Standalone ledger process: owns the ledger files and serves them over a Unix domain socket.
+ *
+ * Several API processes (BlockchainService with {@code ledger.mode=DAEMON}) share one ledger
+ * through it, and all appends still funnel into one group-commit writer, so there is no file
+ * locking between processes. Protocol: {@link LedgerProtocol}. Requests on a connection are
+ * pipelined: appends are answered when their batch commits (and is forced to disk, if the client
+ * asked for FSYNC durability, whatever the daemon's fsync policy), other requests run on a worker
+ * pool, and responses go out in completion order. Commit events go through a bounded queue per
+ * subscriber; a subscriber that falls {@code eventQueueCapacity} commits behind is disconnected
+ * (its client reconnects and learns that it missed events) instead of growing the backlog.
+ *
+ * The daemon also runs the jobs that read the whole ledger (anchoring, the integrity scrubber), so
+ * they run once rather than once per API process. Jobs that need the application database run in
+ * an API process, which claims them with a lease ({@link LedgerProtocol#OP_LEASE}) so only one does.
+ *
+ * Run (settings as system properties, defaults shown):
+ * java -Dledger.dir=blockchain_ledger -Dledger.daemon.socket=blockchain_ledger/ledger.sock
+ *      -Dledger.writer.fsync-policy=INTERVAL -Dledger.writer.fsync-interval-ms=1000
+ *      -Dledger.scrubber.enabled=true -Dledger.scrubber.max-blocks-per-second=500
+ *      -Dledger.daemon.event-queue=1024
+ *      -Dloader.main=com.hostelcomplaintresolver.backend.blockchain.LedgerDaemon
+ *      -cp backend.jar org.springframework.boot.loader.launch.PropertiesLauncher
+ */
+public class LedgerDaemon implements Closeable {
+
+    private static final int MAX_READ_PAGE = 4096;
+    private static final int EVENT_SENDERS = 4;
+    public static final int DEFAULT_EVENT_QUEUE_CAPACITY = 1024;
+
+    private final BlockchainService ledger;
+    private final Path socketPath;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers;
+    private final ExecutorService events = Executors.newFixedThreadPool(EVENT_SENDERS, runnable -> {
+        Thread thread = new Thread(runnable, "ledger-daemon-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int eventQueueCapacity;
+    private final Set<Connection> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Lease> leases = new HashMap<>(); // guarded by itself
+    private volatile boolean running = true;
+
+    public LedgerDaemon(BlockchainService ledger, Path socketPath, int workerThreads) throws IOException {
+        this(ledger, socketPath, workerThreads, DEFAULT_EVENT_QUEUE_CAPACITY);
+    }
+
+    public LedgerDaemon(BlockchainService ledger, Path socketPath, int workerThreads, int eventQueueCapacity) throws IOException {
+        this.ledger = ledger;
+        this.socketPath = socketPath;
+        this.eventQueueCapacity = Math.max(1, eventQueueCapacity);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "ledger-daemon-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Files.deleteIfExists(socketPath); // stale socket of a previous run
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        try {
+            // Only the owner and its group (the API processes' user) may talk to the ledger
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-rw----"));
+        } catch (UnsupportedOperationException e) {
+            // non-POSIX file system
+        }
+        // Only queued on the writer thread (in commit order); a slow subscriber must never hold up commits
+        ledger.addCommitListener(this::publish);
+
+        Thread acceptor = new Thread(this::acceptLoop, "ledger-daemon-acceptor");
+        acceptor.start();
+        System.out.println("🔌 Ledger daemon listening on " + socketPath);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String dir = System.getProperty("ledger.dir", "blockchain_ledger");
+        Path socket = Paths.get(System.getProperty("ledger.daemon.socket", dir + "/ledger.sock"));
+        BlockchainService ledger = new BlockchainService(dir,
+                LedgerDurability.ASYNC, // the daemon answers appends on commit; it must never block a connection
+                LedgerFsyncPolicy.valueOf(System.getProperty("ledger.writer.fsync-policy", "INTERVAL")),
+                Long.getLong("ledger.writer.fsync-interval-ms", 1000),
+                Integer.getInteger("ledger.writer.queue-capacity", 10_000),
+                Integer.getInteger("ledger.writer.max-batch", 256),
+                Boolean.parseBoolean(System.getProperty("ledger.block.merkle-batching", "false")),
+                Long.getLong("ledger.writer.linger-ms", 0));
+        LedgerDaemon daemon = new LedgerDaemon(ledger, socket,
+                Integer.getInteger("ledger.daemon.workers", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("ledger.daemon.event-queue", DEFAULT_EVENT_QUEUE_CAPACITY));
+
+        // ⚓ The daemon owns the ledger, so it is the one process that anchors it
+        AnchorService anchors = new AnchorService(ledger,
+                Paths.get(System.getProperty("ledger.anchor.file", dir + "/anchors/anchors.log")),
+                Boolean.parseBoolean(System.getProperty("ledger.anchor.enabled", "true")));
+        long anchorIntervalMillis = Long.getLong("ledger.anchor.interval-ms", 900_000);
+        ScheduledExecutorService anchoring = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ledger-daemon-anchor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        anchoring.scheduleWithFixedDelay(anchors::scheduledAnchor, anchorIntervalMillis, anchorIntervalMillis, TimeUnit.MILLISECONDS);
+
+        // 🧹 Scrubbed here, next to the files: once per ledger, and the CPU budget is the daemon's own
+        LedgerScrubber scrubber = new LedgerScrubber(ledger,
+                Boolean.parseBoolean(System.getProperty("ledger.scrubber.enabled", "true")),
+                Integer.getInteger("ledger.scrubber.max-blocks-per-second", 500),
+                Double.parseDouble(System.getProperty("ledger.scrubber.cpu-fraction", "0.05")),
+                Long.getLong("ledger.scrubber.pass-interval-ms", 600_000));
+        scrubber.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            scrubber.stop();
+            anchoring.shutdownNow();
+            daemon.close();
+            ledger.shutdown();
+            anchors.shutdown();
+        }, "ledger-daemon-shutdown"));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            server.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            System.err.println("❌ Error closing ledger daemon socket: " + e.getMessage());
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        workers.shutdown();
+        events.shutdown();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                Connection connection = new Connection(channel);
+                connections.add(connection);
+                Thread reader = new Thread(connection::readLoop, "ledger-daemon-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("❌ Ledger daemon accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void publish(List<LedgerStore.Append> committed) {
+        if (subscribers.isEmpty()) return;
+        byte[] event = LedgerProtocol.payload(out -> {
+            out.writeInt(committed.size());
+            for (LedgerStore.Append append : committed) {
+                LedgerProtocol.writeString(out, append.getComplaintId());
+                LedgerProtocol.writeBlock(out, append.getComplaintId(), append.getBlock());
+            }
+        });
+        for (Connection subscriber : subscribers) {
+            subscriber.enqueueEvent(event);
+        }
+    }
+
+    // ---------------- REQUEST HANDLING ----------------
+
+    private void handle(Connection connection, LedgerProtocol.Frame frame) throws IOException {
+        DataInputStream in = frame.in();
+        switch (frame.code) {
+            case LedgerProtocol.OP_APPEND -> {
+                String complaintId = LedgerProtocol.readString(in);
+                String userId = LedgerProtocol.readString(in);
+                String action = LedgerProtocol.readString(in);
+                String description = LedgerProtocol.readString(in);
+                boolean forceToDisk = in.available() > 0 && in.readBoolean(); // absent from older clients
+                // answered from the worker pool, never from the ledger writer thread
+                ledger.append(complaintId, userId, action, description, forceToDisk).whenCompleteAsync((receipt, e) -> {
+                    if (e != null) {
+                        connection.error(frame.requestId, e);
+                    } else {
+                        connection.ok(frame.requestId, LedgerProtocol.payload(out -> LedgerProtocol.writeReceipt(out, receipt)));
+                    }
+                }, workers);
+            }
+            case LedgerProtocol.OP_SUBSCRIBE -> {
+                subscribers.add(connection);
+                connection.ok(frame.requestId, new byte[0]);
+            }
+            default -> {
+                try {
+                    workers.execute(() -> {
+                        try {
+                            connection.ok(frame.requestId, query(frame.code, in));
+                        } catch (IOException | RuntimeException e) {
+                            connection.error(frame.requestId, e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    connection.error(frame.requestId, e);
+                }
+            }
+        }
+    }
+
+    private byte[] query(byte op, DataInputStream in) throws IOException {
+        switch (op) {
+            case LedgerProtocol.OP_TIP: {
+                ChainTip tip = ledger.getChainTip(LedgerProtocol.readString(in));
+                return LedgerProtocol.payload(out -> {
+                    out.writeBoolean(tip != null);
+                    if (tip != null) {
+                        out.writeInt(tip.getLastIndex());
+                        LedgerProtocol.writeString(out, tip.getLastHash());
+                    }
+                });
+            }
+            case LedgerProtocol.OP_BLOCK: {
+                String complaintId = LedgerProtocol.readString(in);
+                Block block = ledger.getBlock(complaintId, in.readInt());
+                return LedgerProtocol.payload(out -> {
+                    out.writeBoolean(block != null);
+                    if (block != null) {
+                        LedgerProtocol.writeBlock(out, complaintId, block);
+                    }
+                });
+            }
+            case LedgerProtocol.OP_BLOCK_HEADER: {
+                String complaintId = LedgerProtocol.readString(in);
+                Block header = ledger.getBlockHeader(complaintId, in.readInt());
+                return LedgerProtocol.payload(out -> {
+                    out.writeBoolean(header != null);
+                    if (header != null) {
+                        LedgerProtocol.writeBlock(out, complaintId, header);
+                    }
+                });
+            }
+            case LedgerProtocol.OP_READ: {
+                String complaintId = LedgerProtocol.readString(in);
+                int fromIndex = in.readInt();
+                int max = Math.min(MAX_READ_PAGE, Math.max(1, in.readInt()));
+                List<Block> blocks = new ArrayList<>();
+                for (Iterator<Block> it = ledger.iterateChain(complaintId, fromIndex); it.hasNext() && blocks.size() < max; ) {
+                    blocks.add(it.next());
+                }
+                return LedgerProtocol.payload(out -> {
+                    out.writeInt(blocks.size());
+                    for (Block block : blocks) {
+                        LedgerProtocol.writeBlock(out, complaintId, block);
+                    }
+                });
+            }
+            case LedgerProtocol.OP_CHAIN_IDS: {
+                List<String> ids = new ArrayList<>(ledger.getChainIds());
+                return LedgerProtocol.payload(out -> {
+                    out.writeInt(ids.size());
+                    for (String id : ids) {
+                        LedgerProtocol.writeString(out, id);
+                    }
+                });
+            }
+            case LedgerProtocol.OP_VERIFY: {
+                String complaintId = LedgerProtocol.readString(in);
+                ChainVerificationResult result = ledger.verifyChain(complaintId, in.readBoolean());
+                return LedgerProtocol.payload(out -> LedgerProtocol.writeVerification(out, result));
+            }
+            case LedgerProtocol.OP_RECEIPT: {
+                LedgerReceipt receipt = ledger.getTransactionReceipt(LedgerProtocol.readString(in), LedgerProtocol.readString(in));
+                return LedgerProtocol.payload(out -> {
+                    out.writeBoolean(receipt != null);
+                    if (receipt != null) {
+                        LedgerProtocol.writeReceipt(out, receipt);
+                    }
+                });
+            }
+            case LedgerProtocol.OP_LEASE: {
+                String job = LedgerProtocol.readString(in);
+                String holder = LedgerProtocol.readString(in);
+                boolean granted = lease(job, holder, in.readLong());
+                return LedgerProtocol.payload(out -> out.writeBoolean(granted));
+            }
+            case LedgerProtocol.OP_ARCHIVE: {
+                Duration minIdle = Duration.ofMillis(in.readLong());
+                int count = in.readInt();
+                List<String> ids = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ids.add(LedgerProtocol.readString(in));
+                }
+                ArchiveReport report = ledger.archiveChains(ids, minIdle);
+                return LedgerProtocol.payload(out -> {
+                    out.writeInt(report.getChainsArchived());
+                    out.writeInt(report.getBlocksArchived());
+                    out.writeLong(report.getSegmentBytesBefore());
+                    out.writeLong(report.getSegmentBytesAfter());
+                    out.writeLong(report.getArchiveBytes());
+                });
+            }
+            default:
+                throw new IOException("Unknown ledger operation " + op);
+        }
+    }
+
+    // Granted if the job is free, its lease expired, or the holder renews its own lease
+    private boolean lease(String job, String holder, long ttlMillis) {
+        long now = System.nanoTime();
+        synchronized (leases) {
+            Lease current = leases.get(job);
+            if (current != null && !current.holder.equals(holder) && now - current.expiresAt < 0) {
+                return false;
+            }
+            leases.put(job, new Lease(holder, now + TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis))));
+            return true;
+        }
+    }
+
+    private static final class Lease {
+        final String holder;
+        final long expiresAt; // System.nanoTime()
+
+        Lease(String holder, long expiresAt) {
+            this.holder = holder;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final BlockingQueue<byte[]> pendingEvents = new ArrayBlockingQueue<>(eventQueueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void readLoop() {
+            try {
+                LedgerProtocol.Frame frame;
+                while ((frame = LedgerProtocol.readFrame(channel)) != null) {
+                    try {
+                        handle(this, frame);
+                    } catch (IOException | RuntimeException e) {
+                        error(frame.requestId, e); // malformed request: answer it, keep the connection
+                    }
+                }
+            } catch (IOException e) {
+                // client went away or sent garbage framing
+            } finally {
+                close();
+            }
+        }
+
+        void ok(int requestId, byte[] payload) {
+            send(requestId, LedgerProtocol.STATUS_OK, payload);
+        }
+
+        void error(int requestId, Throwable e) {
+            Throwable cause = e.getCause() != null && e.getMessage() == null ? e.getCause() : e;
+            String message = String.valueOf(cause.getMessage());
+            send(requestId, LedgerProtocol.STATUS_ERROR, LedgerProtocol.payload(out -> LedgerProtocol.writeString(out, message)));
+        }
+
+        // Never blocks: a subscriber this far behind is dropped, which also frees a sender stuck writing to it
+        void enqueueEvent(byte[] event) {
+            if (!pendingEvents.offer(event)) {
+                System.err.println("⚠️ Ledger subscriber fell " + eventQueueCapacity + " commits behind; disconnecting it.");
+                close();
+                return;
+            }
+            if (!draining.compareAndSet(false, true)) {
+                return; // a sender is on it; one at a time keeps the events in order
+            }
+            try {
+                events.execute(this::drainEvents);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // shutting down
+            }
+        }
+
+        private void drainEvents() {
+            while (true) {
+                byte[] event = pendingEvents.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // an enqueue may have seen draining == true just before it was cleared
+                    if (pendingEvents.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                send(LedgerProtocol.EVENT_REQUEST_ID, LedgerProtocol.EVENT_COMMIT, event);
+            }
+        }
+
+        synchronized void send(int requestId, byte code, byte[] payload) {
+            if (!channel.isOpen()) return;
+            try {
+                LedgerProtocol.writeFrame(channel, requestId, code, payload);
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            subscribers.remove(this);
+            connections.remove(this);
+            pendingEvents.clear();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * How long {@link BlockchainService#logTransaction} waits for the ledger writer.
+ */
+public enum LedgerDurability {
+    ASYNC,   // Return as soon as the transaction is queued; the batch is written in the background
+    COMMIT,  // Wait until the batch containing the transaction is written to the segment file
+    FSYNC    // Wait until the batch is written AND forced to disk (implies at least PER_BATCH fsync)
+}
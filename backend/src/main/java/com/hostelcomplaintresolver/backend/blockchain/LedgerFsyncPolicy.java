@@ -0,0 +1,13 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+/**
+ * When the ledger writer forces appended blocks to disk (independent of how long callers wait,
+ * see {@link LedgerDurability}). Records are CRC-framed, so whatever was not forced before a crash
+ * is cut off as a torn tail on the next start; the policy only decides how much that can be.
+ */
+public enum LedgerFsyncPolicy {
+    NONE,        // Never force; the OS writes back whenever it likes (fastest, loses the page cache on power failure)
+    PER_APPEND,  // One fsync per block (safest, no group commit benefit)
+    PER_BATCH,   // One fsync per group-commit batch
+    INTERVAL     // At most one fsync per interval; bounds the loss window to that interval
+}
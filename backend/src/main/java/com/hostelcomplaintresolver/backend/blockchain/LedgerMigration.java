@@ -0,0 +1,56 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * ✅ One-way import of the legacy {@code blockchain_ledger/<complaintId>.json} chains into the ledger store.
+ *
+ * Blocks are copied with their original hashes, so previously issued hashes stay verifiable.
+ * Imported files are moved to {@code blockchain_ledger/imported-json/}. The import is idempotent:
+ * if it is interrupted, the next run only appends the blocks the store does not have yet.
+ */
+public final class LedgerMigration {
+
+    private static final String IMPORTED_FOLDER = "imported-json";
+
+    private LedgerMigration() {}
+
+    public static int importJsonChains(File ledgerFolder, LedgerStore store) {
+        File[] jsonFiles = ledgerFolder.listFiles((dir, name) -> name.endsWith(".json"));
+        if (jsonFiles == null || jsonFiles.length == 0) {
+            return 0;
+        }
+
+        Path importedDir = ledgerFolder.toPath().resolve(IMPORTED_FOLDER);
+        int imported = 0;
+
+        for (File file : jsonFiles) {
+            String complaintId = file.getName().substring(0, file.getName().length() - ".json".length());
+            try {
+                // Streamed block by block; resume from where a previous (interrupted) import stopped
+                try (JsonChainReader chain = new JsonChainReader(file)) {
+                    int alreadyImported = store.chainLength(complaintId);
+                    for (int i = 0; chain.hasNext(); i++) {
+                        Block block = chain.next();
+                        if (i >= alreadyImported) {
+                            store.append(complaintId, block);
+                        }
+                    }
+                }
+
+                Files.createDirectories(importedDir);
+                Files.move(file.toPath(), importedDir.resolve(file.getName()), StandardCopyOption.REPLACE_EXISTING);
+                imported++;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("❌ Could not import ledger file " + file.getName() + ": " + e.getMessage());
+            }
+        }
+
+        System.out.println("📥 Imported " + imported + " legacy JSON chains into the ledger store.");
+        return imported;
+    }
+}
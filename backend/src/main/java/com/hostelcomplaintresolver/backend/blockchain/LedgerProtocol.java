@@ -0,0 +1,241 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ✅ Wire format between {@link LedgerClient} and {@link LedgerDaemon}.
+ *
+ * Frame:    [int length][int requestId][byte code][payload], length = 5 + payload length
+ * Request:  code = operation (OP_*)
+ * Response: code = STATUS_OK or STATUS_ERROR (payload = message), same requestId as the request
+ * Event:    requestId 0, code = EVENT_COMMIT, pushed to subscribed connections after each commit
+ *
+ * Responses carry the request ID, so a client can pipeline many requests on one connection and
+ * the daemon can answer them out of order. Blocks travel as segment record bodies ({@link LedgerRecordCodec}).
+ */
+public final class LedgerProtocol {
+
+    public static final byte OP_APPEND = 1;
+    public static final byte OP_TIP = 2;
+    public static final byte OP_BLOCK = 3;
+    public static final byte OP_READ = 4;
+    public static final byte OP_CHAIN_IDS = 5;
+    public static final byte OP_VERIFY = 6;
+    public static final byte OP_RECEIPT = 7;
+    public static final byte OP_ARCHIVE = 8;
+    public static final byte OP_SUBSCRIBE = 9;
+    public static final byte OP_BLOCK_HEADER = 10;
+    public static final byte OP_LEASE = 11;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final byte EVENT_COMMIT = 100;
+
+    public static final int EVENT_REQUEST_ID = 0;
+    public static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private LedgerProtocol() {}
+
+    // ---------------- FRAMING ----------------
+
+    public static void writeFrame(WritableByteChannel channel, int requestId, byte code, byte[] payload) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(4 + 5 + payload.length);
+        frame.putInt(5 + payload.length).putInt(requestId).put(code).put(payload).flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * ✅ Reads one frame, or returns null at a clean end of stream.
+     */
+    public static Frame readFrame(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        if (!readFully(channel, header, true)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        if (length < 5 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid ledger frame length " + length);
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(channel, body, false);
+        body.flip();
+        int requestId = body.getInt();
+        byte code = body.get();
+        return new Frame(requestId, code, Arrays.copyOfRange(body.array(), 5, length));
+    }
+
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer, boolean eofAllowed) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (eofAllowed && buffer.position() == 0) return false;
+                throw new EOFException("Ledger connection closed mid-frame");
+            }
+        }
+        return true;
+    }
+
+    public static final class Frame {
+        public final int requestId;
+        public final byte code;
+        public final byte[] payload;
+
+        Frame(int requestId, byte code, byte[] payload) {
+            this.requestId = requestId;
+            this.code = code;
+            this.payload = payload;
+        }
+
+        public DataInputStream in() {
+            return new DataInputStream(new ByteArrayInputStream(payload));
+        }
+    }
+
+    // ---------------- PAYLOADS ----------------
+
+    /**
+     * Writes a payload with a DataOutputStream over a byte array.
+     */
+    public interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    public static byte[] payload(PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writer.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error encoding ledger payload", e); // byte arrays do not fail
+        }
+    }
+
+    public static void writeBlock(DataOutputStream out, String complaintId, Block block) throws IOException {
+        byte[] record = LedgerRecordCodec.encode(complaintId, block);
+        out.writeInt(record.length - LedgerRecordCodec.HEADER_SIZE);
+        out.write(record, LedgerRecordCodec.HEADER_SIZE, record.length - LedgerRecordCodec.HEADER_SIZE);
+    }
+
+    public static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    public static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] b = new byte[length];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    public static Block readBlock(DataInputStream in) throws IOException {
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return LedgerRecordCodec.decodeBody(body);
+    }
+
+    public static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    public static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    public static void writeReceipt(DataOutputStream out, LedgerReceipt receipt) throws IOException {
+        writeString(out, receipt.getComplaintId());
+        writeString(out, receipt.getTransactionId());
+        out.writeInt(receipt.getBlockIndex());
+        writeString(out, receipt.getBlockHash());
+        writeTime(out, receipt.getCommittedAt());
+
+        Transaction t = receipt.getTransaction();
+        out.writeBoolean(t != null);
+        if (t != null) {
+            writeString(out, t.getTransactionId());
+            writeString(out, t.getComplaintId());
+            writeString(out, t.getUserId());
+            writeString(out, t.getAction());
+            writeString(out, t.getDescription());
+            writeTime(out, t.getTimestamp());
+        }
+
+        MerkleProof proof = receipt.getMerkleProof();
+        out.writeBoolean(proof != null);
+        if (proof != null) {
+            writeString(out, proof.getTransactionId());
+            writeString(out, proof.getLeafHash());
+            writeString(out, proof.getMerkleRoot());
+            out.writeInt(proof.getSteps().size());
+            for (MerkleProof.Step step : proof.getSteps()) {
+                writeString(out, step.getHash());
+                out.writeBoolean(step.isLeft());
+            }
+        }
+    }
+
+    public static LedgerReceipt readReceipt(DataInputStream in) throws IOException {
+        LedgerReceipt receipt = new LedgerReceipt(readString(in), readString(in), in.readInt(), readString(in), readTime(in));
+        if (in.readBoolean()) {
+            receipt.setTransaction(new Transaction(readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readTime(in)));
+        }
+        if (in.readBoolean()) {
+            String transactionId = readString(in);
+            String leafHash = readString(in);
+            String merkleRoot = readString(in);
+            int count = in.readInt();
+            List<MerkleProof.Step> steps = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                steps.add(new MerkleProof.Step(readString(in), in.readBoolean()));
+            }
+            receipt.setMerkleProof(new MerkleProof(transactionId, leafHash, merkleRoot, steps));
+        }
+        return receipt;
+    }
+
+    public static void writeVerification(DataOutputStream out, ChainVerificationResult result) throws IOException {
+        writeString(out, result.getComplaintId());
+        out.writeByte(result.getStatus().ordinal());
+        out.writeInt(result.getBlocksChecked());
+        out.writeInt(result.getFailedBlockIndex() == null ? -1 : result.getFailedBlockIndex());
+        writeString(out, result.getMessage());
+    }
+
+    public static ChainVerificationResult readVerification(DataInputStream in) throws IOException {
+        String complaintId = readString(in);
+        VerificationStatus status = VerificationStatus.values()[in.readByte()];
+        int blocksChecked = in.readInt();
+        int failed = in.readInt();
+        return new ChainVerificationResult(complaintId, status, blocksChecked, failed < 0 ? null : failed, readString(in));
+    }
+}
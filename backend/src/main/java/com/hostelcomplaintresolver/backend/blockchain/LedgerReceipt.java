@@ -0,0 +1,49 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Proof that a transaction was committed to a complaint chain.
+ */
+public class LedgerReceipt {
+    private String complaintId;
+    private String transactionId;
+    private int blockIndex;
+    private String blockHash;
+    private LocalDateTime committedAt;
+    private Transaction transaction;
+    private MerkleProof merkleProof; // null for single-transaction (legacy format) blocks
+
+    public LedgerReceipt() {}
+
+    public LedgerReceipt(String complaintId, String transactionId, int blockIndex,
+                         String blockHash, LocalDateTime committedAt) {
+        this.complaintId = complaintId;
+        this.transactionId = transactionId;
+        this.blockIndex = blockIndex;
+        this.blockHash = blockHash;
+        this.committedAt = committedAt;
+    }
+
+    // Getters and Setters
+    public String getComplaintId() { return complaintId; }
+    public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public int getBlockIndex() { return blockIndex; }
+    public void setBlockIndex(int blockIndex) { this.blockIndex = blockIndex; }
+
+    public String getBlockHash() { return blockHash; }
+    public void setBlockHash(String blockHash) { this.blockHash = blockHash; }
+
+    public LocalDateTime getCommittedAt() { return committedAt; }
+    public void setCommittedAt(LocalDateTime committedAt) { this.committedAt = committedAt; }
+
+    public Transaction getTransaction() { return transaction; }
+    public void setTransaction(Transaction transaction) { this.transaction = transaction; }
+
+    public MerkleProof getMerkleProof() { return merkleProof; }
+    public void setMerkleProof(MerkleProof merkleProof) { this.merkleProof = merkleProof; }
+}
@@ -0,0 +1,153 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ✅ Nightly check that every complaint's {@code status} matches the last action on its chain.
+ *
+ * Sort-merge join of two ID-ordered streams: the complaints table (read as a MySQL streaming
+ * result, one row in memory at a time) and the chain IDs of the ledger (sorted numerically into a
+ * {@code long[]}, 8 bytes per chain on top of the tips the store already keeps). Only the last block
+ * of each matched chain is read (a few more when priority escalations follow the last status change).
+ * Reports status mismatches, complaints without a chain and chains without a complaint; the report
+ * keeps the counts plus the first discrepancies only.
+ *
+ * Complaints changed while the job runs may show up as a mismatch if their transaction is still
+ * queued in the ledger writer; the next run settles them.
+ */
+@Component
+public class LedgerReconciler {
+
+    // Complaint.status that each ledger action leaves behind (see ComplaintService)
+    private static final Map<String, String> STATUS_AFTER = Map.of(
+            "RAISED", "RAISED",
+            "ASSIGNED", "ASSIGNED",
+            "RESOLVED", "RESOLVED",
+            "CLOSED", "CLOSED",
+            "ESCALATED", "ESCALATED",
+            "REVERTED", "IN_PROGRESS");
+
+    private final BlockchainService blockchainService;
+    private final JdbcTemplate streamingJdbc;
+    private final boolean enabled;
+
+    @Autowired
+    public LedgerReconciler(BlockchainService blockchainService,
+                            DataSource dataSource,
+                            @Value("${ledger.reconcile.enabled:true}") boolean enabled) {
+        this.blockchainService = blockchainService;
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${ledger.reconcile.cron:0 0 4 * * *}") // nightly, after archiving
+    public void scheduledReconcile() {
+        if (!enabled) return;
+        try {
+            reconcile();
+        } catch (Exception e) {
+            System.err.println("❌ Ledger reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Runs one full reconciliation now.
+     */
+    public synchronized ReconciliationReport reconcile() {
+        long start = System.currentTimeMillis();
+        ReconciliationReport report = new ReconciliationReport(LocalDateTime.now());
+
+        // 1. Ledger side: numeric chain IDs in ascending order (anything else cannot match a complaint)
+        Set<String> chainIds = blockchainService.getChainIds();
+        long[] chains = new long[chainIds.size()];
+        int chainCount = 0;
+        for (String chainId : chainIds) {
+            long id;
+            try {
+                id = Long.parseLong(chainId);
+            } catch (NumberFormatException e) {
+                report.addOrphanChain(chainId);
+                continue;
+            }
+            chains[chainCount++] = id;
+        }
+        Arrays.sort(chains, 0, chainCount);
+        report.setChainsChecked(chainIds.size());
+
+        // 2. Merge with the complaints streamed in the same order
+        int[] next = {0};
+        long[] complaints = {0};
+        int total = chainCount;
+        streamingJdbc.query("SELECT id, status FROM complaints ORDER BY id", rs -> {
+            long id = rs.getLong("id");
+            String status = rs.getString("status");
+            complaints[0]++;
+            while (next[0] < total && chains[next[0]] < id) {
+                report.addOrphanChain(String.valueOf(chains[next[0]++]));
+            }
+            if (next[0] < total && chains[next[0]] == id) {
+                next[0]++;
+                compare(String.valueOf(id), status, report);
+            } else {
+                report.addMissingChain(String.valueOf(id), status);
+            }
+        });
+        while (next[0] < total) {
+            report.addOrphanChain(String.valueOf(chains[next[0]++]));
+        }
+
+        report.setComplaintsChecked(complaints[0]);
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        System.out.println("🧮 Reconciled " + report.getComplaintsChecked() + " complaints with " + report.getChainsChecked()
+                + " chains: " + report.getStatusMismatches() + " status mismatches, " + report.getMissingChains()
+                + " missing chains, " + report.getOrphanChains() + " orphan chains (" + report.getDurationMillis() + " ms)");
+        return report;
+    }
+
+    private void compare(String complaintId, String status, ReconciliationReport report) {
+        ChainTip tip = blockchainService.getChainTip(complaintId);
+        String action = tip == null ? null : lastStatusAction(complaintId, tip.getLastIndex());
+        if (action == null) {
+            report.addMissingChain(complaintId, status);
+            return;
+        }
+        if (status != null && status.equals(STATUS_AFTER.get(action))) {
+            report.addMatch();
+        } else {
+            report.addStatusMismatch(complaintId, status, action);
+        }
+    }
+
+    /**
+     * Last action on the chain that sets the status, reading back from the tip past entries that
+     * leave it alone (priority escalations), or null if there is none.
+     */
+    private String lastStatusAction(String complaintId, int lastIndex) {
+        for (int index = lastIndex; index >= 1; index--) {
+            Block block = blockchainService.getBlock(complaintId, index);
+            List<Transaction> transactions = block == null ? null : block.getTransactions();
+            if (transactions == null) {
+                return null;
+            }
+            for (int i = transactions.size() - 1; i >= 0; i--) {
+                String action = transactions.get(i).getAction();
+                if (STATUS_AFTER.containsKey(action)) {
+                    return action;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,254 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * ✅ Compact binary encoding of a {@link Block} inside a ledger segment.
+ *
+ * Record layout: [int bodyLength][int crc32(body)][body]
+ * Body layout:   complaintId, index, timestamp, previousHash, hash, transactions..., [version, merkleRoot]
+ *
+ * The trailing version / Merkle root fields were added with multi-transaction blocks; records
+ * written before that simply end after the transactions and decode as {@link Block#FORMAT_LEGACY}.
+ */
+public final class LedgerRecordCodec {
+
+    public static final int HEADER_SIZE = 8;
+
+    private static final byte HASH_RAW = 0;
+    private static final byte HASH_TEXT = 1;
+
+    private LedgerRecordCodec() {}
+
+    /**
+     * ✅ Encodes a block (plus the complaint it belongs to) into a full segment record.
+     */
+    public static byte[] encode(String complaintId, Block block) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            writeString(out, complaintId);
+            out.writeInt(block.getIndex());
+            writeTime(out, block.getTimestamp());
+            writeHash(out, block.getPreviousHash());
+            writeHash(out, block.getHash());
+
+            List<Transaction> transactions = block.getTransactions();
+            out.writeInt(transactions == null ? 0 : transactions.size());
+            if (transactions != null) {
+                for (Transaction t : transactions) {
+                    writeString(out, t.getTransactionId());
+                    writeString(out, t.getComplaintId());
+                    writeString(out, t.getUserId());
+                    writeString(out, t.getAction());
+                    writeString(out, t.getDescription());
+                    writeTime(out, t.getTimestamp());
+                }
+            }
+            out.writeByte(block.getVersion());
+            writeHash(out, block.getMerkleRoot());
+            out.flush();
+
+            byte[] body = bytes.toByteArray();
+            byte[] record = new byte[HEADER_SIZE + body.length];
+            putInt(record, 0, body.length);
+            putInt(record, 4, crc(body));
+            System.arraycopy(body, 0, record, HEADER_SIZE, body.length);
+            return record;
+        } catch (IOException e) {
+            throw new RuntimeException("Error encoding ledger record for complaint " + complaintId, e);
+        }
+    }
+
+    /**
+     * ✅ Decodes a record body (without the 8-byte header) back into a block.
+     */
+    public static Block decodeBody(byte[] body) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+
+            readString(in); // complaintId, already known to the caller
+            Block block = new Block();
+            block.setIndex(in.readInt());
+            block.setTimestamp(readTime(in));
+            block.setPreviousHash(readHash(in));
+            block.setHash(readHash(in));
+
+            int count = in.readInt();
+            List<Transaction> transactions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Transaction t = new Transaction();
+                t.setTransactionId(readString(in));
+                t.setComplaintId(readString(in));
+                t.setUserId(readString(in));
+                t.setAction(readString(in));
+                t.setDescription(readString(in));
+                t.setTimestamp(readTime(in));
+                transactions.add(t);
+            }
+            block.setTransactions(transactions);
+
+            if (in.available() > 0) {
+                block.setVersion(in.readByte());
+                block.setMerkleRoot(readHash(in));
+            }
+            return block;
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupted ledger record", e);
+        }
+    }
+
+    /**
+     * ✅ Decodes only the header fields of a record body (index, timestamp, hashes, version, Merkle
+     * root): the transactions are skipped, not materialized, and the block has none.
+     */
+    public static Block decodeHeader(byte[] body) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+
+            skipString(in); // complaintId
+            Block block = new Block();
+            block.setIndex(in.readInt());
+            block.setTimestamp(readTime(in));
+            block.setPreviousHash(readHash(in));
+            block.setHash(readHash(in));
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                for (int field = 0; field < 5; field++) {
+                    skipString(in); // id, complaintId, userId, action, description
+                }
+                readTime(in);
+            }
+            block.setTransactions(List.of());
+
+            if (in.available() > 0) {
+                block.setVersion(in.readByte());
+                block.setMerkleRoot(readHash(in));
+            }
+            return block;
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupted ledger record", e);
+        }
+    }
+
+    /**
+     * ✅ Reads only the complaint ID of a record body (used when rebuilding the offset index).
+     */
+    public static String decodeComplaintId(byte[] body) {
+        try {
+            return readString(new DataInputStream(new ByteArrayInputStream(body)));
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupted ledger record", e);
+        }
+    }
+
+    public static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return (int) crc.getValue();
+    }
+
+    public static int getInt(byte[] buf, int off) {
+        return ((buf[off] & 0xff) << 24) | ((buf[off + 1] & 0xff) << 16)
+                | ((buf[off + 2] & 0xff) << 8) | (buf[off + 3] & 0xff);
+    }
+
+    private static void putInt(byte[] buf, int off, int v) {
+        buf[off] = (byte) (v >>> 24);
+        buf[off + 1] = (byte) (v >>> 16);
+        buf[off + 2] = (byte) (v >>> 8);
+        buf[off + 3] = (byte) v;
+    }
+
+    // ---------------- FIELD HELPERS ----------------
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len > 0 && in.skipBytes(len) != len) {
+            throw new EOFException("Truncated ledger record");
+        }
+    }
+
+    // LocalDateTime is stored field-exact so Block.calculateHash() (which uses toString()) stays stable
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        if (time == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    // 64-char lowercase hex hashes are stored as 32 raw bytes, anything else (e.g. genesis "0") as text
+    private static void writeHash(DataOutputStream out, String hash) throws IOException {
+        if (hash != null && hash.length() == 64 && isLowerHex(hash)) {
+            out.writeByte(HASH_RAW);
+            for (int i = 0; i < 64; i += 2) {
+                out.writeByte((Character.digit(hash.charAt(i), 16) << 4) | Character.digit(hash.charAt(i + 1), 16));
+            }
+        } else {
+            out.writeByte(HASH_TEXT);
+            writeString(out, hash);
+        }
+    }
+
+    private static String readHash(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        if (tag == HASH_TEXT) {
+            return readString(in);
+        }
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < 32; i++) {
+            int b = in.readUnsignedByte();
+            sb.append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isLowerHex(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) return false;
+        }
+        return true;
+    }
+}
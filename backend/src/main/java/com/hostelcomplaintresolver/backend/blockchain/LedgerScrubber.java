@@ -0,0 +1,145 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ Background integrity scrubber: re-verifies every chain, continuously, within a budget.
+ *
+ * Runs on its own low-priority thread (not the shared @Scheduled thread) and throttles itself:
+ * - I/O budget:  at most {@code maxBlocksPerSecond} blocks read per second
+ * - CPU budget:  busy for at most {@code cpuFraction} of wall time (sleeps for the rest)
+ * After a full pass it waits {@code passIntervalMs} before starting the next one.
+ * Chains are always verified in full (checkpoints ignored), so edits behind a checkpoint are still caught.
+ * With the ledger daemon the scrubber runs inside the daemon, not in the API processes.
+ */
+@Component
+public class LedgerScrubber {
+
+    private final BlockchainService blockchainService;
+    private final boolean enabled;
+    private final int maxBlocksPerSecond;
+    private final double cpuFraction;
+    private final long passIntervalMs;
+
+    private final Map<String, ChainVerificationResult> openFailures = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private volatile LocalDateTime lastPassCompletedAt;
+    private volatile long passes;
+    private volatile long chainsScrubbed;
+    private Thread scrubberThread;
+
+    @Autowired
+    public LedgerScrubber(BlockchainService blockchainService,
+                          @Value("${ledger.scrubber.enabled:true}") boolean enabled,
+                          @Value("${ledger.scrubber.max-blocks-per-second:500}") int maxBlocksPerSecond,
+                          @Value("${ledger.scrubber.cpu-fraction:0.05}") double cpuFraction,
+                          @Value("${ledger.scrubber.pass-interval-ms:600000}") long passIntervalMs) {
+        this.blockchainService = blockchainService;
+        this.enabled = enabled;
+        this.maxBlocksPerSecond = Math.max(1, maxBlocksPerSecond);
+        this.cpuFraction = Math.min(1.0, Math.max(0.01, cpuFraction));
+        this.passIntervalMs = passIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            System.out.println("🧹 Ledger scrubber disabled.");
+            return;
+        }
+        if (blockchainService.isDaemonClient()) {
+            System.out.println("🧹 Ledger scrubber runs in the ledger daemon.");
+            return;
+        }
+        running = true;
+        scrubberThread = new Thread(this::runLoop, "ledger-scrubber");
+        scrubberThread.setDaemon(true);
+        scrubberThread.setPriority(Thread.MIN_PRIORITY);
+        scrubberThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (scrubberThread != null) {
+            scrubberThread.interrupt();
+        }
+    }
+
+    private void runLoop() {
+        try {
+            while (running) {
+                scrubOnePass();
+                lastPassCompletedAt = LocalDateTime.now();
+                passes++;
+                Thread.sleep(passIntervalMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scrubOnePass() throws InterruptedException {
+        List<String> chainIds = new ArrayList<>(blockchainService.getChainIds());
+        Collections.shuffle(chainIds); // spread read load instead of always hitting the same segments first
+
+        long windowStart = System.nanoTime();
+        long blocksInWindow = 0;
+
+        for (String complaintId : chainIds) {
+            if (!running) return;
+
+            long workStart = System.nanoTime();
+            ChainVerificationResult result = blockchainService.verifyChain(complaintId, true);
+            long workNanos = System.nanoTime() - workStart;
+            chainsScrubbed++;
+
+            if (result.isValid() || result.getStatus() == VerificationStatus.MISSING) {
+                openFailures.remove(complaintId);
+            } else if (openFailures.put(complaintId, result) == null) {
+                System.err.println("❌ SCRUBBER ALERT: complaint " + complaintId + " -> "
+                        + result.getStatus() + " at block #" + result.getFailedBlockIndex() + " (" + result.getMessage() + ")");
+            }
+
+            // CPU budget: after working W, rest W * (1 - f) / f
+            long restNanos = (long) (workNanos * (1 - cpuFraction) / cpuFraction);
+
+            // I/O budget: never exceed maxBlocksPerSecond over the current one-second window
+            blocksInWindow += result.getBlocksChecked();
+            long elapsed = System.nanoTime() - windowStart;
+            long allowedNanos = blocksInWindow * 1_000_000_000L / maxBlocksPerSecond;
+            restNanos = Math.max(restNanos, allowedNanos - elapsed);
+            if (elapsed >= 1_000_000_000L) {
+                windowStart = System.nanoTime();
+                blocksInWindow = 0;
+            }
+
+            if (restNanos > 0) {
+                Thread.sleep(restNanos / 1_000_000, (int) (restNanos % 1_000_000));
+            }
+        }
+    }
+
+    // ---------------- STATUS ----------------
+
+    public boolean isRunning() { return running; }
+    public LocalDateTime getLastPassCompletedAt() { return lastPassCompletedAt; }
+    public long getPasses() { return passes; }
+    public long getChainsScrubbed() { return chainsScrubbed; }
+
+    public List<ChainVerificationResult> getOpenFailures() {
+        return new ArrayList<>(openFailures.values());
+    }
+}
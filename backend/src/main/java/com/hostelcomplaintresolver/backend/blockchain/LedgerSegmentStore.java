@@ -0,0 +1,925 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * ✅ Append-only ledger storage engine.
+ *
+ * Blocks of every complaint are appended as compact binary records (see {@link LedgerRecordCodec})
+ * to numbered segment files. A per-complaint offset index (persisted in {@code offsets.idx}) maps each
+ * complaint to the positions of its blocks, so an append is a single write and never rewrites history.
+ *
+ * Cold chains can be moved into compressed packs ({@link LedgerArchive}); reads stay transparent.
+ * A chain may then be split: blocks 1..k in the archive, k+1..n in the segments (if it got new
+ * blocks after archiving). Where both hold a block (briefly, while archiving), the segment copy wins.
+ */
+public class LedgerSegmentStore implements LedgerStore {
+
+    private static final long SEGMENT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String OFFSET_INDEX_FILE = "offsets.idx";
+    private static final String TIP_INDEX_FILE = "tips.idx";
+    private static final String ARCHIVE_FOLDER = "archive";
+    private static final double COMPACTION_LIVE_RATIO = 0.5;
+
+    private final Path directory;
+    private final Map<String, ChainOffsets> offsets = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    private final Set<Integer> retiredSegments = new HashSet<>();
+    private final Object writeLock = new Object();
+    private final Object archiveLock = new Object(); // one archive / compaction run at a time
+    private final LedgerArchive archive;
+
+    private FileChannel activeSegment;
+    private int activeSegmentNo;
+    private long activeSize;
+    private FileChannel offsetIndex;
+    private ChainTipIndex tipIndex;
+    private long highestIndexedPosition = -1;
+
+    public LedgerSegmentStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            archive = new LedgerArchive(directory.resolve(ARCHIVE_FOLDER));
+            loadOffsetIndex();
+            dropArchivedOffsets();
+            openActiveSegment();
+            repairTornIndexTail();
+            recoverUnindexedTail();
+            tipIndex = new ChainTipIndex(directory.resolve(TIP_INDEX_FILE));
+            reconcileTips();
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening ledger segment store: " + directory, e);
+        }
+    }
+
+    // ---------------- WRITE PATH ----------------
+
+    /**
+     * ✅ Group commit: writes a batch of blocks with one segment write and one index write,
+     * optionally followed by a single fsync for the whole batch. Cost is independent of the chain length.
+     *
+     * A batch goes into one segment (rolled first if the batch does not fit), and nothing in memory
+     * moves until both writes succeeded; a failed write is cut off again, so the next batch starts
+     * where this one did instead of behind a hole.
+     */
+    @Override
+    public void appendAll(List<Append> appends, boolean fsync) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        byte[][] records = new byte[appends.size()][];
+        long batchBytes = 0;
+        for (int i = 0; i < records.length; i++) {
+            Append append = appends.get(i);
+            ChainTipIndex.checkFits(append.getComplaintId(), append.getBlock().getHash()); // before anything is written
+            records[i] = LedgerRecordCodec.encode(append.getComplaintId(), append.getBlock());
+            batchBytes += records[i].length;
+        }
+
+        synchronized (writeLock) {
+            try {
+                if (activeSize > 0 && activeSize + batchBytes > SEGMENT_MAX_BYTES) {
+                    rollSegment();
+                }
+                long[] positions = new long[records.length];
+                ByteArrayOutputStream pending = new ByteArrayOutputStream((int) batchBytes);
+                ByteArrayOutputStream indexEntries = new ByteArrayOutputStream();
+                long batchStart = activeSize;
+                long offset = batchStart;
+
+                for (int i = 0; i < records.length; i++) {
+                    positions[i] = toPosition(activeSegmentNo, offset);
+                    pending.write(records[i]);
+                    offset += records[i].length;
+                    encodeOffsetEntry(indexEntries, appends.get(i).getComplaintId(), appends.get(i).getBlock().getIndex(), positions[i]);
+                }
+                long indexStart = offsetIndex.position();
+                try {
+                    writeFully(activeSegment, ByteBuffer.wrap(pending.toByteArray()), batchStart);
+                    writeOffsetEntries(indexEntries.toByteArray());
+                } catch (IOException e) {
+                    cutBack(batchStart, indexStart, e);
+                    throw e;
+                }
+                activeSize = offset;
+
+                for (int i = 0; i < positions.length; i++) {
+                    Append append = appends.get(i);
+                    offsets.computeIfAbsent(append.getComplaintId(), k -> new ChainOffsets(append.getBlock().getIndex())).add(positions[i]);
+                    tipIndex.update(new ChainTip(append.getComplaintId(), append.getBlock().getIndex(), append.getBlock().getHash(), positions[i]));
+                }
+                highestIndexedPosition = positions[positions.length - 1];
+
+                if (fsync) {
+                    activeSegment.force(false);
+                    offsetIndex.force(false);
+                    tipIndex.force();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error appending ledger batch of " + appends.size() + " blocks", e);
+            }
+        }
+    }
+
+    // Drops what a failed batch left at the end of the segment and the offset index
+    private void cutBack(long segmentSize, long indexSize, IOException failure) {
+        try {
+            activeSegment.truncate(segmentSize);
+            offsetIndex.truncate(indexSize);
+        } catch (IOException e) {
+            failure.addSuppressed(e); // recovery on the next open drops the torn tail instead
+        }
+    }
+
+    /**
+     * ✅ Forces everything appended so far (segment, offset index, tips) to disk.
+     */
+    @Override
+    public void force() {
+        synchronized (writeLock) {
+            try {
+                activeSegment.force(false);
+                offsetIndex.force(false);
+                tipIndex.force();
+            } catch (IOException e) {
+                throw new RuntimeException("Error forcing the ledger to disk", e);
+            }
+        }
+    }
+
+    // ---------------- ARCHIVING / COMPACTION ----------------
+
+    /**
+     * ✅ Moves the segment blocks of the given chains into one compressed pack, then compacts the segments.
+     *
+     * The pack is made durable before any block is dropped from the segments. Blocks appended to a
+     * chain while it is being archived simply stay in the segments. Appends wait while the
+     * segments are compacted.
+     *
+     * Runs are serialized (nightly archiver, admin endpoint): the snapshot, the pack write and the
+     * drop happen under one lock, so two runs can never pack and drop the same blocks twice.
+     */
+    @Override
+    public ArchiveReport archiveChains(Collection<String> complaintIds) {
+        synchronized (archiveLock) {
+            return archiveChainsLocked(complaintIds);
+        }
+    }
+
+    private ArchiveReport archiveChainsLocked(Collection<String> complaintIds) {
+        long segmentBytesBefore = segmentBytes();
+        Map<String, Integer> archivedCounts = new LinkedHashMap<>();
+        int blocks = 0;
+
+        try (LedgerArchive.PackWriter pack = archive.newPack()) {
+            for (String complaintId : complaintIds) {
+                // re-checked under the lock: a run that finished meanwhile may have archived it already
+                if (unarchivedBlockCount(complaintId) == 0) continue;
+                ChainOffsets.View view = offsets.get(complaintId).snapshot();
+                if (view.positions.length == 0) continue;
+                if (view.firstIndex != archive.archivedLength(complaintId) + 1) {
+                    System.err.println("⚠️ Not archiving chain " + complaintId + ": segments and archive are not contiguous");
+                    continue;
+                }
+                pack.addChain(complaintId, new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < view.positions.length;
+                    }
+
+                    @Override
+                    public byte[] next() {
+                        try {
+                            return readBody(view.positions[next++]);
+                        } catch (IOException e) {
+                            throw new RuntimeException("Error reading ledger chain " + complaintId + " for archiving", e);
+                        }
+                    }
+                });
+                archivedCounts.put(complaintId, view.positions.length);
+                blocks += view.positions.length;
+            }
+            if (pack.isEmpty()) {
+                return new ArchiveReport(0, 0, segmentBytesBefore, segmentBytesBefore, archive.diskBytes());
+            }
+            pack.commit();
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing ledger archive pack", e);
+        }
+
+        synchronized (writeLock) {
+            for (Map.Entry<String, Integer> archived : archivedCounts.entrySet()) {
+                ChainOffsets chain = offsets.get(archived.getKey());
+                chain.dropFirst(archived.getValue());
+                if (chain.size() == 0) {
+                    offsets.remove(archived.getKey());
+                    tipIndex.remove(archived.getKey());
+                }
+            }
+            compact();
+        }
+        return new ArchiveReport(archivedCounts.size(), blocks, segmentBytesBefore, segmentBytes(), archive.diskBytes());
+    }
+
+    /**
+     * Copies the live records of mostly-dead sealed segments to the active segment, rewrites the
+     * offset index without dead entries and deletes the emptied segments. Caller holds the archive
+     * and write locks.
+     */
+    private void compact() {
+        try {
+            // Segments deleted by the previous compaction: no in-flight scan can still be reading them
+            for (int segmentNo : retiredSegments) {
+                FileChannel reader = readers.remove(segmentNo);
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+            retiredSegments.clear();
+
+            // 1. Live bytes per segment; a mostly-dead active segment is sealed so it can be compacted too
+            Map<Integer, Long> liveBytes = new HashMap<>();
+            for (ChainOffsets chain : offsets.values()) {
+                for (long position : chain.snapshot().positions) {
+                    liveBytes.merge(segmentOf(position), (long) recordLength(position), Long::sum);
+                }
+            }
+            if (activeSize > 0 && liveBytes.getOrDefault(activeSegmentNo, 0L) < activeSize * COMPACTION_LIVE_RATIO) {
+                rollSegment();
+            }
+            Set<Integer> victims = new TreeSet<>();
+            for (int segmentNo : listSegments()) {
+                if (segmentNo == activeSegmentNo) continue;
+                long size = Files.size(segmentPath(segmentNo));
+                if (liveBytes.getOrDefault(segmentNo, 0L) < size * COMPACTION_LIVE_RATIO) {
+                    victims.add(segmentNo);
+                }
+            }
+            if (victims.isEmpty()) {
+                rewriteOffsetIndex();
+                return;
+            }
+
+            // 2. Move live records out of the victims (raw copy, CRC preserved)
+            int moved = 0;
+            for (Map.Entry<String, ChainOffsets> entry : offsets.entrySet()) {
+                ChainOffsets chain = entry.getValue();
+                long[] positions = chain.snapshot().positions;
+                for (int i = 0; i < positions.length; i++) {
+                    if (!victims.contains(segmentOf(positions[i]))) continue;
+                    byte[] body = readBody(positions[i]);
+                    byte[] record = new byte[LedgerRecordCodec.HEADER_SIZE + body.length];
+                    ByteBuffer.wrap(record).putInt(body.length).putInt(LedgerRecordCodec.crc(body)).put(body);
+
+                    if (activeSize > 0 && activeSize + record.length > SEGMENT_MAX_BYTES) {
+                        rollSegment();
+                    }
+                    long newPosition = toPosition(activeSegmentNo, activeSize);
+                    writeFully(activeSegment, ByteBuffer.wrap(record), activeSize);
+                    activeSize += record.length;
+                    chain.set(i, newPosition);
+                    if (i == positions.length - 1) {
+                        ChainTip tip = tipIndex.get(entry.getKey());
+                        tipIndex.update(new ChainTip(entry.getKey(), tip.getLastIndex(), tip.getLastHash(), newPosition));
+                    }
+                    moved++;
+                }
+            }
+            activeSegment.force(false);
+
+            // 3. New offset index first, then drop the old segments
+            rewriteOffsetIndex();
+            tipIndex.force();
+            for (int segmentNo : victims) {
+                // an open reader keeps the data readable for scans that started before the move
+                reader(segmentNo);
+                retiredSegments.add(segmentNo);
+                Files.deleteIfExists(segmentPath(segmentNo));
+            }
+            System.out.println("🗜️ Compacted " + victims.size() + " ledger segments (" + moved + " live records moved).");
+        } catch (IOException e) {
+            throw new RuntimeException("Error compacting ledger segments", e);
+        }
+    }
+
+    /**
+     * Rewrites offsets.idx from the in-memory index (temp file + atomic rename).
+     */
+    private void rewriteOffsetIndex() throws IOException {
+        Path indexPath = directory.resolve(OFFSET_INDEX_FILE);
+        Path tempPath = directory.resolve(OFFSET_INDEX_FILE + ".tmp");
+        long highest = -1;
+        try (FileChannel temp = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream entries = new ByteArrayOutputStream(64 * 1024);
+            for (Map.Entry<String, ChainOffsets> entry : offsets.entrySet()) {
+                ChainOffsets.View view = entry.getValue().snapshot();
+                for (int i = 0; i < view.positions.length; i++) {
+                    encodeOffsetEntry(entries, entry.getKey(), view.firstIndex + i, view.positions[i]);
+                    highest = Math.max(highest, view.positions[i]);
+                }
+                if (entries.size() >= 64 * 1024) {
+                    writeFully(temp, ByteBuffer.wrap(entries.toByteArray()), temp.size());
+                    entries.reset();
+                }
+            }
+            writeFully(temp, ByteBuffer.wrap(entries.toByteArray()), temp.size());
+            temp.force(true);
+        }
+        offsetIndex.close();
+        Files.move(tempPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        BlockchainUtils.forceDirectory(directory);
+        offsetIndex = FileChannel.open(indexPath, StandardOpenOption.WRITE);
+        offsetIndex.position(offsetIndex.size());
+        highestIndexedPosition = highest;
+    }
+
+    private int recordLength(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LedgerRecordCodec.HEADER_SIZE);
+        readFully(reader(segmentOf(position)), header, offsetOf(position));
+        return LedgerRecordCodec.HEADER_SIZE + header.getInt(0);
+    }
+
+    public long segmentBytes() {
+        try {
+            long total = 0;
+            for (int segmentNo : listSegments()) {
+                total += Files.size(segmentPath(segmentNo));
+            }
+            return total;
+        } catch (IOException e) {
+            throw new RuntimeException("Error measuring ledger segments", e);
+        }
+    }
+
+    public LedgerArchive getArchive() {
+        return archive;
+    }
+
+    // ---------------- READ PATH ----------------
+
+    @Override
+    public int chainLength(String complaintId) {
+        ChainOffsets chain = offsets.get(complaintId);
+        int hotLength = chain == null ? 0 : chain.lastIndex();
+        return hotLength > 0 ? hotLength : archive.archivedLength(complaintId);
+    }
+
+    /**
+     * ✅ Number of blocks of a chain that are still in the segments (not archived).
+     */
+    @Override
+    public int unarchivedBlockCount(String complaintId) {
+        ChainOffsets chain = offsets.get(complaintId);
+        return chain == null ? 0 : chain.size();
+    }
+
+    /**
+     * ✅ Last index / hash of a chain from the persistent tip index, without touching the chain body.
+     */
+    @Override
+    public ChainTip tip(String complaintId) {
+        ChainTip tip = tipIndex.get(complaintId);
+        return tip != null ? tip : archive.tip(complaintId);
+    }
+
+    @Override
+    public Set<String> chainIds() {
+        if (archive.chainIds().isEmpty()) {
+            return Collections.unmodifiableSet(offsets.keySet());
+        }
+        Set<String> ids = new HashSet<>(offsets.keySet());
+        ids.addAll(archive.chainIds());
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * ✅ Walks the blocks of a complaint from a (1-based) block index, decoding one record per
+     * {@code next()}, so callers can scan a chain in constant memory and stop early.
+     * Archived blocks come first, then the blocks in the segments, each looked up by index when it
+     * is read (no copy of the chain's offsets), so a full scan costs O(n).
+     * Blocks appended after the call are not included.
+     */
+    @Override
+    public Iterator<Block> iterateBlocks(String complaintId, int fromIndex) {
+        ChainOffsets chain = offsets.get(complaintId);
+        ChainOffsets.Bounds hot = chain == null ? ChainOffsets.Bounds.EMPTY : chain.bounds();
+        Iterator<Block> archived = fromIndex < hot.firstIndex && archive.contains(complaintId)
+                ? archive.iterateBlocks(complaintId, fromIndex, hot.firstIndex - 1)
+                : Collections.emptyIterator();
+
+        return new Iterator<>() {
+            private int next = Math.max(fromIndex, hot.firstIndex);
+
+            @Override
+            public boolean hasNext() {
+                return archived.hasNext() || next <= hot.lastIndex;
+            }
+
+            @Override
+            public Block next() {
+                if (archived.hasNext()) {
+                    return archived.next();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int blockIndex = next++;
+                long position = chain.positionOf(blockIndex);
+                // -1: archived since the scan started, so it is read back from its pack
+                Block block = position >= 0 ? readBlock(position) : readBlock(complaintId, blockIndex);
+                if (block == null) {
+                    throw new IllegalStateException("Block #" + blockIndex + " of complaint " + complaintId + " is missing");
+                }
+                return block;
+            }
+        };
+    }
+
+    /**
+     * ✅ Reads only the newest block of a complaint (one positional read), or null if there is none.
+     */
+    @Override
+    public Block readLastBlock(String complaintId) {
+        return readBlock(complaintId, chainLength(complaintId));
+    }
+
+    /**
+     * ✅ Reads one block of a chain by its (1-based, contiguous) block index, or null if it does not exist.
+     */
+    @Override
+    public Block readBlock(String complaintId, int blockIndex) {
+        return readBlock(complaintId, blockIndex, false);
+    }
+
+    /**
+     * ✅ Header of one block; segment records are decoded without their transactions
+     * (archived blocks come out of their pack whole).
+     */
+    @Override
+    public Block readBlockHeader(String complaintId, int blockIndex) {
+        return readBlock(complaintId, blockIndex, true);
+    }
+
+    private Block readBlock(String complaintId, int blockIndex, boolean headerOnly) {
+        ChainOffsets chain = offsets.get(complaintId);
+        Block block = null;
+        long position = chain == null ? -1 : chain.positionOf(blockIndex);
+        if (position >= 0) {
+            block = headerOnly ? readBlockHeader(position) : readBlock(position);
+        }
+        if (block == null && blockIndex >= 1 && blockIndex <= archive.archivedLength(complaintId)) {
+            Iterator<Block> archived = archive.iterateBlocks(complaintId, blockIndex, blockIndex);
+            block = archived.hasNext() ? archived.next() : null;
+        }
+        return block != null && block.getIndex() == blockIndex ? block : null;
+    }
+
+    public Block readBlock(long position) {
+        try {
+            return LedgerRecordCodec.decodeBody(readBody(position));
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading ledger record at position " + position, e);
+        }
+    }
+
+    private Block readBlockHeader(long position) {
+        try {
+            return LedgerRecordCodec.decodeHeader(readBody(position));
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading ledger record at position " + position, e);
+        }
+    }
+
+    private byte[] readBody(long position) throws IOException {
+        FileChannel channel = reader(segmentOf(position));
+        long offset = offsetOf(position);
+
+        ByteBuffer header = ByteBuffer.allocate(LedgerRecordCodec.HEADER_SIZE);
+        readFully(channel, header, offset);
+        int length = header.getInt(0);
+        int crc = header.getInt(4);
+        if (length < 0 || length > MAX_RECORD_BYTES) {
+            throw new IOException("Invalid record length " + length + " at position " + position);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(channel, body, offset + LedgerRecordCodec.HEADER_SIZE);
+        if (LedgerRecordCodec.crc(body.array()) != crc) {
+            throw new IOException("Checksum mismatch at position " + position);
+        }
+        return body.array();
+    }
+
+    private FileChannel reader(int segmentNo) {
+        return readers.computeIfAbsent(segmentNo, no -> {
+            try {
+                return FileChannel.open(segmentPath(no), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new RuntimeException("Error opening ledger segment " + no, e);
+            }
+        });
+    }
+
+    // ---------------- STARTUP / RECOVERY ----------------
+
+    private void loadOffsetIndex() throws IOException {
+        Path indexPath = directory.resolve(OFFSET_INDEX_FILE);
+        long validBytes = 0;
+
+        if (Files.exists(indexPath)) {
+            try (InputStream raw = Files.newInputStream(indexPath);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+                while (true) {
+                    try {
+                        int idLength = in.readUnsignedShort();
+                        byte[] id = new byte[idLength];
+                        in.readFully(id);
+                        int blockIndex = in.readInt();
+                        long position = in.readLong();
+
+                        offsets.computeIfAbsent(new String(id, StandardCharsets.UTF_8), k -> new ChainOffsets(blockIndex))
+                                .add(position);
+                        highestIndexedPosition = Math.max(highestIndexedPosition, position);
+                        validBytes += 2 + idLength + 4 + 8;
+                    } catch (EOFException eof) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        offsetIndex = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        offsetIndex.truncate(validBytes); // drop a half-written trailing entry
+        offsetIndex.position(validBytes);
+    }
+
+    /**
+     * Drops offset entries of blocks that are already archived (crash after a pack was committed
+     * but before the offset index was rewritten).
+     */
+    private void dropArchivedOffsets() {
+        for (String complaintId : archive.chainIds()) {
+            ChainOffsets chain = offsets.get(complaintId);
+            if (chain == null) continue;
+            int archivedLength = archive.archivedLength(complaintId);
+            chain.dropFirst(Math.min(chain.size(), Math.max(0, archivedLength - chain.firstIndex() + 1)));
+            if (chain.size() == 0) {
+                offsets.remove(complaintId);
+            }
+        }
+    }
+
+    private void openActiveSegment() throws IOException {
+        List<Integer> segments = listSegments();
+        activeSegmentNo = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        activeSegment = FileChannel.open(segmentPath(activeSegmentNo),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSize = activeSegment.size();
+    }
+
+    /**
+     * Without an fsync the offset index can reach the disk before the records it points to. If the
+     * newest indexed record is torn, the segment is cut back to its last intact record and offsets.idx
+     * is rewritten without the entries past that point.
+     */
+    private void repairTornIndexTail() throws IOException {
+        if (highestIndexedPosition < 0) return;
+        try {
+            readBody(highestIndexedPosition);
+            return;
+        } catch (IOException torn) {
+            // fall through to the repair
+        }
+
+        int segmentNo = segmentOf(highestIndexedPosition);
+        long offset = 0;
+        long size = reader(segmentNo).size();
+        while (offset < size) {
+            try {
+                offset += LedgerRecordCodec.HEADER_SIZE + readBody(toPosition(segmentNo, offset)).length;
+            } catch (IOException torn) {
+                break;
+            }
+        }
+        System.err.println("⚠️ Offset index points past the intact records of segment " + segmentNo
+                + "; truncating at offset " + offset);
+        if (segmentNo == activeSegmentNo) {
+            activeSegment.truncate(offset);
+            activeSize = offset;
+        } else {
+            try (FileChannel sealed = FileChannel.open(segmentPath(segmentNo), StandardOpenOption.WRITE)) {
+                sealed.truncate(offset);
+            }
+        }
+
+        int dropped = 0;
+        for (Iterator<Map.Entry<String, ChainOffsets>> it = offsets.entrySet().iterator(); it.hasNext(); ) {
+            ChainOffsets chain = it.next().getValue();
+            dropped += chain.dropFrom(segmentNo, offset);
+            if (chain.size() == 0) {
+                it.remove();
+            }
+        }
+        rewriteOffsetIndex();
+        System.err.println("⚠️ Dropped " + dropped + " offset entries of torn ledger records.");
+    }
+
+    /**
+     * Indexes records that reached a segment but not the offset index (e.g. after a crash),
+     * and truncates a torn record at the tail of the active segment.
+     */
+    private void recoverUnindexedTail() throws IOException {
+        int startSegment = highestIndexedPosition < 0 ? 1 : segmentOf(highestIndexedPosition);
+        long startOffset = 0;
+        if (highestIndexedPosition >= 0) {
+            startOffset = offsetOf(highestIndexedPosition)
+                    + LedgerRecordCodec.HEADER_SIZE + readBody(highestIndexedPosition).length;
+        }
+
+        int recovered = 0;
+        for (int segmentNo : listSegments()) {
+            if (segmentNo < startSegment) continue;
+            long offset = segmentNo == startSegment ? startOffset : 0;
+            FileChannel channel = reader(segmentNo);
+            long size = channel.size();
+
+            while (offset < size) {
+                long position = toPosition(segmentNo, offset);
+                byte[] body;
+                try {
+                    body = readBody(position);
+                } catch (IOException torn) {
+                    if (segmentNo == activeSegmentNo) {
+                        System.err.println("⚠️ Truncating torn ledger record in segment " + segmentNo + " at offset " + offset);
+                        activeSegment.truncate(offset);
+                        activeSize = offset;
+                    }
+                    break;
+                }
+                Block block = LedgerRecordCodec.decodeBody(body);
+                String complaintId = LedgerRecordCodec.decodeComplaintId(body);
+                offset += LedgerRecordCodec.HEADER_SIZE + body.length;
+                if (block.getIndex() <= chainLength(complaintId)) {
+                    continue; // superseded copy (archived chain, or the source of a compaction move)
+                }
+                writeOffsetEntry(complaintId, block.getIndex(), position);
+                offsets.computeIfAbsent(complaintId, k -> new ChainOffsets(block.getIndex())).add(position);
+                highestIndexedPosition = position;
+                recovered++;
+            }
+        }
+        if (recovered > 0) {
+            System.out.println("🩹 Recovered " + recovered + " unindexed ledger records.");
+        }
+    }
+
+    /**
+     * Re-derives tips that are missing or behind the offset index (torn tip record, crash between
+     * the segment write and the tip update). Normally this reads nothing from the segments.
+     */
+    private void reconcileTips() {
+        for (ChainTip tip : new ArrayList<>(tipIndex.all())) {
+            if (!offsets.containsKey(tip.getComplaintId())) {
+                tipIndex.remove(tip.getComplaintId()); // chain was archived; its tip now comes from the pack
+            }
+        }
+        int repaired = 0;
+        for (Map.Entry<String, ChainOffsets> entry : offsets.entrySet()) {
+            ChainOffsets chain = entry.getValue();
+            if (chain.size() == 0) continue;
+
+            long lastPosition = chain.last();
+            ChainTip tip = tipIndex.get(entry.getKey());
+            if (tip == null || tip.getLastPosition() != lastPosition) {
+                Block last = readBlock(lastPosition);
+                tipIndex.update(new ChainTip(entry.getKey(), last.getIndex(), last.getHash(), lastPosition));
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            System.out.println("🩹 Rebuilt " + repaired + " chain tips from the ledger.");
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegment.force(false);
+        activeSegment.close();
+        activeSegmentNo++;
+        activeSegment = FileChannel.open(segmentPath(activeSegmentNo),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSize = 0;
+        System.out.println("📦 Rolled ledger to segment " + activeSegmentNo);
+    }
+
+    private void writeOffsetEntry(String complaintId, int blockIndex, long position) throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream(32);
+        encodeOffsetEntry(entry, complaintId, blockIndex, position);
+        writeOffsetEntries(entry.toByteArray());
+    }
+
+    private static void encodeOffsetEntry(ByteArrayOutputStream target, String complaintId, int blockIndex, long position)
+            throws IOException {
+        byte[] id = complaintId.getBytes(StandardCharsets.UTF_8);
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeShort(id.length);
+        out.write(id);
+        out.writeInt(blockIndex);
+        out.writeLong(position);
+        out.flush();
+    }
+
+    private void writeOffsetEntries(byte[] entries) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(entries);
+        while (buffer.hasRemaining()) {
+            offsetIndex.write(buffer);
+        }
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> segments.add(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path segmentPath(int segmentNo) {
+        return directory.resolve(String.format("%08d%s", segmentNo, SEGMENT_SUFFIX));
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            try {
+                activeSegment.force(false);
+                offsetIndex.force(false);
+                activeSegment.close();
+                offsetIndex.close();
+                tipIndex.close();
+                archive.close();
+                for (FileChannel reader : readers.values()) {
+                    reader.close();
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Error closing ledger store: " + e.getMessage());
+            }
+        }
+    }
+
+    // ---------------- POSITION HELPERS ----------------
+
+    static long toPosition(int segmentNo, long offset) {
+        return ((long) segmentNo << 32) | offset;
+    }
+
+    static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static long offsetOf(long position) {
+        return position & 0xffffffffL;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, offset);
+            if (n < 0) throw new EOFException("Unexpected end of ledger segment");
+            offset += n;
+        }
+    }
+
+    /**
+     * Growable list of record positions for one complaint chain, starting at block {@code firstIndex}
+     * (1 unless the start of the chain was archived).
+     */
+    private static final class ChainOffsets {
+        private long[] positions = new long[4];
+        private int size;
+        private int firstIndex;
+
+        ChainOffsets(int firstIndex) {
+            this.firstIndex = firstIndex;
+        }
+
+        synchronized void add(long position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        synchronized void set(int i, long position) { positions[i] = position; }
+
+        synchronized long last() { return positions[size - 1]; }
+
+        synchronized int size() { return size; }
+
+        synchronized int firstIndex() { return firstIndex; }
+
+        // Index of the newest block in the segments, 0 if there is none
+        synchronized int lastIndex() { return size == 0 ? 0 : firstIndex + size - 1; }
+
+        // Position of one block, -1 if it is not in the segments (O(1), nothing is copied)
+        synchronized long positionOf(int blockIndex) {
+            int i = blockIndex - firstIndex;
+            return i >= 0 && i < size ? positions[i] : -1;
+        }
+
+        synchronized Bounds bounds() { return new Bounds(firstIndex, firstIndex + size - 1); }
+
+        // Full copy, for whole-store passes only (archiving, compaction, index rewrite), never per read
+        synchronized View snapshot() { return new View(firstIndex, Arrays.copyOf(positions, size)); }
+
+        // Removes the first n blocks (they were archived)
+        synchronized void dropFirst(int n) {
+            positions = Arrays.copyOfRange(positions, n, Math.max(n + 4, positions.length));
+            size -= n;
+            firstIndex += n;
+        }
+
+        // Cuts the chain before its first block stored at or after {@code offset} of segment {@code segmentNo}
+        // (torn tail); returns the number dropped. Compared per segment, not by raw position: compaction
+        // moves records into newer segments, so a chain's positions need not increase.
+        synchronized int dropFrom(int segmentNo, long offset) {
+            int keep = 0;
+            while (keep < size && (segmentOf(positions[keep]) != segmentNo || offsetOf(positions[keep]) < offset)) {
+                keep++;
+            }
+            int dropped = size - keep;
+            size = keep;
+            return dropped;
+        }
+
+        /**
+         * Consistent bounds: blocks {@code firstIndex..lastIndex} are in the segments (none if
+         * {@code lastIndex < firstIndex}).
+         */
+        static final class Bounds {
+            static final Bounds EMPTY = new Bounds(Integer.MAX_VALUE, 0);
+
+            final int firstIndex;
+            final int lastIndex;
+
+            Bounds(int firstIndex, int lastIndex) {
+                this.firstIndex = firstIndex;
+                this.lastIndex = lastIndex;
+            }
+        }
+
+        /**
+         * Consistent snapshot: block {@code firstIndex + i} is at {@code positions[i]}.
+         */
+        static final class View {
+            final int firstIndex;
+            final long[] positions;
+
+            View(int firstIndex, long[] positions) {
+                this.firstIndex = firstIndex;
+                this.positions = positions;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ✅ Storage backend of the ledger: append-only per-complaint chains of blocks.
+ *
+ * {@code ledger.store=SEGMENT} (default) keeps the chains in local segment files
+ * ({@link LedgerSegmentStore}); {@code ledger.store=JDBC} keeps them in the application database
+ * ({@link JdbcLedgerStore}). Hash chaining and verification are the same for both; a store only
+ * persists the blocks it is given, in order, and serves them back.
+ */
+public interface LedgerStore extends Closeable {
+
+    /**
+     * ✅ Appends one block to the chain of a complaint.
+     */
+    default void append(String complaintId, Block block) {
+        appendAll(List.of(new Append(complaintId, block)), false);
+    }
+
+    /**
+     * ✅ Group commit: writes a batch of blocks as one unit. With {@code sync} the batch is
+     * durable when this returns.
+     */
+    void appendAll(List<Append> appends, boolean sync);
+
+    /**
+     * ✅ Makes everything appended so far durable.
+     */
+    void force();
+
+    /**
+     * ✅ Last index / hash of a chain, or null if the complaint has no chain.
+     */
+    ChainTip tip(String complaintId);
+
+    /**
+     * ✅ Number of blocks of a chain (0 if there is none).
+     */
+    int chainLength(String complaintId);
+
+    Set<String> chainIds();
+
+    /**
+     * ✅ Reads one block of a chain by its (1-based, contiguous) block index, or null if it does not exist.
+     */
+    Block readBlock(String complaintId, int blockIndex);
+
+    /**
+     * ✅ Reads the header of one block (hashes, version, Merkle root) without its transactions, or
+     * null if it does not exist. Enough to check a Merkle receipt; stores that cannot skip the
+     * transactions return the full block.
+     */
+    default Block readBlockHeader(String complaintId, int blockIndex) {
+        return readBlock(complaintId, blockIndex);
+    }
+
+    /**
+     * ✅ Reads only the newest block of a complaint, or null if there is none.
+     */
+    default Block readLastBlock(String complaintId) {
+        return readBlock(complaintId, chainLength(complaintId));
+    }
+
+    /**
+     * ✅ Walks the blocks of a complaint from a (1-based) block index in constant memory.
+     * Blocks appended after the call are not included.
+     */
+    Iterator<Block> iterateBlocks(String complaintId, int fromIndex);
+
+    /**
+     * ✅ Number of blocks of a chain that {@link #archiveChains} could still move to cold storage.
+     */
+    int unarchivedBlockCount(String complaintId);
+
+    /**
+     * ✅ Moves the given chains to cold storage (stores without one return an empty report).
+     */
+    ArchiveReport archiveChains(Collection<String> complaintIds);
+
+    @Override
+    void close();
+
+    /**
+     * One block to append to the chain of a complaint.
+     */
+    final class Append {
+        private final String complaintId;
+        private final Block block;
+
+        public Append(String complaintId, Block block) {
+            this.complaintId = complaintId;
+            this.block = block;
+        }
+
+        public String getComplaintId() { return complaintId; }
+        public Block getBlock() { return block; }
+    }
+}
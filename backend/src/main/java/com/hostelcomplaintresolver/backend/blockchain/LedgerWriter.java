@@ -0,0 +1,325 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Asynchronous group-commit writer for the ledger.
+ *
+ * Request threads only enqueue transactions into a bounded queue. One writer thread drains
+ * whatever is waiting (up to {@code maxBatch}), builds and hashes the blocks, and commits the
+ * whole batch to the ledger store with one write. When the batch is forced to disk is set by the
+ * {@link LedgerFsyncPolicy}; {@link LedgerDurability#FSYNC} needs a per-append or per-batch fsync.
+ * A full queue blocks the caller, which is the back-pressure under overload, until the writer is
+ * closed. Only the writer thread reads tips and builds blocks, so appends to one chain are ordered
+ * without any locking.
+ *
+ * With Merkle batching enabled, all transactions of one complaint that land in the same batch
+ * share one {@link Block#FORMAT_MERKLE} block, and each receipt carries its inclusion proof.
+ * {@code lingerMillis} lets the writer wait briefly for more transactions to fill a batch.
+ */
+public class LedgerWriter implements Closeable {
+
+    private final LedgerStore store;
+    private final BlockingQueue<PendingTransaction> queue;
+    private final int maxBatch;
+    private final LedgerFsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final boolean merkleBatching;
+    private final long lingerMillis;
+    private final Thread writerThread;
+    private final List<LedgerCommitListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+    private boolean unforcedWrites;
+    private long lastForcedAt = System.nanoTime();
+
+    public LedgerWriter(LedgerStore store,
+                        LedgerDurability durability, LedgerFsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                        int queueCapacity, int maxBatch, boolean merkleBatching, long lingerMillis) {
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        if (durability == LedgerDurability.FSYNC
+                && fsyncPolicy != LedgerFsyncPolicy.PER_APPEND && fsyncPolicy != LedgerFsyncPolicy.PER_BATCH) {
+            System.out.println("⚠️ FSYNC durability needs a forced write per commit; using PER_BATCH instead of " + fsyncPolicy);
+            fsyncPolicy = LedgerFsyncPolicy.PER_BATCH;
+        }
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = Math.max(1, fsyncIntervalMillis);
+        this.merkleBatching = merkleBatching;
+        this.lingerMillis = lingerMillis;
+
+        this.writerThread = new Thread(this::runLoop, "ledger-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * ✅ Queues a transaction. The future completes with the receipt once its batch is committed,
+     * or exceptionally if the writer is closed before it gets to it.
+     */
+    public CompletableFuture<LedgerReceipt> submit(Transaction transaction) {
+        return submit(transaction, false);
+    }
+
+    /**
+     * ✅ Like {@link #submit(Transaction)}; with {@code forceToDisk} the batch is forced to disk
+     * before the future completes, even if the fsync policy would not force it yet.
+     */
+    public CompletableFuture<LedgerReceipt> submit(Transaction transaction, boolean forceToDisk) {
+        PendingTransaction pending = new PendingTransaction(transaction, forceToDisk);
+        try {
+            while (!queue.offer(pending, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    pending.future.completeExceptionally(shutDown());
+                    return pending.future;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.completeExceptionally(e);
+            return pending.future;
+        }
+        // Closed meanwhile: the writer may have exited before it saw this one. Whoever removes it
+        // from the queue completes it, this thread or the writer's final drain.
+        if (!running && queue.remove(pending)) {
+            pending.future.completeExceptionally(shutDown());
+        }
+        return pending.future;
+    }
+
+    public void addCommitListener(LedgerCommitListener listener) {
+        listeners.add(listener);
+    }
+
+    public int queuedTransactions() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        List<PendingTransaction> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransaction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    forceIfDue(); // an idle writer still honours the interval
+                    continue;
+                }
+
+                batch.add(first);
+                if (lingerMillis > 0 && queue.size() < maxBatch - 1) {
+                    Thread.sleep(lingerMillis); // let a burst accumulate into one batch
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // never let one bad batch kill the writer thread
+                System.err.println("❌ Ledger writer error: " + e.getMessage());
+                for (PendingTransaction p : batch) {
+                    p.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Interrupted, or submitted after the loop saw an empty queue: fail them rather than leave callers waiting
+        PendingTransaction leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(shutDown());
+        }
+    }
+
+    private static IllegalStateException shutDown() {
+        return new IllegalStateException("Ledger writer is shut down");
+    }
+
+    // Writes the appends; returns the chains whose appends were rejected as conflicting (the rest are written)
+    private Set<String> write(List<LedgerStore.Append> appends) {
+        Set<String> conflicting = new HashSet<>();
+        switch (fsyncPolicy) {
+            case PER_APPEND -> {
+                for (LedgerStore.Append append : appends) {
+                    if (conflicting.contains(append.getComplaintId())) continue; // would link to a rejected block
+                    try {
+                        store.appendAll(List.of(append), true);
+                    } catch (LedgerConflictException e) {
+                        conflicting.addAll(e.getConflictingChains());
+                    }
+                }
+            }
+            case PER_BATCH -> {
+                try {
+                    store.appendAll(appends, true);
+                } catch (LedgerConflictException e) {
+                    conflicting.addAll(e.getConflictingChains());
+                }
+            }
+            default -> {
+                try {
+                    store.appendAll(appends, false);
+                } catch (LedgerConflictException e) {
+                    conflicting.addAll(e.getConflictingChains());
+                }
+                if (!appends.isEmpty()) {
+                    unforcedWrites = true;
+                }
+                forceIfDue();
+            }
+        }
+        return conflicting;
+    }
+
+    private void forceNow() {
+        store.force();
+        unforcedWrites = false;
+        lastForcedAt = System.nanoTime();
+    }
+
+    private void forceIfDue() {
+        if (fsyncPolicy != LedgerFsyncPolicy.INTERVAL || !unforcedWrites) {
+            return;
+        }
+        if (System.nanoTime() - lastForcedAt >= TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis)) {
+            forceNow();
+        }
+    }
+
+    private void commit(List<PendingTransaction> batch) {
+        // Group transactions into blocks: one per transaction, or one per complaint in Merkle mode
+        Map<String, List<PendingTransaction>> groups = new LinkedHashMap<>();
+        List<List<PendingTransaction>> blocksToBuild = new ArrayList<>();
+        for (PendingTransaction pending : batch) {
+            if (merkleBatching) {
+                groups.computeIfAbsent(pending.transaction.getComplaintId(), k -> new ArrayList<>()).add(pending);
+            } else {
+                blocksToBuild.add(List.of(pending));
+            }
+        }
+        blocksToBuild.addAll(groups.values());
+
+        // Tips of chains touched earlier in this batch are not in the store yet
+        Map<String, ChainTip> batchTips = new HashMap<>();
+        List<LedgerStore.Append> appends = new ArrayList<>(blocksToBuild.size());
+        List<List<PendingTransaction>> accepted = new ArrayList<>(blocksToBuild.size());
+
+        for (List<PendingTransaction> members : blocksToBuild) {
+            String complaintId = members.get(0).transaction.getComplaintId();
+            try {
+                // O(1) lookup in the persistent tip index; the chain body is never read
+                ChainTip tip = batchTips.containsKey(complaintId)
+                        ? batchTips.get(complaintId)
+                        : store.tip(complaintId);
+
+                String previousHash = tip == null ? "0" : tip.getLastHash();
+                int newIndex = tip == null ? 1 : tip.getLastIndex() + 1;
+                Block newBlock;
+                if (merkleBatching) {
+                    List<Transaction> transactions = new ArrayList<>(members.size());
+                    for (PendingTransaction p : members) {
+                        transactions.add(p.transaction);
+                    }
+                    newBlock = new Block(newIndex, previousHash, transactions);
+                } else {
+                    newBlock = new Block(newIndex, previousHash, members.get(0).transaction);
+                }
+                batchTips.put(complaintId, new ChainTip(complaintId, newBlock.getIndex(), newBlock.getHash(), -1));
+                appends.add(new LedgerStore.Append(complaintId, newBlock));
+                accepted.add(members);
+            } catch (RuntimeException e) {
+                for (PendingTransaction p : members) {
+                    p.future.completeExceptionally(e);
+                }
+            }
+        }
+
+        Set<String> conflicting = write(appends);
+        if (fsyncPolicy != LedgerFsyncPolicy.PER_APPEND && fsyncPolicy != LedgerFsyncPolicy.PER_BATCH
+                && accepted.stream().flatMap(List::stream).anyMatch(p -> p.forceToDisk)) {
+            forceNow(); // a caller waits for FSYNC durability
+        }
+        List<LedgerStore.Append> committed = appends;
+        if (!conflicting.isEmpty()) {
+            committed = new ArrayList<>(appends.size());
+            for (LedgerStore.Append append : appends) {
+                if (!conflicting.contains(append.getComplaintId())) {
+                    committed.add(append);
+                }
+            }
+        }
+
+        LocalDateTime committedAt = LocalDateTime.now();
+        for (int i = 0; i < accepted.size(); i++) {
+            Block block = appends.get(i).getBlock();
+            List<PendingTransaction> members = accepted.get(i);
+            if (conflicting.contains(appends.get(i).getComplaintId())) {
+                // Another process extended this chain; the caller may retry, the next block links to the real tip
+                RuntimeException conflict = new LedgerConflictException(Set.of(appends.get(i).getComplaintId()));
+                for (PendingTransaction p : members) {
+                    p.future.completeExceptionally(conflict);
+                }
+                continue;
+            }
+            List<MerkleProof> proofs = block.getVersion() == Block.FORMAT_MERKLE
+                    ? MerkleTree.proofs(block.getTransactions())
+                    : null;
+            for (int leaf = 0; leaf < members.size(); leaf++) {
+                Transaction t = members.get(leaf).transaction;
+                LedgerReceipt receipt = new LedgerReceipt(
+                        t.getComplaintId(), t.getTransactionId(), block.getIndex(), block.getHash(), committedAt);
+                receipt.setTransaction(t);
+                if (proofs != null) {
+                    receipt.setMerkleProof(proofs.get(leaf));
+                }
+                members.get(leaf).future.complete(receipt);
+            }
+        }
+
+        for (LedgerCommitListener listener : listeners) {
+            try {
+                listener.onCommit(committed);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Ledger commit listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * ✅ Stops accepting work and drains everything already queued; anything submitted after that fails.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingTransaction {
+        final Transaction transaction;
+        final boolean forceToDisk;
+        final CompletableFuture<LedgerReceipt> future = new CompletableFuture<>();
+
+        PendingTransaction(Transaction transaction, boolean forceToDisk) {
+            this.transaction = transaction;
+            this.forceToDisk = forceToDisk;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Inclusion proof of one transaction in a multi-transaction block (or of one chain tip in an anchor,
+ * where {@code transactionId} is empty).
+ *
+ * Folding the leaf hash with the sibling hashes (one per tree level) must give the block's
+ * Merkle root, so a proof is checked in O(log n) without the other transactions of the block.
+ */
+public class MerkleProof {
+    private String transactionId;
+    private String leafHash;
+    private String merkleRoot;
+    private List<Step> steps = new ArrayList<>();
+
+    public MerkleProof() {}
+
+    public MerkleProof(String transactionId, String leafHash, String merkleRoot, List<Step> steps) {
+        this.transactionId = transactionId;
+        this.leafHash = leafHash;
+        this.merkleRoot = merkleRoot;
+        this.steps = steps;
+    }
+
+    /**
+     * ✅ Recomputes the root from the leaf and the sibling path and compares it with {@code merkleRoot}.
+     */
+    public boolean verify() {
+        if (leafHash == null || merkleRoot == null || steps == null) {
+            return false;
+        }
+        String current = leafHash;
+        for (Step step : steps) {
+            current = step.isLeft()
+                    ? MerkleTree.nodeHash(step.getHash(), current)
+                    : MerkleTree.nodeHash(current, step.getHash());
+        }
+        return current.equals(merkleRoot);
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getLeafHash() { return leafHash; }
+    public void setLeafHash(String leafHash) { this.leafHash = leafHash; }
+
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+
+    public List<Step> getSteps() { return steps; }
+    public void setSteps(List<Step> steps) { this.steps = steps; }
+
+    /**
+     * One sibling on the path to the root; {@code left} = the sibling is the left child.
+     */
+    public static class Step {
+        private String hash;
+        private boolean left;
+
+        public Step() {}
+
+        public Step(String hash, boolean left) {
+            this.hash = hash;
+            this.left = left;
+        }
+
+        public String getHash() { return hash; }
+        public void setHash(String hash) { this.hash = hash; }
+
+        public boolean isLeft() { return left; }
+        public void setLeft(boolean left) { this.left = left; }
+    }
+}
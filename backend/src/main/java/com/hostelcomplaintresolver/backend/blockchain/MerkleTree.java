@@ -0,0 +1,136 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Merkle tree over the transactions of a block.
+ *
+ * Leaves are SHA-256(0x00 || transaction fields), inner nodes SHA-256(0x01 || left || right),
+ * so a leaf can never be passed off as an inner node. An odd node at the end of a level is
+ * carried up unchanged (no duplication).
+ */
+public final class MerkleTree {
+
+    private static final byte[] LEAF_PREFIX = {0x00};
+    private static final byte[] NODE_PREFIX = {0x01};
+    private static final String FIELD_SEPARATOR = "\u001f";
+
+    private MerkleTree() {}
+
+    public static String leafHash(Transaction t) {
+        String fields = nullSafe(t.getTransactionId()) + FIELD_SEPARATOR
+                + nullSafe(t.getComplaintId()) + FIELD_SEPARATOR
+                + nullSafe(t.getUserId()) + FIELD_SEPARATOR
+                + nullSafe(t.getAction()) + FIELD_SEPARATOR
+                + nullSafe(t.getDescription()) + FIELD_SEPARATOR
+                + (t.getTimestamp() == null ? "" : t.getTimestamp().toString());
+        return BlockchainUtils.toHex(BlockchainUtils.sha256(LEAF_PREFIX, fields.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static String nodeHash(String left, String right) {
+        return BlockchainUtils.toHex(BlockchainUtils.sha256(
+                NODE_PREFIX, BlockchainUtils.fromHex(left), BlockchainUtils.fromHex(right)));
+    }
+
+    public static String root(List<Transaction> transactions) {
+        return rootOfLeaves(leaves(transactions));
+    }
+
+    /**
+     * ✅ Whether a block's stored Merkle root still matches its transactions. The hash of a batched
+     * block covers only the root, so this is what binds the transactions; single-transaction formats
+     * hash the transaction itself and always match.
+     */
+    public static boolean rootMatches(Block block) {
+        return block.getVersion() != Block.FORMAT_MERKLE || root(block.getTransactions()).equals(block.getMerkleRoot());
+    }
+
+    /**
+     * ✅ Root over already-hashed leaves (used for trees that are not made of transactions, e.g. chain anchors).
+     */
+    public static String rootOfLeaves(List<String> leafHashes) {
+        List<String> level = leafHashes;
+        if (level.isEmpty()) {
+            return BlockchainUtils.toHex(BlockchainUtils.sha256(LEAF_PREFIX));
+        }
+        while (level.size() > 1) {
+            level = nextLevel(level);
+        }
+        return level.get(0);
+    }
+
+    /**
+     * ✅ Builds the inclusion proof of the transaction at {@code leafIndex}.
+     */
+    public static MerkleProof proof(List<Transaction> transactions, int leafIndex) {
+        return proof(transactions.get(leafIndex).getTransactionId(), levels(leaves(transactions)), leafIndex);
+    }
+
+    /**
+     * ✅ Inclusion proof of the leaf at {@code leafIndex} in a tree over already-hashed leaves.
+     */
+    public static MerkleProof proofOfLeaf(List<String> leafHashes, int leafIndex) {
+        return proof(null, levels(leafHashes), leafIndex);
+    }
+
+    /**
+     * ✅ Inclusion proofs for every transaction of a block (the tree is built only once).
+     */
+    public static List<MerkleProof> proofs(List<Transaction> transactions) {
+        List<List<String>> levels = levels(leaves(transactions));
+        List<MerkleProof> proofs = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            proofs.add(proof(transactions.get(i).getTransactionId(), levels, i));
+        }
+        return proofs;
+    }
+
+    private static MerkleProof proof(String leafId, List<List<String>> levels, int leafIndex) {
+        List<MerkleProof.Step> steps = new ArrayList<>();
+        int i = leafIndex;
+        for (List<String> level : levels.subList(0, levels.size() - 1)) {
+            if (i % 2 == 1) {
+                steps.add(new MerkleProof.Step(level.get(i - 1), true));
+            } else if (i + 1 < level.size()) {
+                steps.add(new MerkleProof.Step(level.get(i + 1), false));
+            } // else: odd last node, carried up without a sibling
+            i /= 2;
+        }
+        String root = levels.get(levels.size() - 1).get(0);
+        return new MerkleProof(leafId, levels.get(0).get(leafIndex), root, steps);
+    }
+
+    // levels.get(0) = leaves ... last level = [root]
+    private static List<List<String>> levels(List<String> leafHashes) {
+        List<List<String>> levels = new ArrayList<>();
+        List<String> level = leafHashes;
+        levels.add(level);
+        while (level.size() > 1) {
+            level = nextLevel(level);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static List<String> leaves(List<Transaction> transactions) {
+        List<String> leaves = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            leaves.add(leafHash(t));
+        }
+        return leaves;
+    }
+
+    private static List<String> nextLevel(List<String> level) {
+        List<String> next = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            next.add(i + 1 < level.size() ? nodeHash(level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return next;
+    }
+
+    private static String nullSafe(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Outcome of one ledger-vs-database reconciliation run.
+ */
+public class ReconciliationReport {
+    private static final int MAX_DISCREPANCIES = 100;
+
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private long complaintsChecked;
+    private long chainsChecked;
+    private long matched;
+    private long statusMismatches; // last ledger action disagrees with Complaint.status
+    private long missingChains;    // complaint row without a chain
+    private long orphanChains;     // chain without a complaint row
+    private List<Discrepancy> discrepancies = new ArrayList<>();
+
+    public ReconciliationReport() {}
+
+    public ReconciliationReport(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void addMatch() {
+        matched++;
+    }
+
+    public void addStatusMismatch(String complaintId, String databaseStatus, String ledgerAction) {
+        statusMismatches++;
+        addDiscrepancy(new Discrepancy(complaintId, "STATUS_MISMATCH", databaseStatus, ledgerAction));
+    }
+
+    public void addMissingChain(String complaintId, String databaseStatus) {
+        missingChains++;
+        addDiscrepancy(new Discrepancy(complaintId, "MISSING_CHAIN", databaseStatus, null));
+    }
+
+    public void addOrphanChain(String complaintId) {
+        orphanChains++;
+        addDiscrepancy(new Discrepancy(complaintId, "ORPHAN_CHAIN", null, null));
+    }
+
+    private void addDiscrepancy(Discrepancy discrepancy) {
+        if (discrepancies.size() < MAX_DISCREPANCIES) { // keep the report bounded
+            discrepancies.add(discrepancy);
+        }
+    }
+
+    public boolean isConsistent() {
+        return statusMismatches == 0 && missingChains == 0 && orphanChains == 0;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public long getComplaintsChecked() { return complaintsChecked; }
+    public void setComplaintsChecked(long complaintsChecked) { this.complaintsChecked = complaintsChecked; }
+
+    public long getChainsChecked() { return chainsChecked; }
+    public void setChainsChecked(long chainsChecked) { this.chainsChecked = chainsChecked; }
+
+    public long getMatched() { return matched; }
+    public void setMatched(long matched) { this.matched = matched; }
+
+    public long getStatusMismatches() { return statusMismatches; }
+    public void setStatusMismatches(long statusMismatches) { this.statusMismatches = statusMismatches; }
+
+    public long getMissingChains() { return missingChains; }
+    public void setMissingChains(long missingChains) { this.missingChains = missingChains; }
+
+    public long getOrphanChains() { return orphanChains; }
+    public void setOrphanChains(long orphanChains) { this.orphanChains = orphanChains; }
+
+    public List<Discrepancy> getDiscrepancies() { return discrepancies; }
+    public void setDiscrepancies(List<Discrepancy> discrepancies) { this.discrepancies = discrepancies; }
+
+    /**
+     * One complaint whose database row and ledger chain disagree.
+     */
+    public static class Discrepancy {
+        private String complaintId;
+        private String kind;
+        private String databaseStatus;
+        private String ledgerAction;
+
+        public Discrepancy() {}
+
+        public Discrepancy(String complaintId, String kind, String databaseStatus, String ledgerAction) {
+            this.complaintId = complaintId;
+            this.kind = kind;
+            this.databaseStatus = databaseStatus;
+            this.ledgerAction = ledgerAction;
+        }
+
+        public String getComplaintId() { return complaintId; }
+        public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+        public String getKind() { return kind; }
+        public void setKind(String kind) { this.kind = kind; }
+
+        public String getDatabaseStatus() { return databaseStatus; }
+        public void setDatabaseStatus(String databaseStatus) { this.databaseStatus = databaseStatus; }
+
+        public String getLedgerAction() { return ledgerAction; }
+        public void setLedgerAction(String ledgerAction) { this.ledgerAction = ledgerAction; }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ✅ Transaction ID generator.
+ *
+ * Produces time-ordered version-7 UUID strings: a 48-bit Unix millisecond timestamp followed by
+ * random bits from {@link ThreadLocalRandom} (instead of the shared SecureRandom behind
+ * {@code UUID.randomUUID()}). Transaction IDs only need to be unique, not unguessable (they are
+ * never used as credentials). Because new IDs sort after old ones, inserts into indexes keyed by
+ * transaction ID (e.g. {@code ledger_audit}) land at the right edge of the B-tree instead of on
+ * random pages.
+ */
+public final class TransactionIds {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TransactionIds() {}
+
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0fffL); // unix_ts_ms, version 7, rand_a
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L; // IETF variant
+        return format(msb, lsb);
+    }
+
+    // Canonical 8-4-4-4-12 layout, built in one char[] (no UUID object, no per-part Strings)
+    static String format(long msb, long lsb) {
+        char[] chars = new char[36];
+        hex(chars, 0, msb >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, msb >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, msb, 4);
+        chars[18] = '-';
+        hex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, lsb, 12);
+        return new String(chars);
+    }
+
+    private static void hex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ✅ Front of the public verification endpoint: cached results keyed by chain tip, and a Bloom
+ * filter that turns away unknown complaint IDs before anything is looked up.
+ *
+ * A cached result is reused while the chain tip (index + hash) is unchanged; every committed
+ * append drops the entry of its chain. Entries also expire after {@code ttlMillis}, which bounds
+ * how long an edit made behind the ledger's back (caught by the scrubber) can be served as VALID.
+ *
+ * The filter only knows the chains it has seen commits for. When commit events may have been
+ * missed (the connection to the ledger daemon was re-opened), a Bloom miss is checked against the
+ * store until the filter has been rebuilt from the current chain IDs. With a shared database store
+ * other processes create chains this one never hears of, so there the filter is not used at all.
+ */
+@Service
+public class VerificationCache {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final int BLOOM_MIN_CAPACITY = 10_000;
+
+    private final BlockchainService blockchainService;
+    private final long ttlMillis;
+    private final Map<String, CachedResult> cache;
+    private volatile ChainIdFilter knownChains; // null when the store is shared
+    private volatile boolean filterStale;
+    private final Object filterLock = new Object();
+    private Set<String> addedDuringRebuild; // guarded by filterLock; non-null while a rebuild runs
+    private long eventsMissed; // guarded by filterLock; a rebuild only clears filterStale if none were missed meanwhile
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "verification-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public VerificationCache(BlockchainService blockchainService,
+                             @Value("${ledger.verify.cache-size:50000}") int maxEntries,
+                             @Value("${ledger.verify.cache-ttl-ms:60000}") long ttlMillis) {
+        this.blockchainService = blockchainService;
+        this.ttlMillis = ttlMillis;
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > maxEntries; // LRU
+            }
+        };
+    }
+
+    @PostConstruct
+    public void start() {
+        if (blockchainService.isSharedStore()) {
+            blockchainService.addCommitListener(this::invalidate);
+            return;
+        }
+        knownChains = ChainIdFilter.of(blockchainService.getChainIds(), BLOOM_MIN_CAPACITY, BLOOM_FALSE_POSITIVE_RATE);
+        blockchainService.addCommitListener(new LedgerCommitListener() {
+            @Override
+            public void onCommit(List<LedgerStore.Append> committed) {
+                VerificationCache.this.onCommit(committed);
+            }
+
+            @Override
+            public void onEventsMissed() {
+                synchronized (filterLock) {
+                    eventsMissed++;
+                    filterStale = true;
+                }
+                scheduleRebuild();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * ✅ Current tip of a chain, or null if the complaint has no chain (usually answered by the Bloom filter alone).
+     */
+    public ChainTip tip(String complaintId) {
+        if (knownChains == null) {
+            return blockchainService.getChainTip(complaintId);
+        }
+        if (filterStale) {
+            scheduleRebuild(); // retried here if the last rebuild failed
+        } else if (!knownChains.mightContain(complaintId)) {
+            return null;
+        }
+        return blockchainService.getChainTip(complaintId);
+    }
+
+    /**
+     * ✅ Verification result for a chain, re-verified only if its tip moved or the entry expired.
+     */
+    public ChainVerificationResult verify(String complaintId) {
+        return lookup(complaintId).getResult();
+    }
+
+    /**
+     * ✅ Like {@link #verify(String)}, together with the entity tag of that result.
+     */
+    public CachedResult lookup(String complaintId) {
+        ChainTip tip = tip(complaintId);
+        if (tip == null) {
+            return new CachedResult(null, new ChainVerificationResult(complaintId, VerificationStatus.MISSING, 0, null,
+                    "No blockchain found for complaint"), 0);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedResult cached = cache.get(complaintId);
+            if (cached != null && cached.matches(tip) && now - cached.verifiedAt < ttlMillis) {
+                return cached;
+            }
+        }
+
+        CachedResult verified = new CachedResult(tip, blockchainService.verifyChain(complaintId), now);
+        synchronized (cache) {
+            cache.put(complaintId, verified);
+        }
+        return verified;
+    }
+
+    private void onCommit(List<LedgerStore.Append> committed) {
+        invalidate(committed);
+        boolean saturated;
+        synchronized (filterLock) {
+            for (LedgerStore.Append append : committed) {
+                if (append.getBlock().getIndex() == 1) {
+                    knownChains.add(append.getComplaintId()); // a new chain
+                    if (addedDuringRebuild != null) {
+                        addedDuringRebuild.add(append.getComplaintId());
+                    }
+                }
+            }
+            saturated = knownChains.isSaturated();
+        }
+        if (saturated) {
+            scheduleRebuild();
+        }
+    }
+
+    private void invalidate(List<LedgerStore.Append> committed) {
+        synchronized (cache) {
+            for (LedgerStore.Append append : committed) {
+                cache.remove(append.getComplaintId());
+            }
+        }
+    }
+
+    // Rebuilds off the commit thread: with the daemon, that thread also reads the chain IDs being asked for
+    private void scheduleRebuild() {
+        synchronized (filterLock) {
+            if (addedDuringRebuild != null) {
+                return; // one already running
+            }
+            addedDuringRebuild = new HashSet<>(); // chains committed from here on, in case the snapshot misses them
+        }
+        try {
+            rebuilder.execute(this::rebuildFilter);
+        } catch (RuntimeException e) {
+            synchronized (filterLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuildFilter() {
+        long missedBefore;
+        synchronized (filterLock) {
+            missedBefore = eventsMissed;
+        }
+        try {
+            ChainIdFilter fresh = ChainIdFilter.of(blockchainService.getChainIds(), BLOOM_MIN_CAPACITY, BLOOM_FALSE_POSITIVE_RATE);
+            synchronized (filterLock) {
+                addedDuringRebuild.forEach(fresh::add);
+                knownChains = fresh;
+                filterStale = eventsMissed != missedBefore; // a reconnect during the snapshot: the next lookup rebuilds again
+                addedDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ Could not rebuild the chain ID filter: " + e.getMessage());
+            synchronized (filterLock) {
+                addedDuringRebuild = null; // stays stale: lookups keep checking the store
+            }
+        }
+    }
+
+    /**
+     * One verification of a chain, as of its tip at the time.
+     */
+    public static final class CachedResult {
+        final int tipIndex;
+        final String tipHash;
+        final ChainVerificationResult result;
+        final long verifiedAt;
+
+        CachedResult(ChainTip tip, ChainVerificationResult result, long verifiedAt) {
+            this.tipIndex = tip != null ? tip.getLastIndex() : 0;
+            this.tipHash = tip != null ? tip.getLastHash() : null;
+            this.result = result;
+            this.verifiedAt = verifiedAt;
+        }
+
+        boolean matches(ChainTip tip) {
+            return tip.getLastIndex() == tipIndex && tip.getLastHash().equals(tipHash);
+        }
+
+        public ChainVerificationResult getResult() {
+            return result;
+        }
+
+        /**
+         * Changes whenever the chain is re-verified (its tip moved or the cached result expired), so
+         * a client cannot hold on to a result past the TTL. Null unless the chain is valid: a failed
+         * verification is never cacheable.
+         */
+        public String getEtag() {
+            if (!result.isValid()) {
+                return null;
+            }
+            return "\"" + tipIndex + "-" + tipHash + "-" + Long.toHexString(verifiedAt) + "\"";
+        }
+    }
+}
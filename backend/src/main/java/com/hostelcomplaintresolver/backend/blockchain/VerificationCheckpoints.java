@@ -0,0 +1,32 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+/**
+ * ✅ Persisted "verified up to" checkpoint per chain: the last verified block index and its hash.
+ *
+ * Stored in the same memory-mapped fixed-record format as the chain-tip index, so checkpoints
+ * survive restarts and a torn record is simply dropped (that chain gets a full verification).
+ */
+public class VerificationCheckpoints implements Closeable {
+
+    private final ChainTipIndex records;
+
+    public VerificationCheckpoints(Path file) {
+        this.records = new ChainTipIndex(file);
+    }
+
+    public ChainTip get(String complaintId) {
+        return records.get(complaintId);
+    }
+
+    public void update(String complaintId, Block lastVerified) {
+        records.update(new ChainTip(complaintId, lastVerified.getIndex(), lastVerified.getHash(), -1));
+    }
+
+    @Override
+    public void close() {
+        records.close();
+    }
+}
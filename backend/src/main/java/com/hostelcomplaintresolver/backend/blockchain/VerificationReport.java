@@ -0,0 +1,52 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Summary of a bulk verification run. Only failing chains are listed individually.
+ */
+public class VerificationReport {
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private int chainsChecked;
+    private int validChains;
+    private long blocksChecked;
+    private List<ChainVerificationResult> failures = new ArrayList<>();
+
+    public VerificationReport() {}
+
+    public VerificationReport(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void add(ChainVerificationResult result) {
+        chainsChecked++;
+        blocksChecked += result.getBlocksChecked();
+        if (result.isValid()) {
+            validChains++;
+        } else {
+            failures.add(result);
+        }
+    }
+
+    // Getters and Setters
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public int getChainsChecked() { return chainsChecked; }
+    public void setChainsChecked(int chainsChecked) { this.chainsChecked = chainsChecked; }
+
+    public int getValidChains() { return validChains; }
+    public void setValidChains(int validChains) { this.validChains = validChains; }
+
+    public long getBlocksChecked() { return blocksChecked; }
+    public void setBlocksChecked(long blocksChecked) { this.blocksChecked = blocksChecked; }
+
+    public List<ChainVerificationResult> getFailures() { return failures; }
+    public void setFailures(List<ChainVerificationResult> failures) { this.failures = failures; }
+}
@@ -0,0 +1,10 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+public enum VerificationStatus {
+    VALID,            // Every hash recomputes and every block links to its predecessor
+    TAMPERED,         // A block's stored hash no longer matches its contents
+    MERKLE_MISMATCH,  // A batched block's Merkle root does not match its transactions
+    BROKEN_LINK,      // A block does not point to the hash of the block before it
+    MISSING,          // No chain exists for the complaint
+    ERROR             // The chain could not be read
+}
@@ -2,6 +2,7 @@ package com.hostelcomplaintresolver.backend.config;
 
 import com.hostelcomplaintresolver.backend.config.filter.JwtRequestFilter;
 import com.hostelcomplaintresolver.backend.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -53,6 +54,10 @@ public class SecurityConfig {
                         // ✅ NEW: ALLOW ERROR PAGE (Critical for debugging)
                         .requestMatchers("/error").permitAll()
 
+                        // ✅ Completion / timeout of event streams (/api/complaints/events) runs as an ASYNC
+                        // dispatch without the JWT filter; the stream itself was authorized when it was opened
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Keep old paths just in case
                         .requestMatchers("/api/users/register", "/api/users/login", "/api/users/forgot-password", "/api/users/reset-password").permitAll()
 
@@ -89,7 +94,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Last-Event-ID"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,12 +1,18 @@
 package com.hostelcomplaintresolver.backend.config;
 
+import com.hostelcomplaintresolver.backend.config.interceptor.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Maps the URL path "/uploads/**" to the file system directory "uploads/"
@@ -14,4 +20,11 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/");
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Public (unauthenticated) ledger checks are rate-limited per client
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/blockchain/verify/*", "/api/blockchain/receipt/verify", "/api/blockchain/anchors/proof/*");
+    }
+}
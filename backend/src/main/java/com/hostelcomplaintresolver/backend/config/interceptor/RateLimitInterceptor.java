@@ -0,0 +1,114 @@
+package com.hostelcomplaintresolver.backend.config.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Per-client token bucket for the public verification endpoints.
+ *
+ * Each client (the logged-in user, otherwise the remote address) gets {@code capacity} requests
+ * as a burst, refilled at {@code refillPerSecond}. An empty bucket answers 429 with Retry-After,
+ * so one scraper cannot keep the ledger busy for everyone else.
+ *
+ * Buckets live in a size-bounded LRU map. A bucket that has been idle long enough to refill
+ * completely is dropped from the cold end on the next request, so eviction costs O(1) per request.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final Map<String, TokenBucket> buckets = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > MAX_TRACKED_CLIENTS; // LRU
+        }
+    };
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleExpiryNanos; // idle this long, a bucket is full again and carries no state
+
+    public RateLimitInterceptor(@Value("${ledger.verify.rate-limit.capacity:20}") int capacity,
+                                @Value("${ledger.verify.rate-limit.refill-per-second:2}") double refillPerSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.refillPerNano = Math.max(0.001, refillPerSecond) / TimeUnit.SECONDS.toNanos(1);
+        this.idleExpiryNanos = (long) Math.ceil(this.capacity / refillPerNano);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.nanoTime();
+        TokenBucket bucket;
+        synchronized (buckets) {
+            expireIdle(now);
+            bucket = buckets.computeIfAbsent(clientKey(request), k -> new TokenBucket(capacity, now));
+            bucket.lastSeen = now;
+        }
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        return false;
+    }
+
+    // Access order puts the longest-idle buckets first: drop up to two expired ones per request
+    // (more than a request adds), stopping at the first one still in use
+    private void expireIdle(long now) {
+        Iterator<TokenBucket> it = buckets.values().iterator();
+        for (int i = 0; i < 2 && it.hasNext(); i++) {
+            if (now - it.next().lastSeen < idleExpiryNanos) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+        private long lastSeen; // guarded by the buckets map
+
+        TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        // 0 if a token was taken, otherwise the nanos until the next token
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+}
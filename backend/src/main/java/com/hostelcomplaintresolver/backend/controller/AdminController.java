@@ -1,8 +1,11 @@
 package com.hostelcomplaintresolver.backend.controller;
 
 import com.hostelcomplaintresolver.backend.dto.CreateUserRequest;
+import com.hostelcomplaintresolver.backend.dto.SnapshotReport;
+import com.hostelcomplaintresolver.backend.dto.UserSummary;
 import com.hostelcomplaintresolver.backend.model.User;
 import com.hostelcomplaintresolver.backend.service.AdminService;
+import com.hostelcomplaintresolver.backend.service.SnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +22,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private SnapshotService snapshotService;
+
     @PostMapping("/users")
     public ResponseEntity<User> createUser(@RequestBody CreateUserRequest createUserRequest) {
         User newUser = adminService.createUser(createUserRequest);
@@ -26,8 +32,40 @@ public class AdminController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = adminService.getNonStudentUsers();
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
+        List<UserSummary> users = adminService.getNonStudentUsers();
         return ResponseEntity.ok(users);
     }
-}
\ No newline at end of file
+
+    // ✅ Incremental snapshots of blockchain_ledger/ and uploads/ (oldest first)
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<String>> listSnapshots() {
+        return ResponseEntity.ok(snapshotService.listSnapshots());
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<SnapshotReport> createSnapshot() {
+        return new ResponseEntity<>(snapshotService.createSnapshot(), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/snapshots/{id}/verify")
+    public ResponseEntity<?> verifySnapshot(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(snapshotService.verifySnapshot(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // ✅ Restores into a staging folder next to the snapshots; stop the app before swapping it in
+    @PostMapping("/snapshots/{id}/restore")
+    public ResponseEntity<?> restoreSnapshot(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(snapshotService.restoreSnapshot(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,41 @@
 package com.hostelcomplaintresolver.backend.controller;
 
+import com.hostelcomplaintresolver.backend.blockchain.AnchorProof;
+import com.hostelcomplaintresolver.backend.blockchain.AnchorService;
+import com.hostelcomplaintresolver.backend.blockchain.ArchiveReport;
 import com.hostelcomplaintresolver.backend.blockchain.BlockchainService;
+import com.hostelcomplaintresolver.backend.blockchain.BulkVerificationService;
+import com.hostelcomplaintresolver.backend.blockchain.ChainAnchor;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerArchiver;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerAuditIndexer;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerExporter;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerReceipt;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerReconciler;
+import com.hostelcomplaintresolver.backend.blockchain.ReconciliationReport;
+import com.hostelcomplaintresolver.backend.blockchain.LedgerScrubber;
+import com.hostelcomplaintresolver.backend.blockchain.VerificationCache;
+import com.hostelcomplaintresolver.backend.blockchain.VerificationReport;
+import com.hostelcomplaintresolver.backend.dto.ReplayReport;
+import com.hostelcomplaintresolver.backend.model.Complaint;
+import com.hostelcomplaintresolver.backend.repository.ComplaintRepository;
+import com.hostelcomplaintresolver.backend.service.ComplaintReplayService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/blockchain")
@@ -14,15 +46,240 @@ public class BlockchainController {
     @Autowired
     private BlockchainService blockchainService;
 
-    // ✅ Verify a blockchain file for a complaint
-    @GetMapping("/verify/{complaintId}")
-    public ResponseEntity<String> verifyComplaintBlockchain(@PathVariable String complaintId) {
-        boolean isValid = blockchainService.verifyBlockchain(complaintId);
+    @Autowired
+    private BulkVerificationService bulkVerificationService;
+
+    @Autowired
+    private LedgerScrubber ledgerScrubber;
+
+    @Autowired
+    private LedgerArchiver ledgerArchiver;
+
+    @Autowired
+    private LedgerAuditIndexer ledgerAuditIndexer;
+
+    @Autowired
+    private AnchorService anchorService;
+
+    @Autowired
+    private VerificationCache verificationCache;
+
+    @Autowired
+    private LedgerExporter ledgerExporter;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
 
-        if (isValid) {
-            return ResponseEntity.ok("✅ Blockchain is valid for complaint ID: " + complaintId);
-        } else {
+    @Autowired
+    private ComplaintReplayService complaintReplayService;
+
+    @Autowired
+    private LedgerReconciler ledgerReconciler;
+
+    private static final int MAX_IDS_PER_REQUEST = 10_000;
+    private static final int MAX_AUDIT_PAGE_SIZE = 200;
+
+    // ✅ Verify a blockchain file for a complaint (public: cached per chain tip, ETag-aware, rate-limited)
+    @GetMapping("/verify/{complaintId}")
+    public ResponseEntity<String> verifyComplaintBlockchain(@PathVariable String complaintId, WebRequest request) {
+        VerificationCache.CachedResult verification = verificationCache.lookup(complaintId);
+        if (!verification.getResult().isValid()) {
             return ResponseEntity.status(400).body("❌ Blockchain tampering detected or file missing for complaint ID: " + complaintId);
         }
+        String etag = verification.getEtag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304, the chain has not been re-verified since the client's copy
+        }
+        return ResponseEntity.ok().eTag(etag).body("✅ Blockchain is valid for complaint ID: " + complaintId);
+    }
+
+    // ✅ WARDEN/ADMIN: Verify the whole ledger in parallel and get a report of broken chains
+    @GetMapping("/verify-all")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<VerificationReport> verifyAllChains() {
+        return ResponseEntity.ok(bulkVerificationService.verifyAll());
+    }
+
+    // ✅ WARDEN/ADMIN: Verify a list of complaint IDs in one call
+    @PostMapping("/verify")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> verifyChains(@RequestBody List<String> complaintIds) {
+        if (complaintIds == null || complaintIds.isEmpty()) {
+            return ResponseEntity.badRequest().body("Provide at least one complaint ID.");
+        }
+        if (complaintIds.size() > MAX_IDS_PER_REQUEST) {
+            return ResponseEntity.badRequest().body("At most " + MAX_IDS_PER_REQUEST + " complaint IDs per request.");
+        }
+        return ResponseEntity.ok(bulkVerificationService.verify(complaintIds));
+    }
+
+    // ✅ WARDEN/ADMIN: Audit query across all chains (e.g. every ESCALATED event last month), newest first
+    @GetMapping("/audit")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> searchAudit(
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_AUDIT_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("page must be >= 0 and size between 1 and " + MAX_AUDIT_PAGE_SIZE + ".");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now().plusDays(1);
+        return ResponseEntity.ok(ledgerAuditIndexer.search(blankToNull(userId), blankToNull(action), start, end, page, size));
+    }
+
+    // ✅ ADMIN: Rebuild the audit index from the ledger
+    @PostMapping("/audit/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildAuditIndex() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("indexedTransactions", ledgerAuditIndexer.rebuild());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ WARDEN/ADMIN: Stream the ledger as NDJSON (one block per line) for a complaint range and/or time window.
+    //    Pass the cursor of the last line received to resume an interrupted export.
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> exportLedger(
+            @RequestParam(value = "fromComplaint", required = false) String fromComplaint,
+            @RequestParam(value = "toComplaint", required = false) String toComplaint,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        String start = blankToNull(fromComplaint);
+        String end = blankToNull(toComplaint);
+        String resume = blankToNull(cursor);
+        if (resume != null && !LedgerExporter.isValidCursor(resume)) {
+            return ResponseEntity.badRequest().body("Invalid export cursor.");
+        }
+        StreamingResponseBody body = out -> ledgerExporter.export(out, start, end, from, to, resume);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledger-export.ndjson\"")
+                .body(body);
+    }
+
+    // ✅ ADMIN: Rebuild complaint status / staff / rating from the ledger (disaster recovery)
+    @PostMapping("/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReplayReport> replayLedger() {
+        return ResponseEntity.ok(complaintReplayService.replayAll());
+    }
+
+    // ✅ WARDEN/ADMIN: Check every complaint's status against the last action on its chain (normally runs nightly)
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<ReconciliationReport> reconcileLedger() {
+        return ResponseEntity.ok(ledgerReconciler.reconcile());
+    }
+
+    // ✅ ADMIN: Archive the chains of closed complaints now (normally runs nightly)
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ArchiveReport> archiveClosedChains() {
+        return ResponseEntity.ok(ledgerArchiver.archiveClosedComplaints());
+    }
+
+    // ✅ Global anchors (one Merkle root over the chain tips of each epoch), oldest first
+    @GetMapping("/anchors")
+    public ResponseEntity<List<ChainAnchor>> listAnchors() {
+        return ResponseEntity.ok(anchorService.listAnchors());
+    }
+
+    // ✅ ADMIN: Anchor the changed chain tips now (normally runs on a fixed interval)
+    @PostMapping("/anchors")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> anchorNow() {
+        ChainAnchor anchor;
+        try {
+            anchor = anchorService.anchorNow();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        if (anchor == null) {
+            return ResponseEntity.ok("No chain tip changed since the last anchor.");
+        }
+        return ResponseEntity.ok(anchor);
+    }
+
+    // ✅ WARDEN/ADMIN: Check one anchor against the ledger
+    @GetMapping("/anchors/{epoch}/verify")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> verifyAnchor(@PathVariable long epoch) {
+        return ResponseEntity.ok(anchorService.verifyAnchor(epoch));
+    }
+
+    // ✅ WARDEN/ADMIN: Check the links, roots and hashes of the whole anchor chain
+    @GetMapping("/anchors/verify")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> verifyAnchorChain() {
+        return ResponseEntity.ok(anchorService.verifyAnchorChain());
+    }
+
+    // ✅ Inclusion proof of a complaint's last anchored chain tip
+    @GetMapping("/anchors/proof/{complaintId}")
+    public ResponseEntity<?> getAnchorProof(@PathVariable String complaintId) {
+        AnchorProof proof = anchorService.proof(complaintId);
+        if (proof == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The chain of complaint " + complaintId + " is not anchored yet.");
+        }
+        return ResponseEntity.ok(proof);
+    }
+
+    // ✅ WARDEN/ADMIN: Status of the background integrity scrubber
+    @GetMapping("/scrubber")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> getScrubberStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("running", ledgerScrubber.isRunning());
+        response.put("passes", ledgerScrubber.getPasses());
+        response.put("chainsScrubbed", ledgerScrubber.getChainsScrubbed());
+        response.put("lastPassCompletedAt", ledgerScrubber.getLastPassCompletedAt());
+        response.put("openFailures", ledgerScrubber.getOpenFailures());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ Receipt (block + Merkle inclusion proof) for one transaction of a complaint
+    @GetMapping("/receipt/{complaintId}/{transactionId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getTransactionReceipt(@PathVariable String complaintId,
+                                                   @PathVariable String transactionId,
+                                                   Authentication authentication) {
+        // Students may only fetch receipts of their own complaints
+        boolean isStudent = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_STUDENT"));
+        if (isStudent) {
+            Optional<Complaint> complaint;
+            try {
+                complaint = complaintRepository.findById(Long.valueOf(complaintId));
+            } catch (NumberFormatException e) {
+                complaint = Optional.empty();
+            }
+            if (complaint.isEmpty() || !complaint.get().getStudent().getUserId().equals(authentication.getName())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only view receipts of your own complaints.");
+            }
+        }
+
+        LedgerReceipt receipt = blockchainService.getTransactionReceipt(complaintId, transactionId);
+        if (receipt == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("No transaction " + transactionId + " on the chain of complaint " + complaintId);
+        }
+        return ResponseEntity.ok(receipt);
+    }
+
+    // ✅ Check a previously issued receipt against the current ledger
+    @PostMapping("/receipt/verify")
+    public ResponseEntity<?> verifyReceipt(@RequestBody LedgerReceipt receipt) {
+        boolean valid = blockchainService.verifyReceipt(receipt);
+        return ResponseEntity.ok(Map.of("valid", valid));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 }
@@ -1,17 +1,22 @@
 package com.hostelcomplaintresolver.backend.controller;
 
 import com.hostelcomplaintresolver.backend.dto.AssignRequest;
+import com.hostelcomplaintresolver.backend.dto.ComplaintFilter;
+import com.hostelcomplaintresolver.backend.dto.ComplaintView;
 import com.hostelcomplaintresolver.backend.dto.CreateComplaintRequest;
 import com.hostelcomplaintresolver.backend.model.Complaint;
 import com.hostelcomplaintresolver.backend.repository.ComplaintRepository; // ✅ Added Import
+import com.hostelcomplaintresolver.backend.service.ComplaintEventHub;
 import com.hostelcomplaintresolver.backend.service.ComplaintService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.security.Principal;
@@ -31,6 +36,9 @@ public class ComplaintController {
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private ComplaintEventHub complaintEventHub;
+
     // ✅ STUDENT: Create a new complaint
     @PostMapping
     @PreAuthorize("hasRole('STUDENT')")
@@ -41,7 +49,7 @@ public class ComplaintController {
         String studentId = principal.getName();
         try {
             Complaint saved = complaintService.createComplaint(createComplaintRequest, studentId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ComplaintView.from(saved));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error creating complaint: " + e.getMessage());
@@ -64,7 +72,7 @@ public class ComplaintController {
 
         try {
             Complaint c = complaintService.reopenComplaintWithProof(id, reason, proof);
-            return ResponseEntity.ok(c);
+            return ResponseEntity.ok(ComplaintView.from(c));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -76,34 +84,109 @@ public class ComplaintController {
     public ResponseEntity<?> revertComplaint(@PathVariable Long id) {
         try {
             Complaint c = complaintService.revertComplaint(id);
-            return ResponseEntity.ok(c);
+            return ResponseEntity.ok(ComplaintView.from(c));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    // ✅ STUDENT: Fetch their own complaints
+    // ✅ STUDENT: Fetch their own complaints (newest MAX_PAGE_SIZE only; page with /my-complaints/search)
     @GetMapping("/my-complaints")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Complaint>> getMyComplaints(Principal principal) {
-        String studentId = principal.getName();
-        List<Complaint> complaints = complaintService.getComplaintsByStudent(studentId);
-        return ResponseEntity.ok(complaints);
+    public ResponseEntity<List<ComplaintView>> getMyComplaints(Principal principal) {
+        ComplaintFilter filter = new ComplaintFilter();
+        filter.setStudentId(principal.getName());
+        return ResponseEntity.ok(complaintService.getLatestComplaints(filter));
     }
 
-    // ✅ STAFF: Fetch assigned complaints
+    // ✅ STAFF: Fetch assigned complaints (newest MAX_PAGE_SIZE only; page with /my-assigned/search)
     @GetMapping("/my-assigned")
     @PreAuthorize("hasRole('STAFF')")
-    public ResponseEntity<?> getAssignedComplaints(Principal principal) {
-        String staffId = principal.getName();
-        return ResponseEntity.ok(complaintService.getAssignedComplaints(staffId));
+    public ResponseEntity<List<ComplaintView>> getAssignedComplaints(Principal principal) {
+        ComplaintFilter filter = new ComplaintFilter();
+        filter.setStaffId(principal.getName());
+        return ResponseEntity.ok(complaintService.getLatestComplaints(filter));
     }
 
-    // ✅ WARDEN/ADMIN: Fetch all complaints
+    // ✅ WARDEN/ADMIN: Fetch all complaints (newest MAX_PAGE_SIZE only; page with /search)
     @GetMapping
     @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
-    public ResponseEntity<List<Complaint>> getAllComplaints() {
-        return ResponseEntity.ok(complaintService.getAllComplaints());
+    public ResponseEntity<List<ComplaintView>> getAllComplaints() {
+        return ResponseEntity.ok(complaintService.getLatestComplaints(new ComplaintFilter()));
+    }
+
+    // ✅ WARDEN/ADMIN: One page of complaints, newest first, filtered on the server
+    //    ?status=RAISED&status=ESCALATED&priority=High&category=Plumbing&hostel=A&room=101
+    //    &from=2024-01-01&to=2024-01-31&size=50&cursor=<nextCursor of the previous page>
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<?> searchComplaints(ComplaintFilter filter,
+                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        filter.setStudentId(null);
+        filter.setStaffId(null);
+        return search(filter, cursor, size);
+    }
+
+    // ✅ STUDENT: Own complaints, paged like /search
+    @GetMapping("/my-complaints/search")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> searchMyComplaints(ComplaintFilter filter,
+                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                @RequestParam(value = "size", required = false) Integer size,
+                                                Principal principal) {
+        filter.setStudentId(principal.getName());
+        filter.setStaffId(null);
+        return search(filter, cursor, size);
+    }
+
+    // ✅ STAFF: Assigned complaints, paged like /search
+    @GetMapping("/my-assigned/search")
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<?> searchAssignedComplaints(ComplaintFilter filter,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "size", required = false) Integer size,
+                                                      Principal principal) {
+        filter.setStudentId(null);
+        filter.setStaffId(principal.getName());
+        return search(filter, cursor, size);
+    }
+
+    private ResponseEntity<?> search(ComplaintFilter filter, String cursor, Integer size) {
+        try {
+            return ResponseEntity.ok(complaintService.searchComplaints(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ WARDEN/ADMIN: Complaint count per status (dashboard KPIs)
+    @GetMapping("/stats/status")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<Map<String, Long>> getStatusCounts() {
+        return ResponseEntity.ok(complaintService.countByStatus());
+    }
+
+    // ✅ WARDEN/ADMIN: Assigned / resolved / average rating of every staff member
+    @GetMapping("/stats/staff")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getStaffSummary() {
+        return ResponseEntity.ok(complaintService.summarizeStaffPerformance());
+    }
+
+    // ✅ ANY ROLE: Live stream of complaint changes (students / staff get their own, wardens / admins all)
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                          Authentication authentication) {
+        boolean warden = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_WARDEN".equals(a.getAuthority()) || "ROLE_ADMIN".equals(a.getAuthority()));
+        try {
+            SseEmitter emitter = complaintEventHub.subscribe(authentication.getName(), warden, lastEventId);
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
     }
 
     // ✅ WARDEN/ADMIN: Assign complaint
@@ -113,7 +196,7 @@ public class ComplaintController {
                                              @RequestBody AssignRequest assignRequest) {
         try {
             Complaint updated = complaintService.assignComplaint(complaintId, assignRequest.getStaffId());
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok(ComplaintView.from(updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -125,7 +208,7 @@ public class ComplaintController {
     public ResponseEntity<?> resolveComplaint(@PathVariable Long complaintId, Principal principal) {
         try {
             Complaint updated = complaintService.resolveComplaint(complaintId, principal.getName());
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok(ComplaintView.from(updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -172,7 +255,7 @@ public class ComplaintController {
                     proof,
                     principal.getName()
             );
-            return ResponseEntity.ok(closedComplaint);
+            return ResponseEntity.ok(ComplaintView.from(closedComplaint));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -169,7 +169,7 @@ public class UserController {
     @GetMapping("/{userId}")
     public ResponseEntity<?> getUserById(@PathVariable String userId) {
         try {
-            return ResponseEntity.ok(userService.getUserById(userId));
+            return ResponseEntity.ok(userService.getUserProfile(userId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("User not found with ID: " + userId);
@@ -0,0 +1,58 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ A complaint state change pushed to dashboards over {@code GET /api/complaints/events}.
+ *
+ * Deliberately small: clients refresh the affected complaint (or list) themselves. {@code id} is set
+ * by {@code ComplaintEventHub} when the event is published and doubles as the SSE event ID.
+ */
+public class ComplaintEvent {
+
+    private String id;
+    private String type; // RAISED, ASSIGNED, RESOLVED, ESCALATED, REVERTED, CLOSED, PRIORITY_ESCALATED
+    private Long complaintId;
+    private String status;
+    private String priority;
+    private String studentId;
+    private String staffId;
+    private LocalDateTime at;
+
+    public ComplaintEvent() {}
+
+    public ComplaintEvent(String type, Long complaintId, String status, String priority, String studentId, String staffId) {
+        this.type = type;
+        this.complaintId = complaintId;
+        this.status = status;
+        this.priority = priority;
+        this.studentId = studentId;
+        this.staffId = staffId;
+        this.at = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getComplaintId() { return complaintId; }
+    public void setComplaintId(Long complaintId) { this.complaintId = complaintId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStaffId() { return staffId; }
+    public void setStaffId(String staffId) { this.staffId = staffId; }
+
+    public LocalDateTime getAt() { return at; }
+    public void setAt(LocalDateTime at) { this.at = at; }
+}
@@ -0,0 +1,58 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ✅ Filters of the complaint listing, bound from the query string (every field optional).
+ * {@code status} may repeat ({@code ?status=ASSIGNED&status=IN_PROGRESS}); {@code from}/{@code to}
+ * are inclusive dates on {@code createdAt}.
+ */
+public class ComplaintFilter {
+
+    private List<String> status;
+    private String priority;
+    private String category;
+    private String hostel;
+    private String room;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    // Set by the controller from the caller, never from the query string
+    private String studentId;
+    private String staffId;
+
+    // Getters and Setters
+    public List<String> getStatus() { return status; }
+    public void setStatus(List<String> status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getHostel() { return hostel; }
+    public void setHostel(String hostel) { this.hostel = hostel; }
+
+    public String getRoom() { return room; }
+    public void setRoom(String room) { this.room = room; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStaffId() { return staffId; }
+    public void setStaffId(String staffId) { this.staffId = staffId; }
+}
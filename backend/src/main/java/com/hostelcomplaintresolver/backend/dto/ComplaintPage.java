@@ -0,0 +1,27 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import java.util.List;
+
+/**
+ * ✅ One page of a complaint listing, newest first. Pass {@code nextCursor} back as {@code cursor}
+ * for the following page; it is null on the last page.
+ */
+public class ComplaintPage {
+
+    private List<ComplaintView> items;
+    private String nextCursor;
+
+    public ComplaintPage() {}
+
+    public ComplaintPage(List<ComplaintView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ComplaintView> getItems() { return items; }
+    public void setItems(List<ComplaintView> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,102 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import com.hostelcomplaintresolver.backend.model.Complaint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ What the API returns for a complaint: its own fields plus a {@link UserSummary} of the
+ * student, staff member and assigner. Built from complaints loaded with the
+ * {@code Complaint.WITH_PEOPLE} fetch plan, so mapping never triggers another query.
+ */
+public class ComplaintView {
+
+    private Long id;
+    private UserSummary student;
+    private UserSummary staff;
+    private UserSummary assignedTo;
+    private String roomNumber;
+    private String description;
+    private String category;
+    private String timeSlot;
+    private String proofImage;
+    private String status;
+    private String priority;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextEscalationAt;
+    private Integer rating;
+    private String feedback;
+
+    public ComplaintView() {}
+
+    public static ComplaintView from(Complaint c) {
+        ComplaintView view = new ComplaintView();
+        view.id = c.getId();
+        view.student = UserSummary.from(c.getStudent());
+        view.staff = UserSummary.from(c.getStaff());
+        view.assignedTo = UserSummary.from(c.getAssignedTo());
+        view.roomNumber = c.getRoomNumber();
+        view.description = c.getDescription();
+        view.category = c.getCategory();
+        view.timeSlot = c.getTimeSlot();
+        view.proofImage = c.getProofImage();
+        view.status = c.getStatus();
+        view.priority = c.getPriority();
+        view.createdAt = c.getCreatedAt();
+        view.nextEscalationAt = c.getNextEscalationAt();
+        view.rating = c.getRating();
+        view.feedback = c.getFeedback();
+        return view;
+    }
+
+    public static List<ComplaintView> fromAll(List<Complaint> complaints) {
+        return complaints.stream().map(ComplaintView::from).toList();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public UserSummary getStudent() { return student; }
+    public void setStudent(UserSummary student) { this.student = student; }
+
+    public UserSummary getStaff() { return staff; }
+    public void setStaff(UserSummary staff) { this.staff = staff; }
+
+    public UserSummary getAssignedTo() { return assignedTo; }
+    public void setAssignedTo(UserSummary assignedTo) { this.assignedTo = assignedTo; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getTimeSlot() { return timeSlot; }
+    public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
+
+    public String getProofImage() { return proofImage; }
+    public void setProofImage(String proofImage) { this.proofImage = proofImage; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getNextEscalationAt() { return nextEscalationAt; }
+    public void setNextEscalationAt(LocalDateTime nextEscalationAt) { this.nextEscalationAt = nextEscalationAt; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getFeedback() { return feedback; }
+    public void setFeedback(String feedback) { this.feedback = feedback; }
+}
@@ -0,0 +1,34 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+/**
+ * ✅ Outcome of a ledger replay: how many chains were read and how many complaints were written back.
+ */
+public class ReplayReport {
+
+    private long chainsRead;
+    private long complaintsRestored;
+    private long skipped; // not a complaint chain, no RAISED block, or the student no longer exists
+    private long durationMillis;
+
+    public ReplayReport() {}
+
+    public ReplayReport(long chainsRead, long complaintsRestored, long skipped, long durationMillis) {
+        this.chainsRead = chainsRead;
+        this.complaintsRestored = complaintsRestored;
+        this.skipped = skipped;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public long getChainsRead() { return chainsRead; }
+    public void setChainsRead(long chainsRead) { this.chainsRead = chainsRead; }
+
+    public long getComplaintsRestored() { return complaintsRestored; }
+    public void setComplaintsRestored(long complaintsRestored) { this.complaintsRestored = complaintsRestored; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+}
@@ -0,0 +1,86 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Outcome of creating, verifying or restoring one snapshot.
+ */
+public class SnapshotReport {
+    private static final int MAX_FAILURES = 100;
+
+    private String snapshotId;
+    private String operation; // CREATE, VERIFY or RESTORE
+    private long files;
+    private long filesCopied;
+    private long filesLinked; // unchanged since the previous snapshot: hard link, no copy
+    private long bytesCopied;
+    private long durationMillis;
+    private String restoredTo;
+    private long failureCount;
+    private List<String> failures = new ArrayList<>();
+
+    public SnapshotReport() {}
+
+    public SnapshotReport(String snapshotId, String operation) {
+        this.snapshotId = snapshotId;
+        this.operation = operation;
+    }
+
+    public synchronized void addCopied(long bytes) {
+        files++;
+        filesCopied++;
+        bytesCopied += bytes;
+    }
+
+    public synchronized void addLinked() {
+        files++;
+        filesLinked++;
+    }
+
+    public synchronized void addChecked() {
+        files++;
+    }
+
+    public synchronized void addFailure(String failure) {
+        failureCount++;
+        if (failures.size() < MAX_FAILURES) { // keep the response bounded
+            failures.add(failure);
+        }
+    }
+
+    public boolean isValid() {
+        return failureCount == 0;
+    }
+
+    // Getters and Setters
+    public String getSnapshotId() { return snapshotId; }
+    public void setSnapshotId(String snapshotId) { this.snapshotId = snapshotId; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public long getFiles() { return files; }
+    public void setFiles(long files) { this.files = files; }
+
+    public long getFilesCopied() { return filesCopied; }
+    public void setFilesCopied(long filesCopied) { this.filesCopied = filesCopied; }
+
+    public long getFilesLinked() { return filesLinked; }
+    public void setFilesLinked(long filesLinked) { this.filesLinked = filesLinked; }
+
+    public long getBytesCopied() { return bytesCopied; }
+    public void setBytesCopied(long bytesCopied) { this.bytesCopied = bytesCopied; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public String getRestoredTo() { return restoredTo; }
+    public void setRestoredTo(String restoredTo) { this.restoredTo = restoredTo; }
+
+    public long getFailureCount() { return failureCount; }
+    public void setFailureCount(long failureCount) { this.failureCount = failureCount; }
+
+    public List<String> getFailures() { return failures; }
+    public void setFailures(List<String> failures) { this.failures = failures; }
+}
@@ -0,0 +1,68 @@
+package com.hostelcomplaintresolver.backend.dto;
+
+import com.hostelcomplaintresolver.backend.model.Role;
+import com.hostelcomplaintresolver.backend.model.User;
+
+/**
+ * ✅ The few user fields that lists show (complaint student / staff, staff pickers, user tables).
+ * Never touches the lazily loaded profile details (address, ID proof).
+ */
+public class UserSummary {
+
+    private String userId;
+    private String name;
+    private String email;
+    private Role role;
+    private String mobile;
+    private String hostelName;
+    private String roomNumber;
+    private String staffCategory;
+
+    public UserSummary() {}
+
+    // Also the JPQL constructor expression of UserRepository.findSummaries*
+    public UserSummary(String userId, String name, String email, Role role, String mobile,
+                       String hostelName, String roomNumber, String staffCategory) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.mobile = mobile;
+        this.hostelName = hostelName;
+        this.roomNumber = roomNumber;
+        this.staffCategory = staffCategory;
+    }
+
+    public static UserSummary from(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserSummary(user.getUserId(), user.getName(), user.getEmail(), user.getRole(), user.getMobile(),
+                user.getHostelName(), user.getRoomNumber(), user.getStaffCategory());
+    }
+
+    // Getters and Setters
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
+
+    public String getMobile() { return mobile; }
+    public void setMobile(String mobile) { this.mobile = mobile; }
+
+    public String getHostelName() { return hostelName; }
+    public void setHostelName(String hostelName) { this.hostelName = hostelName; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public String getStaffCategory() { return staffCategory; }
+    public void setStaffCategory(String staffCategory) { this.staffCategory = staffCategory; }
+}
@@ -2,29 +2,43 @@ package com.hostelcomplaintresolver.backend.model;
 
 import java.time.LocalDateTime;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+// ✅ Schema and indexes (keyset paging, escalation deadline, per-student / per-staff lists, rating stats)
+//    live in the Flyway migrations under resources/db/migration
 @Table(name = "complaints")
+// ✅ Fetch plan of every complaint read: the three users in the same query (the associations are lazy)
+@NamedEntityGraph(name = Complaint.WITH_PEOPLE, attributeNodes = {
+        @NamedAttributeNode("student"),
+        @NamedAttributeNode("staff"),
+        @NamedAttributeNode("assignedTo")
+})
+@DynamicUpdate // ✅ Saves write only changed columns, so they never undo a concurrent escalation of the priority
 public class Complaint {
 
+    public static final String WITH_PEOPLE = "Complaint.withPeople";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Auto-generated complaint ID
 
     // ---------------- RELATIONSHIPS ----------------
 
+    // Lazy: reads that need the users say so with WITH_PEOPLE, nothing else loads them
+
     // Student who raised the complaint
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", referencedColumnName = "user_id", nullable = false)
     private User student;
 
     // Staff member who handles the complaint
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "staff_id", referencedColumnName = "user_id")
     private User staff;
 
     // Warden or Admin who assigned it
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_id", referencedColumnName = "user_id")
     private User assignedTo;
 
@@ -57,6 +71,10 @@ public class Complaint {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // ✅ When the priority is raised next (null = resolved / closed or already High), see EscalationPolicy
+    @Column(name = "next_escalation_at")
+    private LocalDateTime nextEscalationAt;
+
     // Automatically set timestamp before saving
     @PrePersist
     protected void onCreate() {
@@ -111,6 +129,9 @@ public class Complaint {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getNextEscalationAt() { return nextEscalationAt; }
+    public void setNextEscalationAt(LocalDateTime nextEscalationAt) { this.nextEscalationAt = nextEscalationAt; }
+
     public Integer getRating() { return rating; }
     public void setRating(Integer rating) { this.rating = rating; }
 
@@ -0,0 +1,75 @@
+package com.hostelcomplaintresolver.backend.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+/**
+ * ✅ Secondary index row for one ledger transaction (who did what, when, on which complaint).
+ * Derived data: it can always be rebuilt from the ledger. Rows are inserted by LedgerAuditIndexer
+ * with JDBC batches and only read through JPA.
+ */
+@Entity
+@Table(name = "ledger_audit") // indexes (user/time, action/time, time): db/migration/V2__ledger_audit.sql
+public class LedgerAuditEntry {
+
+    public static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    @Id
+    @Column(name = "transaction_id", length = 64)
+    private String transactionId;
+
+    @Column(name = "complaint_id", nullable = false, length = 64)
+    private String complaintId;
+
+    @Column(name = "block_index", nullable = false)
+    private int blockIndex;
+
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    @Column(length = 64)
+    private String action;
+
+    @Column(length = MAX_DESCRIPTION_LENGTH)
+    private String description;
+
+    @Column(name = "event_time")
+    private LocalDateTime timestamp;
+
+    public LedgerAuditEntry() {}
+
+    public LedgerAuditEntry(String transactionId, String complaintId, int blockIndex, String userId,
+                            String action, String description, LocalDateTime timestamp) {
+        this.transactionId = transactionId;
+        this.complaintId = complaintId;
+        this.blockIndex = blockIndex;
+        this.userId = userId;
+        this.action = action;
+        this.description = description != null && description.length() > MAX_DESCRIPTION_LENGTH
+                ? description.substring(0, MAX_DESCRIPTION_LENGTH)
+                : description;
+        this.timestamp = timestamp;
+    }
+
+    // Getters & Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getComplaintId() { return complaintId; }
+    public void setComplaintId(String complaintId) { this.complaintId = complaintId; }
+
+    public int getBlockIndex() { return blockIndex; }
+    public void setBlockIndex(int blockIndex) { this.blockIndex = blockIndex; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -1,6 +1,7 @@
 package com.hostelcomplaintresolver.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.LazyGroup;
 import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -21,6 +22,9 @@ public class User {
     private String profilePhoto;
 
     // ✅ NEW FIELD: Registration ID Proof Path
+    // Profile details load lazily (one select for the group, on first access), see UserService.withDetails
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("details")
     @Column(length = 500)
     private String idProof;
 
@@ -48,6 +52,8 @@ public class User {
     private String mobile;
 
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("details")
     @Column(name = "permanent_address", length = 1000)
     private String permanentAddress;
 
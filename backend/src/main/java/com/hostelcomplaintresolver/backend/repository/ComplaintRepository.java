@@ -1,15 +1,18 @@
 package com.hostelcomplaintresolver.backend.repository;
 
 import com.hostelcomplaintresolver.backend.model.Complaint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint> {
 
     // ✅ FIX 1: Updated query to use 'c.staff' instead of 'c.assignedStaff'
     // Added COALESCE to return 0.0 if no ratings exist (prevents null errors)
@@ -21,15 +24,34 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     Long getRatedComplaintCount(@Param("staffId") String staffId);
 
     // ✅ Standard JPA Methods
-    List<Complaint> findByStudent_UserId(String studentId);
-
-    List<Complaint> findByStaff_UserId(String staffId);
+    // Every complaint read joins its users in the same query (Complaint.WITH_PEOPLE): one select, whatever the row count
+    @Override
+    @EntityGraph(Complaint.WITH_PEOPLE)
+    Optional<Complaint> findById(Long id);
 
+    @EntityGraph(Complaint.WITH_PEOPLE)
     List<Complaint> findByAssignedTo_UserId(String assignedToId);
 
+    @EntityGraph(Complaint.WITH_PEOPLE)
     List<Complaint> findByStudent_Email(String email);
 
+    @EntityGraph(Complaint.WITH_PEOPLE)
     List<Complaint> findByStaff_Email(String staffEmail);
 
+    @EntityGraph(Complaint.WITH_PEOPLE)
     List<Complaint> findAllByOrderByPriorityAsc();
-}
\ No newline at end of file
+
+    // ✅ IDs only (used by the ledger archiver, avoids loading whole complaints)
+    @Query("SELECT c.id FROM Complaint c WHERE c.status = :status")
+    List<Long> findIdsByStatus(@Param("status") String status);
+
+    // ✅ Dashboard counters: one row per status (status, count)
+    @Query("SELECT c.status, COUNT(c) FROM Complaint c GROUP BY c.status")
+    List<Object[]> countByStatus();
+
+    // ✅ Staff performance: one row per staff member (staffId, assigned, resolved, average rating)
+    @Query("SELECT c.staff.userId, COUNT(c),"
+            + " SUM(CASE WHEN c.status IN ('RESOLVED', 'CLOSED') THEN 1 ELSE 0 END), AVG(c.rating)"
+            + " FROM Complaint c WHERE c.staff IS NOT NULL GROUP BY c.staff.userId")
+    List<Object[]> summarizeByStaff();
+}
@@ -0,0 +1,99 @@
+package com.hostelcomplaintresolver.backend.repository;
+
+import com.hostelcomplaintresolver.backend.dto.ComplaintFilter;
+import com.hostelcomplaintresolver.backend.model.Complaint;
+import com.hostelcomplaintresolver.backend.model.User;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Criteria for the complaint listing (see {@code ComplaintService.searchComplaints}).
+ */
+public final class ComplaintSpecifications {
+
+    private ComplaintSpecifications() {}
+
+    /**
+     * ✅ Fetch plan of the listing: student, staff and assigner joined into the same select (no filter).
+     * Skipped for count queries, which must not fetch.
+     */
+    public static Specification<Complaint> withPeople() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("student", JoinType.INNER);
+                root.fetch("staff", JoinType.LEFT);
+                root.fetch("assignedTo", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * ✅ Complaints matching every filter that is set.
+     */
+    public static Specification<Complaint> matching(ComplaintFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(filter.getStatus()));
+            }
+            if (hasText(filter.getPriority())) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (hasText(filter.getCategory())) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (hasText(filter.getRoom())) {
+                predicates.add(cb.equal(root.get("roomNumber"), filter.getRoom()));
+            }
+            if (hasText(filter.getHostel())) {
+                predicates.add(cb.equal(student(root).get("hostelName"), filter.getHostel()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom().atStartOfDay()));
+            }
+            if (filter.getTo() != null) { // inclusive: everything before the next midnight
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getTo().plusDays(1).atStartOfDay()));
+            }
+            if (filter.getStudentId() != null) {
+                predicates.add(cb.equal(root.get("student").get("userId"), filter.getStudentId()));
+            }
+            if (filter.getStaffId() != null) {
+                predicates.add(cb.equal(root.get("staff").get("userId"), filter.getStaffId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * ✅ Complaints that come after (createdAt, id) in newest-first order: the seek predicate of keyset paging.
+     */
+    public static Specification<Complaint> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    // Reuses the student join of withPeople() when there is one
+    @SuppressWarnings("unchecked")
+    private static Join<Complaint, User> student(Root<Complaint> root) {
+        for (Fetch<Complaint, ?> fetch : root.getFetches()) {
+            if ("student".equals(fetch.getAttribute().getName()) && fetch instanceof Join<?, ?> join) {
+                return (Join<Complaint, User>) join;
+            }
+        }
+        return root.join("student");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hostelcomplaintresolver.backend.repository;
+
+import com.hostelcomplaintresolver.backend.model.LedgerAuditEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LedgerAuditRepository extends JpaRepository<LedgerAuditEntry, String> {
+
+    // ✅ One method per filter combination, so each query can use its (column, event_time) index
+    Page<LedgerAuditEntry> findByTimestampBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<LedgerAuditEntry> findByUserIdAndTimestampBetween(String userId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<LedgerAuditEntry> findByActionAndTimestampBetween(String action, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<LedgerAuditEntry> findByUserIdAndActionAndTimestampBetween(String userId, String action,
+                                                                    LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
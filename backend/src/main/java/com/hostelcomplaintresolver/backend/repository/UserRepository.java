@@ -4,8 +4,11 @@ package com.hostelcomplaintresolver.backend.repository;
 import java.util.Optional;
 import java.util.List;
 
+import com.hostelcomplaintresolver.backend.dto.UserSummary;
 import com.hostelcomplaintresolver.backend.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.hostelcomplaintresolver.backend.model.User;
@@ -24,4 +27,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     List<User> findByRole(Role role);
     long countByRole(com.hostelcomplaintresolver.backend.model.Role role);
 
+    // ✅ List projections: only the columns a user list shows
+    @Query("SELECT new com.hostelcomplaintresolver.backend.dto.UserSummary(u.userId, u.name, u.email, u.role, u.mobile,"
+            + " u.hostelName, u.roomNumber, u.staffCategory) FROM User u WHERE u.role = :role ORDER BY u.name")
+    List<UserSummary> findSummariesByRole(@Param("role") Role role);
+
+    @Query("SELECT new com.hostelcomplaintresolver.backend.dto.UserSummary(u.userId, u.name, u.email, u.role, u.mobile,"
+            + " u.hostelName, u.roomNumber, u.staffCategory) FROM User u WHERE u.role <> :role ORDER BY u.name")
+    List<UserSummary> findSummariesByRoleNot(@Param("role") Role role);
+
     }
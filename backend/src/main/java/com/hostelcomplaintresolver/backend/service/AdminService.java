@@ -1,6 +1,7 @@
 package com.hostelcomplaintresolver.backend.service;
 
 import com.hostelcomplaintresolver.backend.dto.CreateUserRequest;
+import com.hostelcomplaintresolver.backend.dto.UserSummary;
 import com.hostelcomplaintresolver.backend.model.Role;
 import com.hostelcomplaintresolver.backend.model.User;
 import com.hostelcomplaintresolver.backend.repository.UserRepository;
@@ -9,7 +10,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class AdminService {
@@ -35,11 +35,8 @@ public class AdminService {
         return userRepository.save(user);
     }
 
-    public List<User> getNonStudentUsers() {
-        List<User> allUsers = userRepository.findAll();
-        // Use a stream to filter the list, keeping only non-student users
-        return allUsers.stream()
-                .filter(user -> user.getRole() != Role.STUDENT)
-                .collect(Collectors.toList());
+    public List<UserSummary> getNonStudentUsers() {
+        // Filtered in the query, only the listed columns
+        return userRepository.findSummariesByRoleNot(Role.STUDENT);
     }
 }
\ No newline at end of file
@@ -0,0 +1,329 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.dto.ComplaintEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ Pushes complaint state changes to the dashboards as Server-Sent Events (replaces list polling).
+ *
+ * Each open stream is an async {@link SseEmitter}: an idle connection holds no request thread, only
+ * an entry in the registry (by user, plus one set for wardens and admins), so thousands of idle
+ * dashboards cost little. {@link ComplaintService} publishes a {@link ComplaintEvent} per transition;
+ * after the transaction commits it is offered to the complaint's student, its staff member and every
+ * warden.
+ *
+ * Every stream has a bounded queue. Publishing only offers to the queues (it never blocks and never
+ * writes to a socket); a small sender pool drains them, one sender per stream at a time, so each
+ * stream gets its events in order and a slow client only delays itself. A stream whose queue is
+ * full is closed: the browser reconnects with its {@code Last-Event-ID} and catches up by replay.
+ *
+ * The last {@code replaySize} events stay in a ring buffer. A client that reconnects with a
+ * {@code Last-Event-ID} gets the events it missed; if they are no longer buffered (or the server
+ * restarted, which changes the ID epoch) it gets a {@code reset} event and reloads its lists once.
+ * Replay and registration happen under the ring buffer's lock, the same lock publishing takes to
+ * number and enqueue an event, so missed events always come before live ones.
+ */
+@Service
+public class ComplaintEventHub {
+
+    private static final String EVENT_NAME = "complaint";
+    private static final String RESET_EVENT = "reset";
+
+    // Event IDs are "<epoch>-<sequence>"; the epoch tells IDs of an earlier server run apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ComplaintEvent[] recent; // ring buffer indexed by sequence; its lock also orders the enqueues
+    private long lastSequence;
+
+    private final Map<String, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> wardens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders;
+    private final long timeoutMillis;
+    private final int maxConnections;
+    private final int queueSize;
+
+    @Autowired
+    public ComplaintEventHub(@Value("${complaint.events.replay-size:1024}") int replaySize,
+                             @Value("${complaint.events.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${complaint.events.max-connections:10000}") int maxConnections,
+                             @Value("${complaint.events.queue-size:256}") int queueSize,
+                             @Value("${complaint.events.senders:4}") int senderThreads) {
+        this.recent = new ComplaintEvent[Math.max(1, replaySize)];
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnections = maxConnections;
+        this.queueSize = Math.max(2, queueSize);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "complaint-events-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber s : allSubscribers()) {
+            s.emitter.complete();
+        }
+    }
+
+    /**
+     * ✅ Opens an event stream for a user. Wardens and admins receive the events of every complaint.
+     *
+     * @param lastEventId {@code Last-Event-ID} sent by a reconnecting client, or null
+     * @throws IllegalStateException if {@code complaint.events.max-connections} streams are already open
+     */
+    public SseEmitter subscribe(String userId, boolean warden, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Too many open event streams, try again later");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(userId, warden, emitter, queueSize);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        // Replay and register under the publishing lock: nothing is published in between, so the
+        // missed events are queued before any live one and none is delivered twice or skipped
+        synchronized (recent) {
+            subscriber.queue.offer(SseEmitter.event().comment("connected"));
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<ComplaintEvent> missed = eventsAfter(lastEventId);
+                if (missed != null) {
+                    missed.removeIf(event -> !subscriber.wants(event));
+                }
+                if (missed == null || missed.size() >= queueSize) {
+                    subscriber.queue.offer(SseEmitter.event().name(RESET_EVENT).id(currentId()).data("{}", MediaType.APPLICATION_JSON));
+                } else {
+                    for (ComplaintEvent event : missed) {
+                        subscriber.queue.offer(toSse(event));
+                    }
+                }
+            }
+            if (warden) {
+                wardens.add(subscriber);
+            } else {
+                byUser.compute(userId, (k, subscribers) -> {
+                    Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+                    set.add(subscriber);
+                    return set;
+                });
+            }
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publishes an event of {@link ComplaintService} once its transaction has committed (immediately
+     * when there is none), so clients never see a change that was rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintEvent(ComplaintEvent event) {
+        publish(event);
+    }
+
+    /**
+     * ✅ Numbers the event, buffers it for replay and queues it for its streams (never blocks).
+     */
+    public void publish(ComplaintEvent event) {
+        List<Subscriber> targets = new ArrayList<>();
+        synchronized (recent) {
+            long sequence = ++lastSequence;
+            event.setId(epoch + "-" + sequence);
+            recent[(int) (sequence % recent.length)] = event;
+            fanOut(event, targets);
+        }
+        for (Subscriber s : targets) {
+            scheduleDrain(s);
+        }
+    }
+
+    // Keeps idle streams from being closed by proxies and notices clients that went away
+    @Scheduled(fixedDelayString = "${complaint.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (connections.get() == 0) return;
+        for (Subscriber s : allSubscribers()) {
+            if (s.queue.isEmpty() && enqueue(s, SseEmitter.event().comment("ping"))) { // a busy stream needs no ping
+                scheduleDrain(s);
+            }
+        }
+    }
+
+    public int getOpenStreams() {
+        return connections.get();
+    }
+
+    // Called with the lock held. A builder is consumed by the send, so every subscriber gets its own
+    private void fanOut(ComplaintEvent event, List<Subscriber> targets) {
+        for (Subscriber s : wardens) {
+            if (enqueue(s, toSse(event))) targets.add(s);
+        }
+        fanOutToUser(event.getStudentId(), event, targets);
+        if (event.getStaffId() != null && !event.getStaffId().equals(event.getStudentId())) {
+            fanOutToUser(event.getStaffId(), event, targets);
+        }
+    }
+
+    private void fanOutToUser(String userId, ComplaintEvent event, List<Subscriber> targets) {
+        if (userId == null) return;
+        Set<Subscriber> subscribers = byUser.get(userId);
+        if (subscribers != null) {
+            for (Subscriber s : subscribers) {
+                if (enqueue(s, toSse(event))) targets.add(s);
+            }
+        }
+    }
+
+    // Non-blocking: a stream that cannot keep up is closed and catches up by replay when it reconnects
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder sse) {
+        if (subscriber.queue.offer(sse)) {
+            return true;
+        }
+        unregister(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.complete();
+        return false;
+    }
+
+    // At most one sender drains a stream at a time, which keeps its events in order
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false); // shutting down; reconnecting clients replay from the buffer (or reset)
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder sse = subscriber.queue.poll();
+            if (sse == null) {
+                subscriber.draining.set(false);
+                // an enqueue may have seen draining == true just before it was cleared
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter.send(sse);
+            } catch (IOException | IllegalStateException e) {
+                // client gone (or stream already completed): drop it, the browser reconnects with Last-Event-ID
+                unregister(subscriber);
+                subscriber.queue.clear();
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private SseEmitter.SseEventBuilder toSse(ComplaintEvent event) {
+        return SseEmitter.event().id(event.getId()).name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Buffered events after {@code lastEventId}, or null if some of them are gone (client must reset).
+     * Called with the lock held.
+     */
+    private List<ComplaintEvent> eventsAfter(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (after > lastSequence || lastSequence - after > recent.length) {
+            return null;
+        }
+        List<ComplaintEvent> missed = new ArrayList<>((int) (lastSequence - after));
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            missed.add(recent[(int) (sequence % recent.length)]);
+        }
+        return missed;
+    }
+
+    // Called with the lock held
+    private String currentId() {
+        return epoch + "-" + lastSequence;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        boolean[] removed = {false};
+        if (subscriber.warden) {
+            removed[0] = wardens.remove(subscriber);
+        } else {
+            byUser.computeIfPresent(subscriber.userId, (k, subscribers) -> {
+                removed[0] = subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private List<Subscriber> allSubscribers() {
+        List<Subscriber> all = new ArrayList<>(wardens);
+        for (Set<Subscriber> subscribers : byUser.values()) {
+            all.addAll(subscribers);
+        }
+        return all;
+    }
+
+    /**
+     * One open stream and the events waiting to be written to it.
+     */
+    private static final class Subscriber {
+        final String userId;
+        final boolean warden;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(String userId, boolean warden, SseEmitter emitter, int queueSize) {
+            this.userId = userId;
+            this.warden = warden;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        boolean wants(ComplaintEvent event) {
+            return warden || userId.equals(event.getStudentId()) || userId.equals(event.getStaffId());
+        }
+    }
+}
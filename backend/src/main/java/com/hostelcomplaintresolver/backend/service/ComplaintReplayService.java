@@ -0,0 +1,242 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.blockchain.Block;
+import com.hostelcomplaintresolver.backend.blockchain.BlockchainService;
+import com.hostelcomplaintresolver.backend.blockchain.Transaction;
+import com.hostelcomplaintresolver.backend.dto.ReplayReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ Rebuilds the {@code complaints} table from the ledger (e.g. after the table was lost or corrupted).
+ *
+ * Worker threads claim chains one at a time, fold the transactions of each chain into the complaint's
+ * student, room, category, status, priority, staff and rating, and upsert the rows with batched JDBC writes
+ * (one batch per {@value #BATCH_SIZE} complaints per worker). Rows that still exist keep their
+ * details; only status, staff and rating are taken from the ledger. Lost rows are re-inserted with
+ * their original ID and whatever the ledger knows (the complaint text was never on the ledger).
+ */
+@Service
+public class ComplaintReplayService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String RESTORED_DESCRIPTION = "Restored from the blockchain ledger";
+
+    private static final String UPSERT_COMPLAINT = "INSERT INTO complaints"
+            + " (id, student_id, staff_id, room_number, description, category, status, priority, created_at, rating, next_escalation_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE status = VALUES(status), staff_id = VALUES(staff_id), rating = VALUES(rating),"
+            + " next_escalation_at = IF(VALUES(status) IN ('RESOLVED', 'CLOSED'), NULL, next_escalation_at)";
+
+    // Descriptions written by ComplaintService; older chains lack the category and the staff ID
+    private static final Pattern RAISED = Pattern.compile("for room (.*?)(?: \\(category: (.*)\\))?$");
+    private static final Pattern ASSIGNED_ID = Pattern.compile("\\(([^()]+)\\)$");
+    private static final Pattern ASSIGNED_NAME = Pattern.compile("assigned to staff (.*)$");
+    private static final Pattern RATING = Pattern.compile("Rating: (\\d+)");
+    private static final Pattern ESCALATED_TO = Pattern.compile(" to (\\w+)$");
+
+    private final BlockchainService blockchainService;
+    private final EscalationPolicy escalationPolicy;
+    private final JdbcTemplate jdbc;
+    private final int parallelism;
+
+    @Autowired
+    public ComplaintReplayService(BlockchainService blockchainService, EscalationPolicy escalationPolicy, JdbcTemplate jdbc,
+                                  @Value("${ledger.replay.parallelism:0}") int parallelism) {
+        this.blockchainService = blockchainService;
+        this.escalationPolicy = escalationPolicy;
+        this.jdbc = jdbc;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * ✅ Replays every chain of the ledger into the complaints table.
+     */
+    public synchronized ReplayReport replayAll() {
+        long start = System.currentTimeMillis();
+        List<String> chainIds = new ArrayList<>(blockchainService.getChainIds());
+        Users users = loadUsers();
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong restored = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < parallelism; w++) {
+                workers.add(pool.submit(() -> {
+                    List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                    for (int i = next.getAndIncrement(); i < chainIds.size(); i = next.getAndIncrement()) {
+                        Object[] row = replay(chainIds.get(i), users);
+                        if (row == null) {
+                            skipped.incrementAndGet();
+                            continue;
+                        }
+                        batch.add(row);
+                        if (batch.size() == BATCH_SIZE) {
+                            restored.addAndGet(flush(batch));
+                        }
+                    }
+                    restored.addAndGet(flush(batch));
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ledger replay interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ledger replay failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ReplayReport report = new ReplayReport(chainIds.size(), restored.get(), skipped.get(),
+                System.currentTimeMillis() - start);
+        System.out.println("♻️ Replayed " + report.getChainsRead() + " ledger chains: " + report.getComplaintsRestored()
+                + " complaints restored, " + report.getSkipped() + " skipped in " + report.getDurationMillis() + " ms");
+        return report;
+    }
+
+    /**
+     * Folds one chain into a complaints row, or null if it cannot be restored.
+     */
+    private Object[] replay(String complaintId, Users users) {
+        long id;
+        try {
+            id = Long.parseLong(complaintId);
+        } catch (NumberFormatException e) {
+            return null; // not a complaint chain
+        }
+
+        ReplayedComplaint c = new ReplayedComplaint();
+        for (Iterator<Block> blocks = blockchainService.iterateChain(complaintId); blocks.hasNext(); ) {
+            for (Transaction t : blocks.next().getTransactions()) {
+                c.apply(t, users);
+            }
+        }
+        if (c.studentId == null || !users.ids.contains(c.studentId)) {
+            return null;
+        }
+        String staffId = c.staffId != null && users.ids.contains(c.staffId) ? c.staffId : null;
+        String category = c.category != null ? c.category : "Unknown";
+        String priority = c.priority != null ? c.priority : ComplaintService.determinePriority(c.category);
+        Duration threshold = "RESOLVED".equals(c.status) || "CLOSED".equals(c.status) ? null
+                : escalationPolicy.threshold(category, priority);
+        Timestamp nextEscalation = threshold == null ? null : Timestamp.valueOf(c.createdAt.plus(threshold));
+        return new Object[]{id, c.studentId, staffId, c.room != null ? c.room : "Unknown", RESTORED_DESCRIPTION,
+                category, c.status, priority, Timestamp.valueOf(c.createdAt), c.rating, nextEscalation};
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbc.batchUpdate(UPSERT_COMPLAINT, batch);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private Users loadUsers() {
+        Users users = new Users();
+        Set<String> duplicateNames = new HashSet<>();
+        jdbc.query("SELECT user_id, name, role FROM users", rs -> {
+            String userId = rs.getString("user_id");
+            users.ids.add(userId);
+            if ("STAFF".equals(rs.getString("role"))
+                    && users.staffByName.putIfAbsent(rs.getString("name"), userId) != null) {
+                duplicateNames.add(rs.getString("name"));
+            }
+        });
+        users.staffByName.keySet().removeAll(duplicateNames); // a name only identifies staff if it is unique
+        return users;
+    }
+
+    private static final class Users {
+        final Set<String> ids = new HashSet<>();
+        final Map<String, String> staffByName = new HashMap<>();
+    }
+
+    /**
+     * Complaint state after the transactions seen so far.
+     */
+    private static final class ReplayedComplaint {
+        String studentId;
+        String room;
+        String category;
+        String status;
+        String staffId;
+        String priority; // null = never escalated, derived from the category
+        Integer rating;
+        LocalDateTime createdAt;
+
+        void apply(Transaction t, Users users) {
+            String description = t.getDescription() == null ? "" : t.getDescription();
+            switch (t.getAction()) {
+                case "RAISED" -> {
+                    studentId = t.getUserId();
+                    createdAt = t.getTimestamp();
+                    status = "RAISED";
+                    Matcher m = RAISED.matcher(description);
+                    if (m.find()) {
+                        room = m.group(1);
+                        category = m.group(2);
+                    }
+                }
+                case "ASSIGNED" -> {
+                    status = "ASSIGNED";
+                    Matcher byId = ASSIGNED_ID.matcher(description);
+                    Matcher byName = ASSIGNED_NAME.matcher(description);
+                    if (byId.find()) {
+                        staffId = byId.group(1);
+                    } else if (byName.find()) {
+                        staffId = users.staffByName.get(byName.group(1));
+                    }
+                }
+                case "RESOLVED" -> {
+                    status = "RESOLVED";
+                    staffId = t.getUserId(); // the staff member resolves the complaint
+                }
+                case "CLOSED" -> {
+                    status = "CLOSED";
+                    Matcher m = RATING.matcher(description);
+                    if (m.find()) {
+                        rating = Integer.valueOf(m.group(1));
+                    }
+                }
+                case "ESCALATED" -> status = "ESCALATED";
+                case "REVERTED" -> status = "IN_PROGRESS";
+                case "PRIORITY_ESCALATED" -> {
+                    Matcher m = ESCALATED_TO.matcher(description);
+                    if (m.find()) {
+                        priority = m.group(1);
+                    }
+                }
+                default -> { } // not a status transition
+            }
+        }
+    }
+}
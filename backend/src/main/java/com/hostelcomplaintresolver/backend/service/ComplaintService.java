@@ -1,29 +1,38 @@
 package com.hostelcomplaintresolver.backend.service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.hostelcomplaintresolver.backend.blockchain.BlockchainService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Scheduled; // ✅ Added Import
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.hostelcomplaintresolver.backend.dto.ComplaintEvent;
+import com.hostelcomplaintresolver.backend.dto.ComplaintFilter;
+import com.hostelcomplaintresolver.backend.dto.ComplaintPage;
+import com.hostelcomplaintresolver.backend.dto.ComplaintView;
 import com.hostelcomplaintresolver.backend.dto.CreateComplaintRequest;
 import com.hostelcomplaintresolver.backend.model.Complaint;
 import com.hostelcomplaintresolver.backend.model.Role;
 import com.hostelcomplaintresolver.backend.model.User;
 import com.hostelcomplaintresolver.backend.repository.ComplaintRepository;
+import com.hostelcomplaintresolver.backend.repository.ComplaintSpecifications;
 import com.hostelcomplaintresolver.backend.repository.UserRepository;
 
 @Service
@@ -40,8 +49,20 @@ public class ComplaintService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EscalationPolicy escalationPolicy;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
     private static final String UPLOAD_DIR = "uploads/proofs/";
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Newest first; id breaks ties between complaints raised in the same instant
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     /**
      * Creates and saves a new complaint raised by a student.
      */
@@ -63,6 +84,7 @@ public class ComplaintService {
         // ✅ FIX: Determine Priority as String
         String autoPriority = determinePriority(createComplaintRequest.getCategory());
         complaint.setPriority(autoPriority);
+        complaint.setNextEscalationAt(escalationPolicy.deadline(complaint));
 
         Complaint savedComplaint = complaintRepository.save(complaint);
 
@@ -72,7 +94,9 @@ public class ComplaintService {
                 student.getUserId(),
                 "RAISED",
                 "Complaint raised by " + student.getName() + " for room " + savedComplaint.getRoomNumber()
+                        + " (category: " + savedComplaint.getCategory() + ")" // category / staff ID let the ledger be replayed
         );
+        publishEvent("RAISED", savedComplaint);
 
         // 📧 Email (Restored)
         try {
@@ -94,7 +118,7 @@ public class ComplaintService {
     }
 
     // ✅ FIX: Consolidated Priority Helper (String return type)
-    private String determinePriority(String category) {
+    static String determinePriority(String category) {
         if (category == null) return "Medium";
         String cat = category.toLowerCase();
         if (cat.contains("electr") || cat.contains("plumb")) return "High";
@@ -109,9 +133,11 @@ public class ComplaintService {
 
         if ("RESOLVED".equals(c.getStatus())) { // ✅ Fix: String comparison
             c.setStatus("ESCALATED");
+            c.setNextEscalationAt(escalationPolicy.deadline(c));
             complaintRepository.save(c);
 
             blockchainService.logTransaction(String.valueOf(id), "Student", "ESCALATED", "Reason: " + reason);
+            publishEvent("ESCALATED", c);
             return c;
         }
         throw new RuntimeException("Complaint is not in RESOLVED state");
@@ -125,20 +151,78 @@ public class ComplaintService {
         // ✅ Fix: String comparison
         if ("ESCALATED".equals(c.getStatus()) || "RESOLVED".equals(c.getStatus())) {
             c.setStatus("IN_PROGRESS");
+            c.setNextEscalationAt(escalationPolicy.deadline(c));
             complaintRepository.save(c);
 
             blockchainService.logTransaction(String.valueOf(id), "Warden", "REVERTED", "Status reverted to In Progress");
+            publishEvent("REVERTED", c);
             return c;
         }
         throw new RuntimeException("Cannot revert this complaint");
     }
 
-    public List<Complaint> getAllComplaints() {
-        return complaintRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+    /**
+     * ✅ The newest {@link #MAX_PAGE_SIZE} complaints matching {@code filter}: the first page of
+     * {@link #searchComplaints}, for the plain list endpoints. Nothing reads a whole table or a whole
+     * per-user list in one request any more; callers that need more follow the search cursor.
+     */
+    @Transactional(readOnly = true)
+    public List<ComplaintView> getLatestComplaints(ComplaintFilter filter) {
+        return searchComplaints(filter, null, MAX_PAGE_SIZE).getItems();
+    }
+
+    /**
+     * ✅ One page of the complaints matching {@code filter}, newest first.
+     *
+     * Keyset paging: the cursor holds the (createdAt, id) of the last complaint returned and the next
+     * page seeks past it through the (created_at, id) index, so every page costs the same however deep
+     * the caller pages and however large the table grows (no OFFSET scan, no COUNT). The users of each
+     * complaint come in the same select, so a page is one query whatever its size.
+     */
+    @Transactional(readOnly = true)
+    public ComplaintPage searchComplaints(ComplaintFilter filter, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Specification<Complaint> spec = ComplaintSpecifications.withPeople().and(ComplaintSpecifications.matching(filter));
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            spec = spec.and(ComplaintSpecifications.before(after.createdAt, after.id));
+        }
+
+        // One extra row tells whether another page follows
+        List<Complaint> rows = complaintRepository.findBy(spec,
+                q -> q.sortBy(NEWEST_FIRST).limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new ComplaintPage(ComplaintView.fromAll(rows), null);
+        }
+        List<Complaint> items = rows.subList(0, pageSize);
+        Complaint last = items.get(pageSize - 1);
+        return new ComplaintPage(ComplaintView.fromAll(items), new Cursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * ✅ Number of complaints per status (dashboard counters without loading the complaints).
+     */
+    public Map<String, Long> countByStatus() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : complaintRepository.countByStatus()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 
-    public List<Complaint> getComplaintsByStudent(String studentId) {
-        return complaintRepository.findByStudent_UserId(studentId);
+    /**
+     * ✅ Assigned / resolved counts and average rating per staff member.
+     */
+    public List<Map<String, Object>> summarizeStaffPerformance() {
+        return complaintRepository.summarizeByStaff().stream().map(row -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("staffId", row[0]);
+            stats.put("assigned", row[1]);
+            stats.put("resolved", row[2] != null ? ((Number) row[2]).longValue() : 0L);
+            stats.put("averageRating", row[3] != null ? Math.round(((Number) row[3]).doubleValue() * 10.0) / 10.0 : null);
+            return stats;
+        }).toList();
     }
 
     @Transactional
@@ -162,8 +246,9 @@ public class ComplaintService {
                 String.valueOf(updatedComplaint.getId()),
                 "SYSTEM",
                 "ASSIGNED",
-                "Complaint assigned to staff " + staff.getName()
+                "Complaint assigned to staff " + staff.getName() + " (" + staff.getUserId() + ")"
         );
+        publishEvent("ASSIGNED", updatedComplaint);
 
         // 📧 Notifications (Restored)
         emailService.sendEmail(
@@ -180,10 +265,6 @@ public class ComplaintService {
         return updatedComplaint;
     }
 
-    public List<Complaint> getAssignedComplaints(String staffId) {
-        return complaintRepository.findByStaff_UserId(staffId);
-    }
-
     @Transactional
     public Complaint resolveComplaint(Long complaintId, String staffId) {
         Complaint complaint = complaintRepository.findById(complaintId)
@@ -197,6 +278,7 @@ public class ComplaintService {
         }
 
         complaint.setStatus("RESOLVED"); // ✅ Fix: String
+        complaint.setNextEscalationAt(null);
         Complaint resolvedComplaint = complaintRepository.save(complaint);
 
         // 🧾 Blockchain
@@ -206,6 +288,7 @@ public class ComplaintService {
                 "RESOLVED",
                 "Complaint resolved by staff " + staff.getName()
         );
+        publishEvent("RESOLVED", resolvedComplaint);
 
         // 📧 Email (Restored)
         emailService.sendEmail(
@@ -247,6 +330,7 @@ public class ComplaintService {
         complaint.setFeedback(feedback);
         complaint.setProofImage("/uploads/proofs/" + fileName);
         complaint.setStatus("CLOSED"); // ✅ Fix: String
+        complaint.setNextEscalationAt(null);
 
         Complaint closedComplaint = complaintRepository.save(complaint);
 
@@ -257,6 +341,7 @@ public class ComplaintService {
                 "CLOSED",
                 "Feedback submitted with proof. Rating: " + rating
         );
+        publishEvent("CLOSED", closedComplaint);
 
         // 📧 Email (Restored)
         emailService.sendEmail(
@@ -282,6 +367,7 @@ public class ComplaintService {
             Files.copy(proof.getInputStream(), uploadPath.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
 
             c.setStatus("ESCALATED"); // ✅ Fix: String
+            c.setNextEscalationAt(escalationPolicy.deadline(c));
             c.setProofImage("/uploads/proofs/" + fileName);
 
             String newDesc = c.getDescription() + "\n\n[ESCALATED]: " + reason;
@@ -292,45 +378,47 @@ public class ComplaintService {
 
             // 🧾 Blockchain
             blockchainService.logTransaction(String.valueOf(id), "Student", "ESCALATED", "Escalated with proof: " + reason);
+            publishEvent("ESCALATED", c);
 
             return c;
         }
         throw new RuntimeException("Complaint must be RESOLVED to escalate.");
     }
 
-    // ✅ AUTO-ESCALATION SCHEDULER
-    @Scheduled(cron = "0 0 * * * *") // Runs hourly
-    @Transactional
-    public void escalateComplaintPriorities() {
-        System.out.println("🔄 Running Priority Escalation Check...");
-
-        List<Complaint> activeComplaints = complaintRepository.findAll();
-        LocalDateTime now = LocalDateTime.now();
+    // ✅ AUTO-ESCALATION: see EscalationService (driven by next_escalation_at, set above on every transition)
 
-        for (Complaint c : activeComplaints) {
-            if ("RESOLVED".equals(c.getStatus()) || "CLOSED".equals(c.getStatus())) {
-                continue;
-            }
+    // 📡 Live dashboards: ComplaintEventHub pushes the event once the transaction commits
+    private void publishEvent(String type, Complaint c) {
+        events.publishEvent(new ComplaintEvent(type, c.getId(), c.getStatus(), c.getPriority(),
+                c.getStudent() != null ? c.getStudent().getUserId() : null,
+                c.getStaff() != null ? c.getStaff().getUserId() : null));
+    }
 
-            long hoursPassed = ChronoUnit.HOURS.between(c.getCreatedAt(), now);
-            long daysPassed = hoursPassed / 24;
+    /**
+     * Position in a complaint listing: the last complaint returned. Opaque to clients (URL-safe Base64).
+     */
+    private static final class Cursor {
+        final LocalDateTime createdAt;
+        final Long id;
 
-            boolean updated = false;
+        Cursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
 
-            if ("Medium".equalsIgnoreCase(c.getPriority()) && daysPassed >= 1) {
-                c.setPriority("High");
-                updated = true;
-                System.out.println("⚠️ Auto-Escalated ID " + c.getId() + " to HIGH");
-            }
-            if ("Low".equalsIgnoreCase(c.getPriority()) && daysPassed >= 3) {
-                c.setPriority("Medium");
-                updated = true;
-                System.out.println("⚠️ Auto-Escalated ID " + c.getId() + " to MEDIUM");
-            }
+        String encode() {
+            byte[] raw = (id + ":" + createdAt).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        }
 
-            if (updated) {
-                complaintRepository.save(c);
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new Cursor(LocalDateTime.parse(raw.substring(separator + 1)), Long.valueOf(raw.substring(0, separator)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid complaint cursor: " + cursor);
             }
         }
     }
-}
\ No newline at end of file
+}
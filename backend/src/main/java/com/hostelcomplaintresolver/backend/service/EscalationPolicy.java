@@ -0,0 +1,94 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.model.Complaint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ✅ When an open complaint's priority is raised: Low → Medium → High, each step a fixed time after
+ * the complaint was raised.
+ *
+ * {@code complaint.escalation.hours} sets the default per priority ({@code Low=72,Medium=24}),
+ * {@code complaint.escalation.category-hours} overrides it per category ({@code Plumbing.Medium=6}).
+ * High complaints and resolved / closed complaints have no deadline.
+ */
+@Component
+public class EscalationPolicy {
+
+    private static final String LOW = "Low";
+    private static final String MEDIUM = "Medium";
+    private static final String HIGH = "High";
+
+    private final Map<String, Duration> defaults = new HashMap<>();
+    private final Map<String, Duration> byCategory = new HashMap<>(); // "<category>.<priority>", lower case
+
+    @Autowired
+    public EscalationPolicy(@Value("${complaint.escalation.hours:Low=72,Medium=24}") String[] hours,
+                            @Value("${complaint.escalation.category-hours:}") String[] categoryHours) {
+        for (String entry : hours) {
+            parse(entry, defaults);
+        }
+        for (String entry : categoryHours) {
+            parse(entry, byCategory);
+        }
+    }
+
+    /**
+     * Priority after one escalation step, or null if {@code priority} does not escalate.
+     */
+    public String next(String priority) {
+        if (LOW.equalsIgnoreCase(priority)) return MEDIUM;
+        if (MEDIUM.equalsIgnoreCase(priority)) return HIGH;
+        return null;
+    }
+
+    /**
+     * Time after creation at which a complaint of this category and priority escalates, or null if it never does.
+     */
+    public Duration threshold(String category, String priority) {
+        if (next(priority) == null) {
+            return null;
+        }
+        String key = priority.toLowerCase(Locale.ROOT);
+        if (category != null) {
+            Duration override = byCategory.get(category.toLowerCase(Locale.ROOT) + "." + key);
+            if (override != null) {
+                return override;
+            }
+        }
+        return defaults.get(key);
+    }
+
+    /**
+     * ✅ Next escalation deadline of a complaint in its current state (null = nothing to escalate).
+     */
+    public LocalDateTime deadline(Complaint complaint) {
+        String status = complaint.getStatus();
+        if ("RESOLVED".equals(status) || "CLOSED".equals(status)) {
+            return null;
+        }
+        Duration threshold = threshold(complaint.getCategory(), complaint.getPriority());
+        LocalDateTime createdAt = complaint.getCreatedAt() != null ? complaint.getCreatedAt() : LocalDateTime.now();
+        return threshold == null ? null : createdAt.plus(threshold);
+    }
+
+    private static void parse(String entry, Map<String, Duration> target) {
+        if (entry.isBlank()) {
+            return;
+        }
+        int separator = entry.lastIndexOf('=');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid escalation threshold (expected <priority>=<hours>): " + entry);
+        }
+        String key = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+        double hours = Double.parseDouble(entry.substring(separator + 1).trim());
+        target.put(key, Duration.ofMinutes(Math.round(hours * 60)));
+    }
+}
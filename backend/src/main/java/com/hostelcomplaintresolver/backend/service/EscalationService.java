@@ -0,0 +1,239 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.blockchain.BlockchainService;
+import com.hostelcomplaintresolver.backend.dto.ComplaintEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ✅ Raises the priority of open complaints that have waited too long (replaces the hourly full-table scan).
+ *
+ * Every complaint carries its next deadline in the indexed {@code next_escalation_at} column
+ * ({@link EscalationPolicy}, kept up to date by {@link ComplaintService} on every transition). Each run
+ * only reads the complaints that are due, {@code chunkSize} at a time under row locks, and escalates
+ * each chunk with one set-based UPDATE per (new priority, next threshold) group; the new deadline is
+ * computed in SQL from {@code created_at}. The ledger entries of a chunk are queued together after
+ * it commits, together with a {@code PRIORITY_ESCALATED} {@link ComplaintEvent} per complaint for the
+ * open dashboards. A run costs O(due complaints), however many complaints the table holds.
+ *
+ * A complaint escalated from Low whose Medium deadline has also passed is picked up again by a
+ * later chunk of the same run and goes straight to High.
+ */
+@Service
+public class EscalationService {
+
+    private static final String SYSTEM_USER = "SYSTEM";
+    private static final String ESCALATION_ACTION = "PRIORITY_ESCALATED";
+
+    private static final String SELECT_DUE = "SELECT id, category, priority, status, student_id, staff_id, created_at"
+            + " FROM complaints WHERE next_escalation_at <= ? ORDER BY next_escalation_at, id LIMIT ? FOR UPDATE";
+    // priority NULL = keep it (nothing left to escalate), minutes NULL = no further deadline
+    private static final String ESCALATE = "UPDATE complaints SET priority = COALESCE(?, priority),"
+            + " next_escalation_at = TIMESTAMPADD(MINUTE, ?, created_at) WHERE id IN (%s)";
+    private static final String SELECT_OPEN = "SELECT id, category, priority, created_at FROM complaints"
+            + " WHERE id > ? AND status NOT IN ('RESOLVED', 'CLOSED') ORDER BY id LIMIT ?";
+    private static final String SET_DEADLINE = "UPDATE complaints SET next_escalation_at = ? WHERE id = ?";
+
+    private final EscalationPolicy policy;
+    private final BlockchainService blockchainService;
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final boolean rescheduleOnStartup;
+
+    @Autowired
+    public EscalationService(EscalationPolicy policy,
+                             BlockchainService blockchainService,
+                             ApplicationEventPublisher events,
+                             JdbcTemplate jdbc,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${complaint.escalation.enabled:true}") boolean enabled,
+                             @Value("${complaint.escalation.chunk-size:500}") int chunkSize,
+                             @Value("${complaint.escalation.reschedule-on-startup:true}") boolean rescheduleOnStartup) {
+        this.policy = policy;
+        this.blockchainService = blockchainService;
+        this.events = events;
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.rescheduleOnStartup = rescheduleOnStartup;
+    }
+
+    /**
+     * Recomputes the deadlines of open complaints once at startup: fills them in for complaints raised
+     * before the column existed and applies changed thresholds. Reads open complaints only.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOnStartup() {
+        if (!enabled || !rescheduleOnStartup) return;
+        try {
+            reschedule();
+        } catch (Exception e) {
+            System.err.println("❌ Escalation rescheduling failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${complaint.escalation.interval-ms:300000}",
+               initialDelayString = "${complaint.escalation.interval-ms:300000}")
+    public void scheduledEscalation() {
+        if (!enabled) return;
+        try {
+            escalateDue();
+        } catch (Exception e) {
+            System.err.println("❌ Priority escalation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Escalates every complaint whose deadline has passed.
+     * @return number of priority changes made
+     */
+    public synchronized int escalateDue() {
+        LocalDateTime now = LocalDateTime.now();
+        int escalated = 0;
+        while (true) {
+            Chunk chunk = transactions.execute(status -> escalateChunk(now));
+            if (chunk == null || chunk.rows == 0) {
+                break;
+            }
+            if (!chunk.ledgerEntries.isEmpty()) {
+                blockchainService.logTransactions(SYSTEM_USER, ESCALATION_ACTION, chunk.ledgerEntries);
+                escalated += chunk.ledgerEntries.size();
+            }
+            chunk.events.forEach(events::publishEvent);
+            // A short chunk was the last one due, unless it escalated complaints that are already due again
+            if (chunk.rows < chunkSize && !chunk.dueAgain) {
+                break;
+            }
+        }
+        if (escalated > 0) {
+            System.out.println("⚠️ Auto-escalated the priority of " + escalated + " complaints");
+        }
+        return escalated;
+    }
+
+    /**
+     * ✅ Recomputes {@code next_escalation_at} for every open complaint.
+     * @return number of complaints rescheduled
+     */
+    public synchronized int reschedule() {
+        long start = System.currentTimeMillis();
+        long[] lastId = {0};
+        int total = 0;
+        while (true) {
+            List<Object[]> updates = new ArrayList<>(chunkSize);
+            jdbc.query(SELECT_OPEN, rs -> {
+                lastId[0] = rs.getLong("id");
+                Duration threshold = policy.threshold(rs.getString("category"), rs.getString("priority"));
+                Timestamp deadline = threshold == null ? null
+                        : Timestamp.valueOf(rs.getTimestamp("created_at").toLocalDateTime().plus(threshold));
+                updates.add(new Object[]{deadline, lastId[0]});
+            }, lastId[0], chunkSize);
+            if (updates.isEmpty()) {
+                break;
+            }
+            jdbc.batchUpdate(SET_DEADLINE, updates);
+            total += updates.size();
+            if (updates.size() < chunkSize) {
+                break;
+            }
+        }
+        System.out.println("⏰ Rescheduled escalation of " + total + " open complaints ("
+                + (System.currentTimeMillis() - start) + " ms)");
+        return total;
+    }
+
+    private Chunk escalateChunk(LocalDateTime now) {
+        Map<Step, List<Long>> groups = new LinkedHashMap<>();
+        Map<String, String> ledgerEntries = new LinkedHashMap<>();
+        List<ComplaintEvent> escalations = new ArrayList<>();
+        int[] rows = {0};
+        boolean[] dueAgain = {false};
+        jdbc.query(SELECT_DUE, rs -> {
+            rows[0]++;
+            long id = rs.getLong("id");
+            String category = rs.getString("category");
+            String priority = rs.getString("priority");
+            String next = policy.next(priority);
+            Duration threshold = next == null ? null : policy.threshold(category, next);
+            groups.computeIfAbsent(new Step(next, threshold == null ? null : threshold.toMinutes()),
+                    k -> new ArrayList<>()).add(id);
+            if (threshold != null && !rs.getTimestamp("created_at").toLocalDateTime().plus(threshold).isAfter(now)) {
+                dueAgain[0] = true;
+            }
+            if (next != null) {
+                ledgerEntries.put(String.valueOf(id), "Priority escalated from " + priority + " to " + next);
+                escalations.add(new ComplaintEvent(ESCALATION_ACTION, id, rs.getString("status"), next,
+                        rs.getString("student_id"), rs.getString("staff_id")));
+            }
+        }, Timestamp.valueOf(now), chunkSize);
+
+        for (Map.Entry<Step, List<Long>> group : groups.entrySet()) {
+            List<Long> ids = group.getValue();
+            List<Object> args = new ArrayList<>(ids.size() + 2);
+            args.add(group.getKey().priority);
+            args.add(group.getKey().minutes);
+            args.addAll(ids);
+            jdbc.update(String.format(ESCALATE, String.join(",", Collections.nCopies(ids.size(), "?"))), args.toArray());
+        }
+        return new Chunk(rows[0], dueAgain[0], ledgerEntries, escalations);
+    }
+
+    /**
+     * Escalations that share one UPDATE: new priority and the minutes from creation to the next deadline.
+     */
+    private static final class Step {
+        final String priority;
+        final Long minutes;
+
+        Step(String priority, Long minutes) {
+            this.priority = priority;
+            this.minutes = minutes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Step s && Objects.equals(priority, s.priority) && Objects.equals(minutes, s.minutes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(priority, minutes);
+        }
+    }
+
+    private static final class Chunk {
+        final int rows;
+        final boolean dueAgain; // some new deadline has passed already
+        final Map<String, String> ledgerEntries;
+        final List<ComplaintEvent> events;
+
+        Chunk(int rows, boolean dueAgain, Map<String, String> ledgerEntries, List<ComplaintEvent> events) {
+            this.rows = rows;
+            this.dueAgain = dueAgain;
+            this.ledgerEntries = ledgerEntries;
+            this.events = events;
+        }
+    }
+}
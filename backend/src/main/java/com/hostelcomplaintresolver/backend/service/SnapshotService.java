@@ -0,0 +1,353 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.blockchain.BlockchainUtils;
+import com.hostelcomplaintresolver.backend.dto.SnapshotReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ✅ Incremental, checksummed snapshots of the ledger and upload folders.
+ *
+ * A snapshot is {@code <snapshot.dir>/<id>/files/...} plus {@code manifest.tsv} (SHA-256, size,
+ * mtime and path of every file). A file whose size and mtime match the previous snapshot is
+ * hard-linked to that snapshot's copy and keeps its hash, so only new or changed files are read
+ * and copied: snapshot time follows the churn, not the total size. The memory-mapped {@code *.idx}
+ * indexes are always copied, since writes through a mapping do not reliably update the mtime.
+ *
+ * The manifest is written last (temp file + atomic rename): a snapshot without one is incomplete
+ * and never used as a base. Live ledger files may be copied mid-append; the segment store
+ * truncates such a torn tail when a restored copy is opened. Restores go to a staging folder
+ * (the application must be stopped to swap it in), and verification re-hashes every file.
+ */
+@Service
+public class SnapshotService {
+
+    private static final String FILES_FOLDER = "files";
+    private static final String MANIFEST_FILE = "manifest.tsv";
+    private static final String RESTORE_PREFIX = "restore-";
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("\\d{8}-\\d{6}-\\d{3}");
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path snapshotDir;
+    private final List<Path> sources = new ArrayList<>();
+    private final boolean enabled;
+    private final ExecutorService pool;
+
+    @Autowired
+    public SnapshotService(@Value("${snapshot.dir:snapshots}") String snapshotDir,
+                           @Value("${snapshot.sources:blockchain_ledger,uploads}") String[] sources,
+                           @Value("${snapshot.parallelism:0}") int parallelism,
+                           @Value("${snapshot.enabled:false}") boolean enabled) {
+        this.snapshotDir = Paths.get(snapshotDir);
+        for (String source : sources) {
+            if (!source.isBlank()) {
+                this.sources.add(Paths.get(source.trim()).normalize());
+            }
+        }
+        this.enabled = enabled;
+        this.pool = Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Scheduled(cron = "${snapshot.cron:0 0 2 * * *}") // nightly
+    public void scheduledSnapshot() {
+        if (!enabled) return;
+        try {
+            createSnapshot();
+        } catch (Exception e) {
+            System.err.println("❌ Snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * ✅ Takes a new snapshot, hard-linking every file that is unchanged since the previous one.
+     */
+    public synchronized SnapshotReport createSnapshot() {
+        long start = System.currentTimeMillis();
+        String id = LocalDateTime.now().format(ID_FORMAT);
+        SnapshotReport report = new SnapshotReport(id, "CREATE");
+        Path target = snapshotDir.resolve(id);
+        Path targetFiles = target.resolve(FILES_FOLDER);
+
+        try {
+            String previousId = latestSnapshotId();
+            Map<String, ManifestEntry> previous = previousId == null ? Map.of() : readManifest(snapshotDir.resolve(previousId));
+            Path previousFiles = previousId == null ? null : snapshotDir.resolve(previousId).resolve(FILES_FOLDER);
+
+            // 1. Every regular file of the sources (sockets, the snapshot folder itself etc. are skipped)
+            List<Callable<ManifestEntry>> tasks = new ArrayList<>();
+            for (Path source : sources) {
+                if (!Files.isDirectory(source)) continue;
+                try (Stream<Path> walk = Files.walk(source)) {
+                    walk.filter(Files::isRegularFile)
+                            .filter(file -> !file.toAbsolutePath().startsWith(snapshotDir.toAbsolutePath()))
+                            .forEach(file -> {
+                                String name = relativeName(source, file);
+                                tasks.add(() -> snapshotFile(file, name, previous.get(name), previousFiles, targetFiles, report));
+                            });
+                }
+            }
+
+            // 2. Copy or link in parallel, then publish the manifest
+            List<ManifestEntry> entries = runAll(tasks);
+            Files.createDirectories(target);
+            writeManifest(target, entries);
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating snapshot " + id, e);
+        }
+
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        System.out.println("📸 Snapshot " + id + ": " + report.getFilesCopied() + " files copied (" + report.getBytesCopied()
+                + " bytes), " + report.getFilesLinked() + " unchanged files linked in " + report.getDurationMillis() + " ms");
+        return report;
+    }
+
+    /**
+     * ✅ Re-hashes every file of a snapshot against its manifest.
+     */
+    public SnapshotReport verifySnapshot(String id) {
+        long start = System.currentTimeMillis();
+        SnapshotReport report = new SnapshotReport(id, "VERIFY");
+        Path files = snapshotPath(id).resolve(FILES_FOLDER);
+
+        List<Callable<ManifestEntry>> tasks = new ArrayList<>();
+        for (ManifestEntry entry : readManifest(snapshotPath(id)).values()) {
+            tasks.add(() -> {
+                Path file = resolveInside(files, entry.path);
+                if (!Files.isRegularFile(file)) {
+                    report.addFailure("Missing: " + entry.path);
+                } else if (!entry.sha256.equals(hashAndCopy(file, null))) {
+                    report.addFailure("Checksum mismatch: " + entry.path);
+                } else {
+                    report.addChecked();
+                }
+                return entry;
+            });
+        }
+        runAll(tasks);
+
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        System.out.println((report.isValid() ? "✅" : "❌") + " Verified snapshot " + id + ": " + report.getFiles()
+                + " files intact, " + report.getFailureCount() + " failures");
+        return report;
+    }
+
+    /**
+     * ✅ Restores a snapshot in parallel into {@code <snapshot.dir>/restore-<id>/}, checking every
+     * file against the manifest while it is copied. Stop the application before moving the
+     * restored folders into place.
+     */
+    public SnapshotReport restoreSnapshot(String id) {
+        long start = System.currentTimeMillis();
+        SnapshotReport report = new SnapshotReport(id, "RESTORE");
+        Path files = snapshotPath(id).resolve(FILES_FOLDER);
+        Path target = snapshotDir.resolve(RESTORE_PREFIX + id);
+        if (Files.exists(target)) {
+            throw new IllegalStateException("Restore folder already exists: " + target);
+        }
+
+        List<Callable<ManifestEntry>> tasks = new ArrayList<>();
+        for (ManifestEntry entry : readManifest(snapshotPath(id)).values()) {
+            tasks.add(() -> {
+                Path destination = resolveInside(target, entry.path);
+                Files.createDirectories(destination.getParent());
+                if (!entry.sha256.equals(hashAndCopy(resolveInside(files, entry.path), destination))) {
+                    report.addFailure("Checksum mismatch: " + entry.path);
+                } else {
+                    report.addCopied(entry.size);
+                }
+                return entry;
+            });
+        }
+        runAll(tasks);
+
+        report.setRestoredTo(target.toAbsolutePath().toString());
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        System.out.println("♻️ Restored snapshot " + id + " into " + target + ": " + report.getFilesCopied() + " files, "
+                + report.getFailureCount() + " failures");
+        return report;
+    }
+
+    /**
+     * ✅ IDs of the complete snapshots, oldest first.
+     */
+    public List<String> listSnapshots() {
+        List<String> ids = new ArrayList<>();
+        if (!Files.isDirectory(snapshotDir)) {
+            return ids;
+        }
+        try (Stream<Path> dirs = Files.list(snapshotDir)) {
+            dirs.filter(dir -> SNAPSHOT_ID.matcher(dir.getFileName().toString()).matches())
+                    .filter(dir -> Files.isRegularFile(dir.resolve(MANIFEST_FILE)))
+                    .map(dir -> dir.getFileName().toString())
+                    .sorted()
+                    .forEach(ids::add);
+        } catch (IOException e) {
+            throw new RuntimeException("Error listing snapshots in " + snapshotDir, e);
+        }
+        return ids;
+    }
+
+    private String latestSnapshotId() {
+        List<String> ids = listSnapshots();
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    private ManifestEntry snapshotFile(Path file, String name, ManifestEntry previous, Path previousFiles, Path targetFiles,
+                                       SnapshotReport report) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        Path destination = resolveInside(targetFiles, name);
+        Files.createDirectories(destination.getParent());
+
+        // Unchanged since the previous snapshot: share its copy (and hash)
+        if (previous != null && previous.size == size && previous.modified == modified && !name.endsWith(".idx")) {
+            Path previousCopy = resolveInside(previousFiles, name);
+            try {
+                Files.createLink(destination, previousCopy);
+                report.addLinked();
+                return new ManifestEntry(previous.sha256, size, modified, name);
+            } catch (IOException | UnsupportedOperationException e) {
+                // previous copy gone or no hard links on this file system: copy instead
+            }
+        }
+        String sha256 = hashAndCopy(file, destination);
+        report.addCopied(size);
+        return new ManifestEntry(sha256, size, modified, name);
+    }
+
+    /**
+     * SHA-256 of a file, copying it to {@code destination} on the way (null = hash only).
+     */
+    private static String hashAndCopy(Path source, Path destination) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        byte[] buffer = new byte[256 * 1024];
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = destination == null ? OutputStream.nullOutputStream() : Files.newOutputStream(destination)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+                out.write(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private List<ManifestEntry> runAll(List<Callable<ManifestEntry>> tasks) {
+        try {
+            List<ManifestEntry> results = new ArrayList<>(tasks.size());
+            for (Future<ManifestEntry> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Snapshot interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Snapshot failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void writeManifest(Path snapshot, List<ManifestEntry> entries) throws IOException {
+        Path temp = snapshot.resolve(MANIFEST_FILE + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (ManifestEntry entry : entries) {
+                out.write(entry.sha256 + "\t" + entry.size + "\t" + entry.modified + "\t" + entry.path);
+                out.newLine();
+            }
+        }
+        Files.move(temp, snapshot.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE);
+        BlockchainUtils.forceDirectory(snapshot);
+    }
+
+    private Map<String, ManifestEntry> readManifest(Path snapshot) {
+        Map<String, ManifestEntry> entries = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(snapshot.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length < 4) continue;
+                entries.put(fields[3], new ManifestEntry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading snapshot manifest of " + snapshot.getFileName(), e);
+        }
+        return entries;
+    }
+
+    private Path snapshotPath(String id) {
+        if (id == null || !SNAPSHOT_ID.matcher(id).matches() || !Files.isRegularFile(snapshotDir.resolve(id).resolve(MANIFEST_FILE))) {
+            throw new IllegalArgumentException("Unknown snapshot: " + id);
+        }
+        return snapshotDir.resolve(id);
+    }
+
+    // Manifest paths start with the source folder name and use '/', e.g. blockchain_ledger/segments/00000001.seg
+    private static String relativeName(Path source, Path file) {
+        return (source.getFileName() + "/" + source.relativize(file)).replace('\\', '/');
+    }
+
+    private static Path resolveInside(Path root, String name) {
+        Path resolved = root.resolve(name).normalize();
+        if (!resolved.startsWith(root.normalize())) {
+            throw new IllegalArgumentException("Snapshot path escapes its folder: " + name);
+        }
+        return resolved;
+    }
+
+    private static final class ManifestEntry {
+        final String sha256;
+        final long size;
+        final long modified;
+        final String path;
+
+        ManifestEntry(String sha256, long size, long modified, String path) {
+            this.sha256 = sha256;
+            this.size = size;
+            this.modified = modified;
+            this.path = path;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hostelcomplaintresolver.backend.service;
 
 import com.hostelcomplaintresolver.backend.dto.CreateUserRequest;
+import com.hostelcomplaintresolver.backend.dto.UserSummary;
 import com.hostelcomplaintresolver.backend.model.Role;
 import com.hostelcomplaintresolver.backend.model.User;
 import com.hostelcomplaintresolver.backend.repository.UserRepository;
@@ -112,7 +113,7 @@ public class UserService {
             user.setProfilePhoto("/" + UPLOAD_DIR + fileName);
         }
 
-        return userRepository.save(user);
+        return withDetails(userRepository.save(user));
     }
 
     // =========================================================================
@@ -131,8 +132,8 @@ public class UserService {
     // 🔍 READ OPERATIONS
     // =========================================================================
 
-    public List<User> getUsersByRole(Role role) {
-        return userRepository.findByRole(role);
+    public List<UserSummary> getUsersByRole(Role role) {
+        return userRepository.findSummariesByRole(role);
     }
 
     private String generateRoleBasedId(Role role) {
@@ -152,6 +153,17 @@ public class UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + userId));
     }
 
+    // ✅ Full profile (incl. address and ID proof) for the profile page
+    public User getUserProfile(String userId) {
+        return withDetails(getUserById(userId));
+    }
+
+    // Loads the lazy profile details while the session is open (one select), so the user can be serialized afterwards
+    private User withDetails(User user) {
+        user.getPermanentAddress();
+        return user;
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
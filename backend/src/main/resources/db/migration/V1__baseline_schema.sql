@@ -0,0 +1,72 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced before migrations took over.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this file,
+-- so everything added since then lives in V2 and later, never here.
+
+CREATE TABLE users (
+    user_id                     VARCHAR(255) NOT NULL,
+    profile_photo               VARCHAR(500),
+    id_proof                    VARCHAR(500),
+    name                        VARCHAR(255) NOT NULL,
+    email                       VARCHAR(255) NOT NULL,
+    password                    VARCHAR(255) NOT NULL,
+    role                        ENUM ('STUDENT', 'STAFF', 'WARDEN', 'ADMIN') NOT NULL,
+    mobile                      VARCHAR(255),
+    permanent_address           VARCHAR(1000),
+    hostel_name                 VARCHAR(255),
+    room_number                 VARCHAR(255),
+    course                      VARCHAR(255),
+    student_year                VARCHAR(255),
+    department                  VARCHAR(255),
+    parent_mobile               VARCHAR(255),
+    staff_category              VARCHAR(255),
+    created_at                  DATETIME(6),
+    updated_at                  DATETIME(6),
+    password_reset_token        VARCHAR(255),
+    password_reset_token_expiry DATETIME(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE complaints (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    student_id         VARCHAR(255) NOT NULL,
+    staff_id           VARCHAR(255),
+    assigned_to_id     VARCHAR(255),
+    room_number        VARCHAR(255) NOT NULL,
+    description        VARCHAR(1000) NOT NULL,
+    category           VARCHAR(255) NOT NULL,
+    time_slot          VARCHAR(255),
+    proof_image        VARCHAR(255),
+    status             VARCHAR(255) NOT NULL,
+    priority           VARCHAR(255) NOT NULL,
+    created_at         DATETIME(6)  NOT NULL,
+    rating             INTEGER,
+    feedback           VARCHAR(1000),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_complaints_student FOREIGN KEY (student_id) REFERENCES users (user_id),
+    CONSTRAINT fk_complaints_staff FOREIGN KEY (staff_id) REFERENCES users (user_id),
+    CONSTRAINT fk_complaints_assigned_to FOREIGN KEY (assigned_to_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE notice (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    date        DATETIME(6),
+    posted_by   VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE resale_items (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    price         DOUBLE,
+    category      VARCHAR(255),
+    description   VARCHAR(255),
+    image_url     VARCHAR(255),
+    owner_name    VARCHAR(255),
+    owner_contact VARCHAR(255),
+    is_sold       BIT NOT NULL,
+    posted_date   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
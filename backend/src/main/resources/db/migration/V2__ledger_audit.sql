@@ -0,0 +1,17 @@
+-- Cross-chain audit index of ledger transactions (LedgerAuditIndexer): one row per transaction,
+-- looked up by user, by action or by time window without scanning the chains.
+
+CREATE TABLE ledger_audit (
+    transaction_id VARCHAR(64) NOT NULL,
+    complaint_id   VARCHAR(64) NOT NULL,
+    block_index    INTEGER     NOT NULL,
+    user_id        VARCHAR(64),
+    action         VARCHAR(64),
+    description    VARCHAR(1000),
+    event_time     DATETIME(6),
+    PRIMARY KEY (transaction_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_ledger_audit_user_time ON ledger_audit (user_id, event_time);
+CREATE INDEX idx_ledger_audit_action_time ON ledger_audit (action, event_time);
+CREATE INDEX idx_ledger_audit_time ON ledger_audit (event_time);
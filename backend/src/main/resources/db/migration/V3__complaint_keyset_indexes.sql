@@ -0,0 +1,4 @@
+-- Keyset pagination of the complaint list (newest first, id as tie-breaker), unfiltered and by status.
+
+CREATE INDEX idx_complaints_created_id ON complaints (created_at, id);
+CREATE INDEX idx_complaints_status_created_id ON complaints (status, created_at, id);
@@ -0,0 +1,6 @@
+-- Deadline of the next priority escalation (EscalationPolicy); null once resolved / closed or already High.
+-- The escalation run only reads the complaints that are due, through the index.
+
+ALTER TABLE complaints ADD COLUMN next_escalation_at DATETIME(6);
+
+CREATE INDEX idx_complaints_next_escalation ON complaints (next_escalation_at);
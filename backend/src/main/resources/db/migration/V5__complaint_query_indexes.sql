@@ -0,0 +1,21 @@
+-- Composite / covering indexes for the hot complaint queries (InnoDB secondary indexes also carry the id).
+
+-- Staff rating stats (ComplaintRepository.getAverageRating, getRatedComplaintCount, summarizeByStaff):
+-- answered from the index alone, without reading complaint rows
+CREATE INDEX idx_complaints_staff_rating ON complaints (staff_id, rating, status);
+
+-- A student's / a staff member's complaints, newest first (/my-complaints, /my-assigned and their /search);
+-- also serve as the foreign key indexes
+CREATE INDEX idx_complaints_student_created ON complaints (student_id, created_at, id);
+CREATE INDEX idx_complaints_staff_created ON complaints (staff_id, created_at, id);
+
+-- Listing filtered by status and priority (dashboard queues) or by category, newest first
+CREATE INDEX idx_complaints_status_priority_created ON complaints (status, priority, created_at, id);
+CREATE INDEX idx_complaints_category_created ON complaints (category, created_at, id);
+
+-- findAllByOrderByPriorityAsc
+CREATE INDEX idx_complaints_priority ON complaints (priority, id);
+
+-- Users by role for the staff picker and admin list (UserRepository.findSummariesByRole*), and the hostel filter
+CREATE INDEX idx_users_role_name ON users (role, name);
+CREATE INDEX idx_users_hostel ON users (hostel_name);
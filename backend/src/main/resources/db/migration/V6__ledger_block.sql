@@ -0,0 +1,14 @@
+-- Ledger blocks for ledger.store=JDBC (JdbcLedgerStore): one row per block, keyed by chain and index.
+-- The hash chain is in columns, the whole block is the LedgerRecordCodec body (same bytes as a segment record).
+
+CREATE TABLE ledger_block (
+    complaint_id   VARCHAR(64) NOT NULL,
+    block_index    INT         NOT NULL,
+    format_version TINYINT     NOT NULL,
+    previous_hash  VARCHAR(64) NOT NULL,
+    hash           VARCHAR(64) NOT NULL,
+    merkle_root    VARCHAR(64) NULL,
+    created_at     DATETIME(6) NOT NULL,
+    body           MEDIUMBLOB  NOT NULL,
+    PRIMARY KEY (complaint_id, block_index)
+) ENGINE = InnoDB;
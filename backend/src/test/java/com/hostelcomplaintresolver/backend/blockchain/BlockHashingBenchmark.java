@@ -0,0 +1,107 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Hashing benchmark: the original {@code Block.calculateHash()} (stream + joining, a new
+ * MessageDigest per call, String.format hex) vs. {@link BlockHasher} for legacy and binary blocks,
+ * and {@code UUID.randomUUID()} vs. {@link TransactionIds}. Runs with the GC profiler, so the
+ * table shows both throughput and bytes allocated per operation.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.hostelcomplaintresolver.backend.blockchain.BlockHashingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BlockHashingBenchmark {
+
+    /** Length of the transaction description (most of the hashed bytes) */
+    @Param({"64", "1024"})
+    public int descriptionLength;
+
+    private Block legacyBlock;
+    private Block binaryBlock;
+
+    @Setup
+    public void setup() {
+        Transaction transaction = new Transaction(UUID.randomUUID().toString(), "42", "STU-7", "ASSIGNED",
+                "x".repeat(descriptionLength), LocalDateTime.now());
+        String previousHash = BlockHasher.toHex(new byte[32]);
+
+        binaryBlock = new Block(7, previousHash, transaction);
+
+        legacyBlock = new Block();
+        legacyBlock.setIndex(7);
+        legacyBlock.setPreviousHash(previousHash);
+        legacyBlock.setTimestamp(binaryBlock.getTimestamp());
+        legacyBlock.setTransactions(binaryBlock.getTransactions());
+    }
+
+    @Benchmark
+    public String originalLegacyHash() throws Exception {
+        // Block.calculateHash() as it was before BlockHasher
+        String dataToHash = legacyBlock.getIndex() + legacyBlock.getPreviousHash() +
+                legacyBlock.getTransactions().stream()
+                        .map(t -> t.getTransactionId() + t.getAction() + t.getDescription())
+                        .collect(Collectors.joining()) +
+                legacyBlock.getTimestamp().toString();
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(dataToHash.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            hexString.append(String.format("%02x", b));
+        }
+        return hexString.toString();
+    }
+
+    @Benchmark
+    public String legacyHash() {
+        return legacyBlock.calculateHash();
+    }
+
+    @Benchmark
+    public String binaryHash() {
+        return binaryBlock.calculateHash();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String transactionId() {
+        return TransactionIds.next();
+    }
+
+    /**
+     * Runs every benchmark with the GC profiler and prints ops/s and bytes allocated per op.
+     */
+    public static void main(String[] args) throws Exception {
+        LedgerFixture.printTable("benchmark          | description | ops/s        | bytes/op",
+                LedgerFixture.run(new OptionsBuilder()
+                        .include(BlockHashingBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build()),
+                result -> String.format("%-18s | %11s | %,12.0f | %,8.0f%n",
+                        LedgerFixture.benchmarkName(result),
+                        result.getParams().getParam("descriptionLength"),
+                        result.getPrimaryResult().getScore(),
+                        result.getSecondaryResults().get("gc.alloc.rate.norm").getScore()));
+    }
+}
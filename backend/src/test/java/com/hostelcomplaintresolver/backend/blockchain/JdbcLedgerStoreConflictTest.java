@@ -0,0 +1,209 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Conflict handling of {@link JdbcLedgerStore} when two processes append to the same chains: the
+ * stale process's batch collides on the primary key, the chains that still link are written on
+ * retry, only the moved chains fail, and the next append on a moved chain links to the real tip.
+ * The database is an in-memory table behind {@link JdbcTemplate} with the same primary key.
+ */
+class JdbcLedgerStoreConflictTest {
+
+    private static final String MOVED = "51";
+    private static final String UNTOUCHED = "52";
+
+    private FakeLedgerTable table;
+    private JdbcLedgerStore first;
+    private JdbcLedgerStore second;
+
+    @BeforeEach
+    void setUp() {
+        table = new FakeLedgerTable();
+        first = open(table);
+        second = open(table);
+    }
+
+    @Test
+    void onlyChainsExtendedElsewhereFail() {
+        Block one = append(first, MOVED, null);
+        Block two = append(second, MOVED, second.tip(MOVED)); // the first store still caches block 1 as the tip
+
+        Block stale = block(MOVED, first.tip(MOVED));
+        Block other = block(UNTOUCHED, null);
+        int batchesBefore = table.batches;
+        LedgerConflictException conflict = assertThrows(LedgerConflictException.class, () -> first.appendAll(
+                List.of(new LedgerStore.Append(MOVED, stale), new LedgerStore.Append(UNTOUCHED, other)), false));
+
+        assertEquals(Set.of(MOVED), conflict.getConflictingChains());
+        assertEquals(2, table.batches - batchesBefore); // the colliding batch, then the retry without MOVED
+        assertEquals(other.getHash(), first.readBlock(UNTOUCHED, 1).getHash());
+        assertEquals(two.getHash(), first.readBlock(MOVED, 2).getHash());
+        assertEquals(one.getHash(), first.readBlock(MOVED, 1).getHash());
+
+        // the conflict refreshed the tip: the next block links to the one the other process wrote
+        assertEquals(2, first.tip(MOVED).getLastIndex());
+        Block three = append(first, MOVED, first.tip(MOVED));
+        assertEquals(two.getHash(), three.getPreviousHash());
+        assertEquals(3, table.length(MOVED));
+    }
+
+    @Test
+    void writerFailsTheConflictingReceiptAndTheNextAppendLinks() throws IOException {
+        try (LedgerFixture fixture = LedgerFixture.folder("ledger-jdbc-test")) {
+            BlockchainService a = service(fixture, "a", first);
+            BlockchainService b = service(fixture, "b", second);
+            try {
+                a.logTransaction(MOVED, "STU-1", "CREATED", "from a").join();
+                assertEquals(2, b.logTransaction(MOVED, "WARDEN-1", "ASSIGNED", "from b").join().getBlockIndex());
+
+                CompletableFuture<LedgerReceipt> rejected = a.logTransaction(MOVED, "STU-1", "COMMENT", "stale");
+                CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+                assertInstanceOf(LedgerConflictException.class, failure.getCause());
+
+                LedgerReceipt retried = a.logTransaction(MOVED, "STU-1", "COMMENT", "retried").join();
+                assertEquals(3, retried.getBlockIndex());
+                assertNotNull(a.getTransactionReceipt(MOVED, retried.getTransactionId()));
+
+                ChainVerificationResult result = a.verifyChain(MOVED, true);
+                assertTrue(result.isValid(), result.getMessage());
+                assertEquals(3, result.getBlocksChecked());
+            } finally {
+                a.shutdown();
+                b.shutdown();
+            }
+        }
+    }
+
+    private static JdbcLedgerStore open(FakeLedgerTable table) {
+        return new JdbcLedgerStore(table, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private static BlockchainService service(LedgerFixture fixture, String name, JdbcLedgerStore store) {
+        BlockchainService service = new BlockchainService(fixture.ledgerDir().resolve(name).toString(),
+                LedgerDurability.COMMIT, LedgerFsyncPolicy.NONE, 0, 1_000, 64, false, 0, null, store);
+        service.setLogAppends(false);
+        return service;
+    }
+
+    private static Block append(JdbcLedgerStore store, String complaintId, ChainTip tip) {
+        Block block = block(complaintId, tip);
+        store.appendAll(List.of(new LedgerStore.Append(complaintId, block)), false);
+        return block;
+    }
+
+    private static Block block(String complaintId, ChainTip tip) {
+        return new Block(tip == null ? 1 : tip.getLastIndex() + 1, tip == null ? "0" : tip.getLastHash(),
+                new Transaction(TransactionIds.next(), complaintId, "STU-1", "COMMENT", "note", LocalDateTime.now()));
+    }
+
+    /**
+     * {@code ledger_block} in memory: rows keyed by (complaint_id, block_index), a batch is inserted
+     * whole or not at all, and a duplicate key fails it like the database would.
+     */
+    static final class FakeLedgerTable extends JdbcTemplate {
+
+        private final Map<String, NavigableMap<Integer, Object[]>> chains = new HashMap<>();
+        int batches;
+
+        @Override
+        public synchronized int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+            batches++;
+            List<Object[]> rows = new ArrayList<>();
+            try {
+                for (int i = 0; i < setter.getBatchSize(); i++) {
+                    Object[] row = new Object[9];
+                    PreparedStatement ps = mock(PreparedStatement.class, invocation -> {
+                        if (invocation.getArguments().length == 2 && invocation.getArgument(0) instanceof Integer column) {
+                            row[column] = invocation.getArgument(1);
+                        }
+                        return null;
+                    });
+                    setter.setValues(ps, i);
+                    rows.add(row);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            Map<String, Set<Integer>> keys = new HashMap<>();
+            for (Object[] row : rows) {
+                String complaintId = (String) row[1];
+                int index = (Integer) row[2];
+                if (chains.getOrDefault(complaintId, new TreeMap<>()).containsKey(index)
+                        || !keys.computeIfAbsent(complaintId, k -> new HashSet<>()).add(index)) {
+                    throw new DuplicateKeyException("Duplicate entry '" + complaintId + "-" + index + "' for key 'PRIMARY'");
+                }
+            }
+            for (Object[] row : rows) {
+                chains.computeIfAbsent((String) row[1], k -> new TreeMap<>()).put((Integer) row[2], row);
+            }
+            return new int[rows.size()];
+        }
+
+        @Override
+        public synchronized <T> List<T> query(String sql, RowMapper<T> mapper, Object... args) {
+            NavigableMap<Integer, Object[]> chain = chains.getOrDefault((String) args[0], new TreeMap<>());
+            List<Object[]> rows = new ArrayList<>();
+            if (sql.contains("ORDER BY block_index DESC")) {
+                if (!chain.isEmpty()) rows.add(chain.lastEntry().getValue());
+            } else if (sql.contains("BETWEEN")) {
+                rows.addAll(chain.subMap((Integer) args[1], true, (Integer) args[2], true).values());
+            } else if (chain.containsKey((Integer) args[1])) {
+                rows.add(chain.get((Integer) args[1]));
+            }
+            List<T> mapped = new ArrayList<>(rows.size());
+            try {
+                for (Object[] row : rows) {
+                    mapped.add(mapper.mapRow(resultSet(row), mapped.size()));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return mapped;
+        }
+
+        synchronized int length(String complaintId) {
+            return chains.getOrDefault(complaintId, new TreeMap<>()).size();
+        }
+
+        private static ResultSet resultSet(Object[] row) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("complaint_id")).thenReturn((String) row[1]);
+            when(rs.getInt("block_index")).thenReturn((Integer) row[2]);
+            when(rs.getString("hash")).thenReturn((String) row[5]);
+            when(rs.getBytes("body")).thenReturn((byte[]) row[8]);
+            return rs;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for {@link BlockchainService#logTransaction}: appends per second at
+ * 1..N threads, with every thread on its own chain or all of them on one. Runs in COMMIT
+ * durability so every call waits for its block to be written; blocks are built on the writer
+ * thread, so this measures how well concurrent callers share its batches.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.hostelcomplaintresolver.backend.blockchain.LedgerAppendBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class LedgerAppendBenchmark {
+
+    /** "distinct" = every thread writes its own complaint, "shared" = all threads write one complaint */
+    @Param({"distinct", "shared"})
+    public String chains;
+
+    private LedgerFixture fixture;
+    private BlockchainService service;
+
+    @State(Scope.Thread)
+    public static class ThreadChain {
+        String complaintId;
+
+        @Setup
+        public void setup(LedgerAppendBenchmark bench, ThreadParams threads) {
+            complaintId = "shared".equals(bench.chains) ? "1" : String.valueOf(threads.getThreadIndex() + 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        fixture = LedgerFixture.open("ledger-bench",
+                dir -> new BlockchainService(dir, LedgerDurability.COMMIT, 10_000, 256, false, 0));
+        service = fixture.service();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void append(ThreadChain chain) {
+        service.logTransaction(chain.complaintId, "BENCH", "ASSIGNED", "benchmark append");
+    }
+
+    /**
+     * Runs the benchmark at 1, 2, 4 ... availableProcessors threads and prints a scaling table.
+     */
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<RunResult> results = new ArrayList<>();
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int t = 1; t < cores; t *= 2) {
+            threadCounts.add(t);
+        }
+        threadCounts.add(cores);
+
+        for (int threads : threadCounts) {
+            results.addAll(LedgerFixture.run(new OptionsBuilder()
+                    .include(LedgerAppendBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()));
+        }
+        LedgerFixture.printTable("threads | chains   | appends/s", results,
+                result -> String.format("%7d | %-8s | %,.0f%n",
+                        result.getParams().getThreads(),
+                        result.getParams().getParam("chains"),
+                        result.getPrimaryResult().getScore()));
+    }
+}
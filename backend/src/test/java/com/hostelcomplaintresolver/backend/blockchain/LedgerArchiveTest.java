@@ -0,0 +1,113 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archiving and compaction: an idle chain moves into a compressed pack and the segments shrink,
+ * with the records of the other chains moved out of the compacted segment, while reads, receipts,
+ * verification and new appends keep working on it, also after a restart. Chains that are not idle
+ * long enough stay where they are.
+ */
+class LedgerArchiveTest {
+
+    private static final String ARCHIVED = "31";
+    private static final String KEPT = "32";
+
+    private LedgerFixture fixture;
+    private BlockchainService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fixture = LedgerFixture.folder("ledger-archive-test");
+        service = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try {
+            service.shutdown();
+        } finally {
+            fixture.close();
+        }
+    }
+
+    @Test
+    void idleChainMovesToThePackAndStaysReadable() {
+        String firstTransaction = append(ARCHIVED, 1, 20).get(0).getTransactionId();
+        append(KEPT, 1, 3);
+
+        ArchiveReport report = service.archiveChains(List.of(ARCHIVED), Duration.ZERO);
+
+        assertEquals(1, report.getChainsArchived());
+        assertEquals(20, report.getBlocksArchived());
+        assertTrue(report.getSegmentBytesAfter() < report.getSegmentBytesBefore(),
+                report.getSegmentBytesBefore() + " -> " + report.getSegmentBytesAfter());
+        assertTrue(report.getArchiveBytes() > 0);
+
+        assertEquals(20, service.getChainTip(ARCHIVED).getLastIndex());
+        assertEquals("note 5", service.getBlock(ARCHIVED, 5).getTransactions().get(0).getDescription());
+        LedgerReceipt receipt = service.getTransactionReceipt(ARCHIVED, firstTransaction);
+        assertNotNull(receipt);
+        assertTrue(service.verifyReceipt(receipt));
+        assertValid(20, service.verifyChain(ARCHIVED, true));
+        // the kept chain's records were moved out of the compacted segment
+        assertEquals(4, append(KEPT, 4, 1).get(0).getBlockIndex());
+        assertValid(4, service.verifyChain(KEPT, true));
+    }
+
+    @Test
+    void appendsContinueOnAnArchivedChainAcrossRestarts() {
+        append(ARCHIVED, 1, 5);
+        assertEquals(1, service.archiveChains(List.of(ARCHIVED), Duration.ZERO).getChainsArchived());
+
+        LedgerReceipt sixth = append(ARCHIVED, 6, 1).get(0);
+        assertEquals(6, sixth.getBlockIndex());
+        assertEquals(service.getBlock(ARCHIVED, 5).getHash(), service.getBlock(ARCHIVED, 6).getPreviousHash());
+
+        service.shutdown();
+        service = open();
+        assertEquals(6, service.getChainTip(ARCHIVED).getLastIndex());
+        assertValid(6, service.verifyChain(ARCHIVED, true));
+        assertTrue(service.getChainIds().contains(ARCHIVED));
+    }
+
+    @Test
+    void chainsThatAreNotIdleLongEnoughStay() {
+        append(ARCHIVED, 1, 5);
+
+        ArchiveReport report = service.archiveChains(List.of(ARCHIVED), Duration.ofHours(1));
+
+        assertEquals(0, report.getChainsArchived());
+        assertEquals(0, report.getBlocksArchived());
+        assertValid(5, service.verifyChain(ARCHIVED, true));
+    }
+
+    private BlockchainService open() {
+        BlockchainService opened = new BlockchainService(fixture.ledgerDir().toString(), LedgerDurability.COMMIT,
+                1_000, 64, false, 0);
+        opened.setLogAppends(false);
+        return opened;
+    }
+
+    private List<LedgerReceipt> append(String complaintId, int first, int count) {
+        return IntStream.range(first, first + count)
+                .mapToObj(i -> service.logTransaction(complaintId, "STU-1", "COMMENT", "note " + i).join())
+                .toList();
+    }
+
+    private static void assertValid(int blocksChecked, ChainVerificationResult result) {
+        assertTrue(result.isValid(), result.getMessage());
+        assertEquals(blocksChecked, result.getBlocksChecked());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durability benchmark for {@link BlockchainService#logTransaction}: append latency for every
+ * {@link LedgerFsyncPolicy}, in COMMIT durability (the caller waits for its batch to be written).
+ * Sample-time mode, so the table shows the median and tail latency of one append, which is the
+ * price of each policy's loss window (NONE: page cache, INTERVAL: one interval, PER_BATCH /
+ * PER_APPEND: nothing acknowledged is lost).
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.hostelcomplaintresolver.backend.blockchain.LedgerDurabilityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(LedgerDurabilityBenchmark.THREADS)
+@Fork(1)
+public class LedgerDurabilityBenchmark {
+
+    static final int THREADS = 8;
+
+    @Param({"NONE", "INTERVAL", "PER_BATCH", "PER_APPEND"})
+    public LedgerFsyncPolicy fsyncPolicy;
+
+    private LedgerFixture fixture;
+    private BlockchainService service;
+
+    @State(Scope.Thread)
+    public static class ThreadChain {
+        String complaintId;
+
+        @Setup
+        public void setup(ThreadParams threads) {
+            complaintId = String.valueOf(threads.getThreadIndex() + 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        fixture = LedgerFixture.open("ledger-durability-bench",
+                dir -> new BlockchainService(dir, LedgerDurability.COMMIT, fsyncPolicy, 100, 10_000, 256, false, 0));
+        service = fixture.service();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void append(ThreadChain chain) {
+        service.logTransaction(chain.complaintId, "BENCH", "ASSIGNED", "benchmark append");
+    }
+
+    /**
+     * Runs every policy and prints p50 / p99 append latency and the resulting appends per second.
+     */
+    public static void main(String[] args) throws Exception {
+        LedgerFixture.printTable("fsync policy | p50 (us)  | p99 (us)  | appends/s",
+                LedgerFixture.run(new OptionsBuilder()
+                        .include(LedgerDurabilityBenchmark.class.getSimpleName())
+                        .build()),
+                result -> {
+                    var stats = result.getPrimaryResult().getStatistics();
+                    return String.format("%-12s | %9.1f | %9.1f | %,.0f%n",
+                            result.getParams().getParam("fsyncPolicy"),
+                            stats.getPercentile(50),
+                            stats.getPercentile(99),
+                            THREADS * 1_000_000 / stats.getMean()); // threads / mean latency
+                });
+    }
+}
@@ -0,0 +1,112 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Shared setup of the ledger benchmarks and tests: a throwaway ledger folder with a
+ * {@link BlockchainService} on it that does not print a line per append, and a helper that runs a
+ * benchmark and prints its results as one table.
+ */
+final class LedgerFixture implements AutoCloseable {
+
+    @FunctionalInterface
+    interface ServiceFactory {
+        BlockchainService open(String ledgerDir) throws IOException;
+    }
+
+    private final Path ledgerDir;
+    private final BlockchainService service;
+
+    private LedgerFixture(String prefix, ServiceFactory factory) throws IOException {
+        ledgerDir = Files.createTempDirectory(prefix);
+        try {
+            service = factory == null ? null : factory.open(ledgerDir.toString());
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(ledgerDir);
+            throw e;
+        }
+        if (service != null) {
+            service.setLogAppends(false);
+        }
+    }
+
+    /**
+     * A fresh ledger folder with a service opened on it by {@code factory}.
+     */
+    static LedgerFixture open(String prefix, ServiceFactory factory) throws IOException {
+        return new LedgerFixture(prefix, factory);
+    }
+
+    /**
+     * A fresh ledger folder without a service (the caller opens stores on {@link #ledgerDir()} itself).
+     */
+    static LedgerFixture folder(String prefix) throws IOException {
+        return new LedgerFixture(prefix, null);
+    }
+
+    Path ledgerDir() {
+        return ledgerDir;
+    }
+
+    BlockchainService service() {
+        return service;
+    }
+
+    /**
+     * Shuts the service down (draining queued appends) and deletes the folder.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (service != null) {
+                service.shutdown();
+            }
+        } finally {
+            deleteRecursively(ledgerDir);
+        }
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * Runs the benchmarks selected by {@code options}.
+     */
+    static Collection<RunResult> run(Options options) throws RunnerException {
+        return new Runner(options).run();
+    }
+
+    /**
+     * Prints one table row per result under {@code header}.
+     */
+    static void printTable(String header, Collection<RunResult> results, Function<RunResult, String> row) {
+        StringBuilder table = new StringBuilder("\n").append(header).append('\n');
+        for (RunResult result : results) {
+            table.append(row.apply(result));
+        }
+        System.out.println(table);
+    }
+
+    /**
+     * Name of the benchmark method of a result, without the class.
+     */
+    static String benchmarkName(RunResult result) {
+        String name = result.getParams().getBenchmark();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
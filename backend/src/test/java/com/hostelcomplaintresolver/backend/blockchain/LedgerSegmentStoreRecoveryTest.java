@@ -0,0 +1,166 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Crash recovery of {@link LedgerSegmentStore}: whatever a crash leaves on disk (a torn record at
+ * the segment tail, an offset index ahead of the segment, a lost offset index), reopening the
+ * store keeps every intact block, drops the torn one and accepts new appends on top. A batch the
+ * store rejects leaves nothing behind.
+ */
+class LedgerSegmentStoreRecoveryTest {
+
+    private static final String CHAIN = "42";
+    private static final Path FIRST_SEGMENT = Path.of("00000001.seg");
+
+    private LedgerFixture fixture;
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fixture = LedgerFixture.folder("ledger-recovery-test");
+        dir = fixture.ledgerDir();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Test
+    void tornRecordAtSegmentTailIsTruncated() throws IOException {
+        List<Block> written = writeChain(3);
+        long intactSize = Files.size(dir.resolve(FIRST_SEGMENT));
+        appendBytes(dir.resolve(FIRST_SEGMENT), new byte[]{0, 0, 1, 0, 7, 7}); // half a record header and body
+
+        LedgerSegmentStore store = new LedgerSegmentStore(dir);
+        try {
+            assertEquals(intactSize, Files.size(dir.resolve(FIRST_SEGMENT)));
+            assertChain(store, written);
+            written.add(append(store, written.get(2)));
+        } finally {
+            store.close();
+        }
+        reopenAndAssert(written);
+    }
+
+    @Test
+    void offsetIndexAheadOfTheSegmentIsCutBack() throws IOException {
+        List<Block> written = writeChain(3);
+        Path segment = dir.resolve(FIRST_SEGMENT);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5); // the index still points at block 3, whose body is torn
+        }
+
+        List<Block> intact = new ArrayList<>(written.subList(0, 2));
+        LedgerSegmentStore store = new LedgerSegmentStore(dir);
+        try {
+            assertChain(store, intact);
+            intact.add(append(store, intact.get(1)));
+            assertEquals(3, store.chainLength(CHAIN));
+        } finally {
+            store.close();
+        }
+        reopenAndAssert(intact);
+    }
+
+    @Test
+    void recordsMissingFromTheOffsetIndexAreRecovered() throws IOException {
+        List<Block> written = writeChain(3);
+        Files.delete(dir.resolve("offsets.idx"));
+
+        reopenAndAssert(written);
+    }
+
+    @Test
+    void rejectedBatchLeavesNothingBehind() throws IOException {
+        List<Block> written = writeChain(2);
+        long sizeBefore = Files.size(dir.resolve(FIRST_SEGMENT));
+        String tooLong = "9".repeat(41); // the tip index holds IDs of up to 40 bytes
+
+        LedgerSegmentStore store = new LedgerSegmentStore(dir);
+        try {
+            Block orphan = new Block(1, "0",
+                    new Transaction(TransactionIds.next(), tooLong, "STU-1", "CREATED", "rejected", LocalDateTime.now()));
+            List<LedgerStore.Append> batch = List.of(
+                    new LedgerStore.Append(CHAIN, new Block(3, written.get(1).getHash(),
+                            new Transaction(TransactionIds.next(), CHAIN, "STU-1", "ASSIGNED", "rejected too", LocalDateTime.now()))),
+                    new LedgerStore.Append(tooLong, orphan));
+            assertThrows(IllegalArgumentException.class, () -> store.appendAll(batch, true));
+
+            assertEquals(sizeBefore, Files.size(dir.resolve(FIRST_SEGMENT)));
+            assertNull(store.tip(tooLong));
+            assertChain(store, written);
+            written.add(append(store, written.get(1))); // lands where the rejected batch would have
+        } finally {
+            store.close();
+        }
+        reopenAndAssert(written);
+    }
+
+    private List<Block> writeChain(int length) {
+        List<Block> written = new ArrayList<>();
+        LedgerSegmentStore store = new LedgerSegmentStore(dir);
+        try {
+            Block previous = null;
+            for (int i = 0; i < length; i++) {
+                previous = append(store, previous);
+                written.add(previous);
+            }
+        } finally {
+            store.close();
+        }
+        return written;
+    }
+
+    private static Block append(LedgerSegmentStore store, Block previous) {
+        int index = previous == null ? 1 : previous.getIndex() + 1;
+        Block block = new Block(index, previous == null ? "0" : previous.getHash(),
+                new Transaction(TransactionIds.next(), CHAIN, "STU-1", "ASSIGNED", "block " + index, LocalDateTime.now()));
+        store.appendAll(List.of(new LedgerStore.Append(CHAIN, block)), true);
+        return block;
+    }
+
+    private void reopenAndAssert(List<Block> expected) {
+        LedgerSegmentStore store = new LedgerSegmentStore(dir);
+        try {
+            assertChain(store, expected);
+        } finally {
+            store.close();
+        }
+    }
+
+    private static void assertChain(LedgerSegmentStore store, List<Block> expected) {
+        assertEquals(expected.size(), store.chainLength(CHAIN));
+        assertEquals(expected.get(expected.size() - 1).getHash(), store.tip(CHAIN).getLastHash());
+        Iterator<Block> blocks = store.iterateBlocks(CHAIN, 1);
+        for (Block block : expected) {
+            Block read = blocks.next();
+            assertEquals(block.getIndex(), read.getIndex());
+            assertEquals(block.getHash(), read.getHash());
+            assertEquals(read.getHash(), read.calculateHash());
+        }
+        assertFalse(blocks.hasNext());
+    }
+
+    private static void appendBytes(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage backend benchmark: {@link LedgerSegmentStore} vs. {@link JdbcLedgerStore} behind the
+ * same {@link BlockchainService}, for appends (8 threads, COMMIT durability, so every append waits
+ * for its group commit) and full re-verification of a {@value #CHAIN_LENGTH}-block chain.
+ *
+ * The JDBC runs need a MySQL database; they use the {@code ledger.bench.jdbc-url},
+ * {@code ledger.bench.jdbc-user} and {@code ledger.bench.jdbc-password} system properties
+ * (defaults: the local hostel_db) and only touch the {@code bench-*} rows of {@code ledger_block}.
+ * The table comes from the Flyway migrations, so the application must have started once on that database.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.hostelcomplaintresolver.backend.blockchain.LedgerStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(8)
+@Fork(1)
+public class LedgerStoreBenchmark {
+
+    static final int CHAIN_LENGTH = 1000;
+    private static final String VERIFY_CHAIN = "bench-verify";
+
+    @Param({"SEGMENT", "JDBC"})
+    public String store;
+
+    private HikariDataSource dataSource;
+    private LedgerFixture fixture;
+    private BlockchainService service;
+
+    @State(Scope.Thread)
+    public static class ThreadChain {
+        String complaintId;
+
+        @Setup
+        public void setup(ThreadParams threads) {
+            complaintId = "bench-" + (threads.getThreadIndex() + 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        LedgerStore ledgerStore = null;
+        if ("JDBC".equals(store)) {
+            dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(System.getProperty("ledger.bench.jdbc-url",
+                    "jdbc:mysql://localhost:3306/hostel_db?rewriteBatchedStatements=true"));
+            dataSource.setUsername(System.getProperty("ledger.bench.jdbc-user", "root"));
+            dataSource.setPassword(System.getProperty("ledger.bench.jdbc-password", ""));
+            ledgerStore = new JdbcLedgerStore(dataSource);
+            new JdbcTemplate(dataSource).update("DELETE FROM ledger_block WHERE complaint_id LIKE 'bench-%'");
+        }
+        LedgerStore jdbcStore = ledgerStore;
+        fixture = LedgerFixture.open("ledger-store-bench",
+                dir -> new BlockchainService(dir, LedgerDurability.COMMIT, LedgerFsyncPolicy.NONE, 0,
+                        10_000, 256, false, 0, null, jdbcStore));
+        service = fixture.service();
+
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            service.logTransaction(VERIFY_CHAIN, "BENCH", "ASSIGNED", "benchmark block " + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    public void append(ThreadChain chain) {
+        service.logTransaction(chain.complaintId, "BENCH", "ASSIGNED", "benchmark append");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHAIN_LENGTH)
+    public ChainVerificationResult verify() {
+        return service.verifyChain(VERIFY_CHAIN, true); // full: re-reads and re-hashes every block
+    }
+
+    /**
+     * Runs both stores and prints appends/s and verified blocks/s side by side.
+     */
+    public static void main(String[] args) throws Exception {
+        LedgerFixture.printTable("store   | benchmark | ops/s (appends or verified blocks)",
+                LedgerFixture.run(new OptionsBuilder()
+                        .include(LedgerStoreBenchmark.class.getSimpleName())
+                        .build()),
+                result -> String.format("%-7s | %-9s | %,.0f%n",
+                        result.getParams().getParam("store"),
+                        LedgerFixture.benchmarkName(result),
+                        result.getPrimaryResult().getScore()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Legacy compatibility: blocks written by the original JSON ledger ({@link Block#FORMAT_LEGACY},
+ * hashed over a string concatenation) must keep verifying after {@link BlockHasher}, after the
+ * import into the segment store, and with new blocks appended on top of them.
+ */
+class LegacyHashCompatibilityTest {
+
+    private static final String CHAIN = "7";
+
+    private LedgerFixture fixture;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fixture = LedgerFixture.folder("ledger-legacy-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Test
+    void blockHasherMatchesTheOriginalLegacyHash() throws Exception {
+        // LocalDateTime.toString() drops zero seconds and trailing zero fractions; the hash must follow it
+        LocalDateTime[] timestamps = {
+                LocalDateTime.of(2024, 3, 5, 10, 15),
+                LocalDateTime.of(2024, 3, 5, 10, 15, 30),
+                LocalDateTime.of(2024, 3, 5, 10, 15, 30, 120_000_000),
+                LocalDateTime.of(2024, 3, 5, 10, 15, 30, 123_456_789),
+        };
+        String previousHash = "0";
+        for (int i = 0; i < timestamps.length; i++) {
+            Block block = legacyBlock(i + 1, previousHash, timestamps[i], "Tap leaking in room 2" + i + " — ünïcode");
+            assertEquals(originalHash(block), BlockHasher.hash(block));
+            previousHash = block.getHash();
+        }
+    }
+
+    @Test
+    void importedJsonChainVerifiesAndExtends() throws Exception {
+        List<Block> legacy = legacyChain(3);
+        writeJsonChain(legacy);
+
+        BlockchainService service = open();
+        try {
+            assertFalse(Files.exists(fixture.ledgerDir().resolve(CHAIN + ".json")));
+            assertTrue(Files.exists(fixture.ledgerDir().resolve("imported-json").resolve(CHAIN + ".json")));
+
+            ChainVerificationResult imported = service.verifyChain(CHAIN, true);
+            assertTrue(imported.isValid(), imported.getMessage());
+            assertEquals(3, imported.getBlocksChecked());
+
+            service.logTransaction(CHAIN, "WARDEN-1", "RESOLVED", "fixed after import").join();
+            Block appended = service.getBlock(CHAIN, 4);
+            assertEquals(Block.FORMAT_BINARY, appended.getVersion());
+            assertEquals(legacy.get(2).getHash(), appended.getPreviousHash());
+
+            ChainVerificationResult extended = service.verifyChain(CHAIN, true);
+            assertTrue(extended.isValid(), extended.getMessage());
+            assertEquals(4, extended.getBlocksChecked());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void editedLegacyBlockIsReportedAsTampered() throws Exception {
+        List<Block> legacy = legacyChain(3);
+        legacy.get(1).getTransactions().get(0).setDescription("edited after the fact"); // stored hash left alone
+        writeJsonChain(legacy);
+
+        BlockchainService service = open();
+        try {
+            ChainVerificationResult result = service.verifyChain(CHAIN, true);
+            assertEquals(VerificationStatus.TAMPERED, result.getStatus());
+            assertEquals(2, result.getFailedBlockIndex());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private BlockchainService open() {
+        return new BlockchainService(fixture.ledgerDir().toString(), LedgerDurability.COMMIT, 1_000, 64, false, 0);
+    }
+
+    private static List<Block> legacyChain(int length) {
+        List<Block> chain = new ArrayList<>();
+        String previousHash = "0";
+        for (int i = 1; i <= length; i++) {
+            Block block = legacyBlock(i, previousHash, LocalDateTime.of(2023, 11, i, 9, 30, i), "legacy event " + i);
+            chain.add(block);
+            previousHash = block.getHash();
+        }
+        return chain;
+    }
+
+    private static Block legacyBlock(int index, String previousHash, LocalDateTime timestamp, String description) {
+        Block block = new Block(); // FORMAT_LEGACY, like every block of the JSON ledger
+        block.setIndex(index);
+        block.setPreviousHash(previousHash);
+        block.setTimestamp(timestamp);
+        block.setTransactions(List.of(new Transaction("tx-" + index, CHAIN, "STU-1", "CREATED", description, timestamp)));
+        block.setHash(originalHash(block));
+        return block;
+    }
+
+    // Block.calculateHash() as it was before BlockHasher
+    private static String originalHash(Block block) {
+        StringBuilder data = new StringBuilder().append(block.getIndex()).append(block.getPreviousHash());
+        for (Transaction t : block.getTransactions()) {
+            data.append(t.getTransactionId()).append(t.getAction()).append(t.getDescription());
+        }
+        data.append(block.getTimestamp().toString());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The JSON ledger's file layout: an array of blocks without a version field, ISO timestamps
+    private void writeJsonChain(List<Block> chain) throws IOException {
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (Block block : chain) {
+            Transaction t = block.getTransactions().get(0);
+            Map<String, Object> transaction = new LinkedHashMap<>();
+            transaction.put("transactionId", t.getTransactionId());
+            transaction.put("complaintId", t.getComplaintId());
+            transaction.put("userId", t.getUserId());
+            transaction.put("action", t.getAction());
+            transaction.put("description", t.getDescription());
+            transaction.put("timestamp", t.getTimestamp().toString());
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("index", block.getIndex());
+            entry.put("timestamp", block.getTimestamp().toString());
+            entry.put("transactions", List.of(transaction));
+            entry.put("previousHash", block.getPreviousHash());
+            entry.put("hash", block.getHash());
+            json.add(entry);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(fixture.ledgerDir().resolve(CHAIN + ".json").toFile(), json);
+    }
+}
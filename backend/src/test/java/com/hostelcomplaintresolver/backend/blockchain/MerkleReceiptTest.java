@@ -0,0 +1,121 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Merkle receipts: every transaction of a batched block gets an inclusion proof that folds up to
+ * the block's stored root, a receipt verifies against the ledger from the block header alone, and
+ * changing the transaction or the proof path makes the check fail.
+ */
+class MerkleReceiptTest {
+
+    private static final String CHAIN = "17";
+    private static final int BURST = 5;
+
+    private LedgerFixture fixture;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // the linger holds the writer until the whole burst is queued, so it lands in one block
+        fixture = LedgerFixture.open("ledger-merkle-test",
+                dir -> new BlockchainService(dir, LedgerDurability.ASYNC, 1_000, 64, true, 200));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Test
+    void proofsOfEveryLeafFoldUpToTheRoot() {
+        for (int size = 1; size <= 9; size++) { // odd sizes carry the last node up unchanged
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                transactions.add(new Transaction(TransactionIds.next(), CHAIN, "STU-1", "COMMENT", "note " + i,
+                        LocalDateTime.now()));
+            }
+            String root = MerkleTree.root(transactions);
+            List<MerkleProof> proofs = MerkleTree.proofs(transactions);
+            for (int i = 0; i < size; i++) {
+                MerkleProof proof = MerkleTree.proof(transactions, i);
+                assertEquals(root, proof.getMerkleRoot());
+                assertEquals(MerkleTree.leafHash(transactions.get(i)), proof.getLeafHash());
+                assertTrue(proof.verify(), "leaf " + i + " of " + size);
+                assertEquals(proof.getSteps().size(), proofs.get(i).getSteps().size());
+                assertTrue(proofs.get(i).verify());
+            }
+        }
+    }
+
+    @Test
+    void batchedReceiptsVerifyAgainstTheLedger() {
+        List<LedgerReceipt> receipts = appendBurst();
+
+        Block header = fixture.service().getBlockHeader(CHAIN, 1);
+        assertEquals(Block.FORMAT_MERKLE, header.getVersion());
+        assertEquals(1, fixture.service().getChainTip(CHAIN).getLastIndex());
+        assertEquals(BURST, fixture.service().getBlock(CHAIN, 1).getTransactions().size());
+
+        for (LedgerReceipt receipt : receipts) {
+            assertEquals(1, receipt.getBlockIndex());
+            assertEquals(header.getMerkleRoot(), receipt.getMerkleProof().getMerkleRoot());
+            assertTrue(receipt.getMerkleProof().verify());
+            assertTrue(fixture.service().verifyReceipt(receipt));
+
+            // a receipt looked up later carries the same proof
+            LedgerReceipt lookedUp = fixture.service().getTransactionReceipt(CHAIN, receipt.getTransactionId());
+            assertNotNull(lookedUp);
+            assertEquals(receipt.getMerkleProof().getLeafHash(), lookedUp.getMerkleProof().getLeafHash());
+            assertTrue(fixture.service().verifyReceipt(lookedUp));
+        }
+        assertTrue(fixture.service().verifyChain(CHAIN, true).isValid());
+    }
+
+    @Test
+    void alteredTransactionOrProofFailsVerification() {
+        LedgerReceipt receipt = appendBurst().get(2);
+
+        Transaction original = receipt.getTransaction();
+        receipt.setTransaction(new Transaction(original.getTransactionId(), original.getComplaintId(),
+                original.getUserId(), original.getAction(), "rewritten", original.getTimestamp()));
+        assertFalse(fixture.service().verifyReceipt(receipt));
+        receipt.setTransaction(original);
+        assertTrue(fixture.service().verifyReceipt(receipt));
+
+        MerkleProof proof = receipt.getMerkleProof();
+        MerkleProof.Step first = proof.getSteps().get(0);
+        List<MerkleProof.Step> steps = new ArrayList<>(proof.getSteps());
+        steps.set(0, new MerkleProof.Step(MerkleTree.leafHash(original), first.isLeft()));
+        receipt.setMerkleProof(new MerkleProof(proof.getTransactionId(), proof.getLeafHash(), proof.getMerkleRoot(), steps));
+        assertFalse(fixture.service().verifyReceipt(receipt));
+
+        receipt.setMerkleProof(proof);
+        receipt.setBlockHash("0".repeat(64));
+        assertFalse(fixture.service().verifyReceipt(receipt));
+    }
+
+    private List<LedgerReceipt> appendBurst() {
+        List<CompletableFuture<LedgerReceipt>> futures = new ArrayList<>();
+        for (int i = 0; i < BURST; i++) {
+            futures.add(fixture.service().logTransaction(CHAIN, "STU-1", "COMMENT", "note " + i));
+        }
+        List<LedgerReceipt> receipts = new ArrayList<>();
+        for (CompletableFuture<LedgerReceipt> future : futures) {
+            receipts.add(future.join());
+        }
+        return receipts;
+    }
+}
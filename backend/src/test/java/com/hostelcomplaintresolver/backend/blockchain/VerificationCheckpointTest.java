@@ -0,0 +1,125 @@
+package com.hostelcomplaintresolver.backend.blockchain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verified-up-to checkpoints: a repeated verification re-hashes only the blocks appended since the
+ * last one (plus the checkpoint block it anchors on), an edit of the checkpoint block is caught
+ * straight away, and an edit further back is still caught by a full pass.
+ */
+class VerificationCheckpointTest {
+
+    private static final String CHAIN = "23";
+
+    private LedgerFixture fixture;
+    private BlockchainService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fixture = LedgerFixture.open("ledger-checkpoint-test",
+                dir -> new BlockchainService(dir, LedgerDurability.COMMIT, 1_000, 64, false, 0));
+        service = fixture.service();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Test
+    void repeatedVerificationOnlyRehashesNewBlocks() {
+        append(1, 5);
+        assertValid(5, service.verifyChain(CHAIN));
+
+        append(6, 2);
+        assertValid(3, service.verifyChain(CHAIN)); // the checkpoint block and the two new ones
+        assertValid(1, service.verifyChain(CHAIN));
+        assertValid(7, service.verifyChain(CHAIN, true));
+    }
+
+    @Test
+    void editOfTheCheckpointBlockIsCaught() throws IOException {
+        append(1, 4);
+        assertValid(4, service.verifyChain(CHAIN));
+
+        rewriteDescription("block 4", "block X");
+
+        ChainVerificationResult result = service.verifyChain(CHAIN);
+        assertEquals(VerificationStatus.TAMPERED, result.getStatus());
+        assertEquals(4, result.getFailedBlockIndex());
+    }
+
+    @Test
+    void editBehindTheCheckpointNeedsAFullPass() throws IOException {
+        append(1, 4);
+        assertValid(4, service.verifyChain(CHAIN));
+
+        rewriteDescription("block 2", "block X"); // stored hash left alone, record checksum fixed up
+
+        assertValid(1, service.verifyChain(CHAIN));
+        ChainVerificationResult full = service.verifyChain(CHAIN, true);
+        assertEquals(VerificationStatus.TAMPERED, full.getStatus());
+        assertEquals(2, full.getFailedBlockIndex());
+    }
+
+    private void append(int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            service.logTransaction(CHAIN, "STU-1", "COMMENT", "block " + i).join();
+        }
+    }
+
+    private static void assertValid(int blocksChecked, ChainVerificationResult result) {
+        assertTrue(result.isValid(), result.getMessage());
+        assertEquals(blocksChecked, result.getBlocksChecked());
+    }
+
+    /**
+     * Rewrites a same-length description in place in the segment file and recomputes the record's
+     * checksum, the way someone editing the ledger by hand would.
+     */
+    private void rewriteDescription(String from, String to) throws IOException {
+        Path segment = fixture.ledgerDir().resolve("segments").resolve("00000001.seg");
+        byte[] file = Files.readAllBytes(segment);
+        byte[] needle = from.getBytes(StandardCharsets.UTF_8);
+        byte[] replacement = to.getBytes(StandardCharsets.UTF_8);
+
+        int offset = 0;
+        while (offset < file.length) {
+            int length = LedgerRecordCodec.getInt(file, offset);
+            int bodyStart = offset + LedgerRecordCodec.HEADER_SIZE;
+            int match = indexOf(file, needle, bodyStart, bodyStart + length);
+            if (match >= 0) {
+                System.arraycopy(replacement, 0, file, match, replacement.length);
+                byte[] body = new byte[length];
+                System.arraycopy(file, bodyStart, body, 0, length);
+                ByteBuffer.wrap(file, offset + 4, 4).putInt(LedgerRecordCodec.crc(body));
+                Files.write(segment, file);
+                return;
+            }
+            offset = bodyStart + length;
+        }
+        throw new IllegalStateException("No record holds " + from);
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle, int from, int to) {
+        outer:
+        for (int i = from; i <= to - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,136 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.dto.ComplaintEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay of {@link ComplaintEventHub}: a client that reconnects with its {@code Last-Event-ID} gets
+ * the events it missed, in order, before any live one and none twice, even while events keep being
+ * published; it only gets the events it may see; and an ID the buffer cannot serve yields a reset.
+ */
+class ComplaintEventHubTest {
+
+    private static final String STUDENT = "STU-1";
+
+    private ComplaintEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new ComplaintEventHub(1024, 60_000, 100, 1024, 2) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void missedEventsComeFirstWhilePublishingGoesOn() throws InterruptedException {
+        List<ComplaintEvent> published = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            published.add(publish(STUDENT));
+        }
+        String lastSeen = published.get(9).getId();
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 300; i++) {
+                published.add(publish(STUDENT));
+            }
+        });
+        publisher.start();
+        RecordingEmitter reconnected = (RecordingEmitter) hub.subscribe("WARDEN-1", true, lastSeen);
+        publisher.join();
+
+        List<String> expected = published.subList(10, published.size()).stream().map(ComplaintEvent::getId).toList();
+        awaitUntil(() -> reconnected.ids().size() >= expected.size());
+        assertEquals(expected, reconnected.ids());
+        assertEquals(":connected", reconnected.sent.get(0).trim());
+    }
+
+    @Test
+    void replayOnlyHoldsTheSubscribersOwnEvents() {
+        ComplaintEvent first = publish(STUDENT);
+        ComplaintEvent own = publish(STUDENT);
+        publish("STU-2");
+        ComplaintEvent assigned = new ComplaintEvent("ASSIGNED", 9L, "ASSIGNED", "Low", "STU-3", STUDENT);
+        hub.publish(assigned);
+
+        RecordingEmitter reconnected = (RecordingEmitter) hub.subscribe(STUDENT, false, first.getId());
+        awaitUntil(() -> reconnected.ids().size() >= 2);
+        assertEquals(List.of(own.getId(), assigned.getId()), reconnected.ids());
+
+        ComplaintEvent live = publish(STUDENT);
+        awaitUntil(() -> reconnected.ids().size() >= 3);
+        assertEquals(live.getId(), reconnected.ids().get(2));
+    }
+
+    @Test
+    void unknownLastEventIdGetsAReset() {
+        publish(STUDENT);
+
+        RecordingEmitter reconnected = (RecordingEmitter) hub.subscribe(STUDENT, false, "0-5"); // an earlier server run
+        awaitUntil(() -> reconnected.sent.size() >= 2);
+        assertTrue(reconnected.sent.get(1).contains("event:reset"), reconnected.sent.get(1));
+        assertEquals(List.of(), reconnected.ids());
+    }
+
+    private ComplaintEvent publish(String studentId) {
+        ComplaintEvent event = new ComplaintEvent("STATUS_CHANGED", 1L, "IN_PROGRESS", "Low", studentId, null);
+        hub.publish(event);
+        return event;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for the stream");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * A stream without a connection that keeps the text of every event it is sent.
+     */
+    static final class RecordingEmitter extends SseEmitter {
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .collect(Collectors.joining()));
+        }
+
+        // IDs of the complaint events, in the order they were sent
+        List<String> ids() {
+            synchronized (sent) {
+                return sent.stream()
+                        .filter(text -> text.contains("event:complaint"))
+                        .map(text -> text.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3))
+                        .toList();
+            }
+        }
+    }
+}
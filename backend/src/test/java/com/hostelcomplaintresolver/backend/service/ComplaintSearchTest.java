@@ -0,0 +1,168 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.dto.ComplaintFilter;
+import com.hostelcomplaintresolver.backend.dto.ComplaintPage;
+import com.hostelcomplaintresolver.backend.dto.ComplaintView;
+import com.hostelcomplaintresolver.backend.model.Complaint;
+import com.hostelcomplaintresolver.backend.repository.ComplaintRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset paging of {@link ComplaintService#searchComplaints}: following {@code nextCursor} walks
+ * every complaint exactly once, newest first, also across complaints raised in the same instant,
+ * and the last page has no cursor. The repository serves an in-memory table and applies the
+ * cursor's seek predicate the way the database would.
+ */
+class ComplaintSearchTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 14, 12, 0);
+
+    private final List<Complaint> table = new ArrayList<>();
+    private final List<Integer> limits = new ArrayList<>();
+    private ComplaintService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ComplaintRepository repository = mock(ComplaintRepository.class);
+        doAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(repository).findBy(any(Specification.class), any(Function.class));
+        service = new ComplaintService();
+        ReflectionTestUtils.setField(service, "complaintRepository", repository);
+
+        // ids 3, 4 and 5 share one instant: only the id orders them
+        long[] minutes = {0, 10, 20, 20, 20, 30, 40};
+        for (int i = 0; i < minutes.length; i++) {
+            table.add(complaint(i + 1, NOON.plusMinutes(minutes[i])));
+        }
+    }
+
+    @Test
+    void followingTheCursorWalksEveryComplaintOnce() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ComplaintPage page = service.searchComplaints(new ComplaintFilter(), cursor, 2);
+            page.getItems().stream().map(ComplaintView::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), seen);
+        assertEquals(4, pages);
+        assertEquals(List.of(3, 3, 3, 3), limits); // one extra row tells whether another page follows
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        ComplaintPage first = service.searchComplaints(new ComplaintFilter(), null, 4);
+        ComplaintPage last = service.searchComplaints(new ComplaintFilter(), first.getNextCursor(), 3);
+
+        assertEquals(List.of(3L, 2L, 1L), last.getItems().stream().map(ComplaintView::getId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void pageSizeIsClampedAndDefaulted() {
+        service.searchComplaints(new ComplaintFilter(), null, 10_000);
+        service.searchComplaints(new ComplaintFilter(), null, null);
+
+        assertEquals(List.of(ComplaintService.MAX_PAGE_SIZE + 1, ComplaintService.DEFAULT_PAGE_SIZE + 1), limits);
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.searchComplaints(new ComplaintFilter(), "not-a-cursor", 2));
+    }
+
+    // Stands in for the database: seek past the cursor, newest first, LIMIT
+    @SuppressWarnings("unchecked")
+    private List<Complaint> page(Specification<Complaint> spec,
+                                 Function<FluentQuery.FetchableFluentQuery<Complaint>, List<Complaint>> fetch) {
+        Seek seek = Seek.of(spec);
+        List<Complaint> sorted = table.stream()
+                .filter(seek::admits)
+                .sorted(Comparator.comparing(Complaint::getCreatedAt).thenComparing(Complaint::getId).reversed())
+                .toList();
+
+        int[] limit = {Integer.MAX_VALUE};
+        FluentQuery.FetchableFluentQuery<Complaint> query = mock(FluentQuery.FetchableFluentQuery.class, RETURNS_SELF);
+        doAnswer(invocation -> {
+            limit[0] = invocation.getArgument(0);
+            limits.add(limit[0]);
+            return query;
+        }).when(query).limit(anyInt());
+        doAnswer(invocation -> sorted.subList(0, Math.min(limit[0], sorted.size()))).when(query).all();
+        return fetch.apply(query);
+    }
+
+    private static Complaint complaint(long id, LocalDateTime createdAt) {
+        Complaint complaint = new Complaint();
+        complaint.setId(id);
+        complaint.setCreatedAt(createdAt);
+        complaint.setStatus("RAISED");
+        return complaint;
+    }
+
+    /**
+     * The (createdAt, id) a specification seeks past, read off the criteria calls it makes.
+     */
+    private static final class Seek {
+        LocalDateTime createdAt;
+        Long id;
+
+        @SuppressWarnings("unchecked")
+        static Seek of(Specification<Complaint> spec) {
+            Seek seek = new Seek();
+            Root<Complaint> root = mock(Root.class);
+            Path<Object> createdAtPath = mock(Path.class);
+            Path<Object> idPath = mock(Path.class);
+            doReturn(createdAtPath).when(root).get("createdAt");
+            doReturn(idPath).when(root).get("id");
+            CriteriaBuilder cb = mock(CriteriaBuilder.class, invocation -> {
+                if (invocation.getMethod().getName().equals("lessThan")) {
+                    if (invocation.getArgument(0) == createdAtPath) {
+                        seek.createdAt = invocation.getArgument(1);
+                    } else if (invocation.getArgument(0) == idPath) {
+                        seek.id = invocation.getArgument(1);
+                    }
+                }
+                return null;
+            });
+            spec.toPredicate(root, mock(CriteriaQuery.class), cb);
+            return seek;
+        }
+
+        boolean admits(Complaint c) {
+            return createdAt == null
+                    || c.getCreatedAt().isBefore(createdAt)
+                    || (c.getCreatedAt().equals(createdAt) && c.getId() < id);
+        }
+    }
+}
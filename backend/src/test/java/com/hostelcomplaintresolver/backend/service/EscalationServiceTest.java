@@ -0,0 +1,182 @@
+package com.hostelcomplaintresolver.backend.service;
+
+import com.hostelcomplaintresolver.backend.blockchain.BlockchainService;
+import com.hostelcomplaintresolver.backend.dto.ComplaintEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunked escalation of {@link EscalationService}: a run reads only due complaints, a chunk at a
+ * time, escalates each chunk with one UPDATE per (new priority, next deadline) group, records one
+ * ledger entry and one event per escalation, and keeps going until nothing is due, so a complaint
+ * whose next deadline has also passed ends up High in the same run.
+ */
+class EscalationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final FakeComplaintsTable table = new FakeComplaintsTable();
+    private final BlockchainService blockchain = mock(BlockchainService.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+    @Test
+    void escalatesInChunksUntilNothingIsDue() {
+        for (long id = 1; id <= 7; id++) {
+            table.add(id, "Water", "Low", NOW.minusHours(100), NOW.minusHours(28)); // Medium is overdue too
+        }
+        table.add(8, "Water", "Low", NOW.minusHours(1), NOW.plusHours(71));
+        table.add(9, "Water", "Medium", NOW.minusHours(2), NOW.plusHours(22));
+
+        int escalated = service(new String[]{"Low=72", "Medium=24"}, new String[0], 3).escalateDue();
+
+        assertEquals(14, escalated);
+        for (long id = 1; id <= 7; id++) {
+            assertEquals("High", table.row(id).priority);
+            assertNull(table.row(id).nextEscalationAt);
+        }
+        assertEquals("Low", table.row(8).priority);
+        assertEquals("Medium", table.row(9).priority);
+        assertEquals(6, table.dueQueries); // 3, 3, 3, 3 rows, then complaint 7 on its own twice
+        assertEquals(14, ledgerEntries());
+        verify(events, times(14)).publishEvent(any(ComplaintEvent.class));
+    }
+
+    @Test
+    void oneUpdatePerPriorityAndDeadlineGroup() {
+        table.add(1, "Water", "Low", NOW.minusHours(3), NOW.minusHours(1));
+        table.add(2, "Water", "Low", NOW.minusHours(3), NOW.minusHours(1));
+        table.add(3, "Plumbing", "Low", NOW.minusHours(3), NOW.minusHours(1));
+        table.add(4, "Plumbing", "Low", NOW.minusHours(3), NOW.minusHours(1));
+        table.add(5, "Water", "High", NOW.minusHours(3), NOW.minusHours(1)); // stale deadline, nothing to escalate
+
+        int escalated = service(new String[]{"Low=2", "Medium=48"}, new String[]{"Plumbing.Medium=6"}, 500).escalateDue();
+
+        assertEquals(4, escalated);
+        assertEquals(3, table.updates); // Medium in 48 h, Medium in 6 h, and clearing the High deadline
+        assertEquals(NOW.minusHours(3).plusHours(48), table.row(1).nextEscalationAt);
+        assertEquals(NOW.minusHours(3).plusHours(6), table.row(3).nextEscalationAt);
+        assertEquals("Medium", table.row(4).priority);
+        assertEquals("High", table.row(5).priority);
+        assertNull(table.row(5).nextEscalationAt);
+        assertEquals(4, ledgerEntries());
+    }
+
+    private EscalationService service(String[] hours, String[] categoryHours, int chunkSize) {
+        return new EscalationService(new EscalationPolicy(hours, categoryHours), blockchain, events, table,
+                mock(PlatformTransactionManager.class), true, chunkSize, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int ledgerEntries() {
+        ArgumentCaptor<Map<String, String>> entries = ArgumentCaptor.forClass(Map.class);
+        verify(blockchain, atLeastOnce()).logTransactions(eq("SYSTEM"), eq("PRIORITY_ESCALATED"), entries.capture());
+        return entries.getAllValues().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * The columns of {@code complaints} the escalation reads and writes, with the two statements it
+     * runs against them: the due select (deadline order, LIMIT) and the grouped escalation UPDATE.
+     */
+    static final class FakeComplaintsTable extends JdbcTemplate {
+
+        static final class Row {
+            final long id;
+            final String category;
+            final LocalDateTime createdAt;
+            String priority;
+            LocalDateTime nextEscalationAt;
+
+            Row(long id, String category, String priority, LocalDateTime createdAt, LocalDateTime nextEscalationAt) {
+                this.id = id;
+                this.category = category;
+                this.priority = priority;
+                this.createdAt = createdAt;
+                this.nextEscalationAt = nextEscalationAt;
+            }
+        }
+
+        private final Map<Long, Row> rows = new HashMap<>();
+        int dueQueries;
+        int updates;
+
+        void add(long id, String category, String priority, LocalDateTime createdAt, LocalDateTime nextEscalationAt) {
+            rows.put(id, new Row(id, category, priority, createdAt, nextEscalationAt));
+        }
+
+        Row row(long id) {
+            return rows.get(id);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            if (!sql.contains("next_escalation_at <= ?")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            dueQueries++;
+            LocalDateTime now = ((Timestamp) args[0]).toLocalDateTime();
+            List<Row> due = rows.values().stream()
+                    .filter(r -> r.nextEscalationAt != null && !r.nextEscalationAt.isAfter(now))
+                    .sorted(Comparator.comparing((Row r) -> r.nextEscalationAt).thenComparingLong(r -> r.id))
+                    .limit((Integer) args[1])
+                    .toList();
+            try {
+                for (Row row : due) {
+                    handler.processRow(resultSet(row));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (!sql.startsWith("UPDATE complaints SET priority")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            updates++;
+            String priority = (String) args[0];
+            Long minutes = (Long) args[1];
+            for (int i = 2; i < args.length; i++) {
+                Row row = rows.get((Long) args[i]);
+                row.priority = Objects.requireNonNullElse(priority, row.priority);
+                row.nextEscalationAt = minutes == null ? null : row.createdAt.plusMinutes(minutes);
+            }
+            return args.length - 2;
+        }
+
+        private static ResultSet resultSet(Row row) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(row.id);
+            when(rs.getString("category")).thenReturn(row.category);
+            when(rs.getString("priority")).thenReturn(row.priority);
+            when(rs.getString("status")).thenReturn("ASSIGNED");
+            when(rs.getString("student_id")).thenReturn("STU-" + row.id);
+            when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(row.createdAt));
+            return rs;
+        }
+    }
+}